@@ -8,6 +8,8 @@ import java.nio.file.spi.FileTypeDetector;
  * @since Dec 2018
  */
 module org.dcm4che.base {
+    requires java.xml;
+
     exports org.dcm4che6.data;
     exports org.dcm4che6.io;
     exports org.dcm4che6.util;
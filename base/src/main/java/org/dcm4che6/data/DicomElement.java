@@ -112,6 +112,17 @@ public interface DicomElement {
 
     default long getStreamPosition() { return -1L; }
 
+    /**
+     * Returns estimated heap in bytes retained by this element, including its value, its encoded value, the content
+     * of contained items and the share of the memory cache of the parsed stream referenced by this element. The
+     * default implementation only accounts the value length and the estimates of contained items.
+     *
+     * @return estimated retained heap in bytes
+     */
+    default long estimatedRetainedBytes() {
+        return Math.max(valueLength(), 0) + itemStream().mapToLong(DicomObject::estimatedRetainedBytes).sum();
+    }
+
     StringBuilder promptTo(StringBuilder appendTo, int maxLength);
 
     int promptItemsTo(StringBuilder appendTo, int maxWidth, int maxLines);
@@ -60,6 +60,73 @@ public interface DicomObject extends Iterable<DicomElement> {
 
     void purgeElements();
 
+    /**
+     * Returns estimated heap in bytes retained by this Data Set or Item, including contained items and the share of
+     * the memory cache of the parsed stream referenced by its elements. Lazy items which were not yet parsed or which
+     * elements were purged are accounted by the length of their encoded value in the memory cache, without parsing
+     * them. The default implementation sums up the estimates of its elements.
+     *
+     * @return estimated retained heap in bytes
+     */
+    default long estimatedRetainedBytes() {
+        return elementStream().mapToLong(DicomElement::estimatedRetainedBytes).sum();
+    }
+
+    /**
+     * Returns a 64-bit hash of the content of this Data Set or Item, independent of the Transfer Syntax it was
+     * parsed from and of encoded Group Length elements and sequence and item lengths. Values of parsed elements are
+     * hashed directly from the memory cache of the parsed stream, values of bulk data elements are read from the
+     * referenced bulk data. VRs are not hashed, so the hash is consistent with {@link #contentEquals(DicomObject)}.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return content hash
+     */
+    default long contentHash() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Compares the content of this Data Set or Item with the content of another, independent of the Transfer Syntax
+     * they were parsed from and of encoded Group Length elements and sequence and item lengths. VRs which may differ
+     * between Transfer Syntaxes are treated as equal: OB and OW, SS and US, and UN and any other VR except SQ, so
+     * elements parsed from Implicit VR with an ambiguous or unknown VR are compared by their value. The default
+     * implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param other the other Data Set or Item
+     * @return {@code true} if both contain the same elements with equal values
+     */
+    default boolean contentEquals(DicomObject other) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Merges the elements of another Data Set or Item into this Data Set or Item by one linear walk over both
+     * sorted element lists, recursing into sequences by item index if requested by the specified policy. Elements
+     * of private blocks are merged by tag, so both must use the same Private Creator Data Element per block.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param other the Data Set or Item to merge
+     * @param policy resolves conflicts between elements with the same tag
+     * @return number of added or replaced elements, including elements of merged items
+     */
+    default int merge(DicomObject other, MergePolicy policy) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the changes from this Data Set or Item to another, containing the elements of {@code other} which are
+     * absent or different in this Data Set or Item, and elements with empty value for elements of this Data Set or
+     * Item absent in {@code other}. Sequences with equal number of items are compared item by item, unchanged items
+     * are represented by empty items. Merging the result with {@link MergePolicy#REPLACE} applies the changes.
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param other the changed Data Set or Item
+     * @return the changes, empty if there are no differences
+     */
+    default DicomObject diff(DicomObject other) {
+        throw new UnsupportedOperationException();
+    }
+
     SpecificCharacterSet specificCharacterSet();
 
     String toString(int maxWidth, int maxLines);
@@ -2,8 +2,12 @@ package org.dcm4che6.data;
 
 import org.dcm4che6.data.StandardElementDictionary;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -12,6 +16,8 @@ import java.util.ServiceLoader;
 public abstract class ElementDictionary {
     private static final ServiceLoader<ElementDictionary> loader =
             ServiceLoader.load(ElementDictionary.class);
+    private static final ConcurrentHashMap<String, ElementDictionary> registered = new ConcurrentHashMap<>();
+    private static volatile Map<String, ElementDictionary> provided;
     private final String privateCreator;
     private final Class<?> tagClass;
 
@@ -25,17 +31,51 @@ public abstract class ElementDictionary {
     }
 
     public static ElementDictionary elementDictionaryOf(Optional<String> privateCreator) {
-        return !privateCreator.isPresent() ? StandardElementDictionary.INSTANCE
-                : loader.stream()
-                .map(ServiceLoader.Provider::get)
-                .filter(x -> privateCreator.equals(x.getPrivateCreator()))
-                .findAny()
-                .orElse(StandardElementDictionary.INSTANCE);
+        return privateCreator.isPresent()
+                ? elementDictionaryOf(privateCreator.get())
+                : StandardElementDictionary.INSTANCE;
+    }
+
+    public static ElementDictionary elementDictionaryOf(String privateCreator) {
+        if (privateCreator == null)
+            return StandardElementDictionary.INSTANCE;
+
+        ElementDictionary dict = registered.get(privateCreator);
+        if (dict == null && (dict = providedElementDictionaries().get(privateCreator)) == null)
+            return StandardElementDictionary.INSTANCE;
+
+        return dict;
+    }
+
+    private static Map<String, ElementDictionary> providedElementDictionaries() {
+        Map<String, ElementDictionary> localRef = provided;
+        if (localRef == null)
+            synchronized (loader) {
+                if ((localRef = provided) == null) {
+                    localRef = new HashMap<>();
+                    for (ElementDictionary dict : loader) {
+                        if (dict.getPrivateCreator() != null)
+                            localRef.putIfAbsent(dict.getPrivateCreator(), dict);
+                    }
+                    provided = localRef;
+                }
+            }
+        return localRef;
+    }
+
+    public static void register(ElementDictionary dict) {
+        String privateCreator = Objects.requireNonNull(dict.getPrivateCreator(), "privateCreator");
+        registered.put(privateCreator, dict);
+    }
+
+    public static boolean unregister(String privateCreator) {
+        return registered.remove(privateCreator) != null;
     }
 
     public static void reload() {
         synchronized (loader) {
             loader.reload();
+            provided = null;
         }
     }
 
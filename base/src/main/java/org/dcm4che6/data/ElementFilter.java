@@ -0,0 +1,86 @@
+package org.dcm4che6.data;
+
+import org.dcm4che6.util.TagUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Factory of element predicates selecting the elements written by
+ * {@link org.dcm4che6.io.DicomOutputStream#withElementFilter(Predicate)}. Predicates may be combined by
+ * {@link Predicate#and(Predicate)}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class ElementFilter {
+
+    private ElementFilter() {}
+
+    /**
+     * Returns a predicate accepting all elements.
+     */
+    public static Predicate<DicomElement> all() {
+        return x -> true;
+    }
+
+    /**
+     * Returns a predicate accepting only the specified elements of the Data Set and all elements of items of
+     * accepted sequences.
+     *
+     * @param tags tags of accepted elements of the Data Set
+     */
+    public static Predicate<DicomElement> include(int... tags) {
+        int[] sorted = tags.clone();
+        Arrays.sort(sorted);
+        return x -> x.containedBy().hasParent() || Arrays.binarySearch(sorted, x.tag()) >= 0;
+    }
+
+    /**
+     * Returns a predicate rejecting the specified elements of the Data Set, e.g. {@link Tag#PixelData},
+     * {@link Tag#FloatPixelData} and {@link Tag#DoubleFloatPixelData} to write the metadata without pixel data.
+     *
+     * @param tags tags of rejected elements of the Data Set
+     */
+    public static Predicate<DicomElement> exclude(int... tags) {
+        return include(tags).negate().or(x -> x.containedBy().hasParent());
+    }
+
+    /**
+     * Returns a predicate rejecting elements at the specified path in all items of the specified sequences.
+     *
+     * @param path tags of the sequences of the Data Set and nested items, followed by the tag of the element
+     */
+    public static Predicate<DicomElement> excludePath(int... path) {
+        if (path.length == 0)
+            throw new IllegalArgumentException("empty path");
+
+        int[] path0 = path.clone();
+        return x -> !matches(x, path0);
+    }
+
+    /**
+     * Returns a predicate rejecting elements of private groups, including Private Creator Data Elements, on any
+     * nesting level.
+     */
+    public static Predicate<DicomElement> excludePrivate() {
+        return x -> !TagUtils.isPrivateGroup(x.tag());
+    }
+
+    private static boolean matches(DicomElement el, int[] path) {
+        int i = path.length - 1;
+        if (el.tag() != path[i])
+            return false;
+
+        DicomObject dcmObj = el.containedBy();
+        while (--i >= 0) {
+            Optional<DicomElement> seq = dcmObj.containedBy();
+            if (seq.isEmpty() || seq.get().tag() != path[i])
+                return false;
+
+            dcmObj = seq.get().containedBy();
+        }
+        return !dcmObj.hasParent();
+    }
+}
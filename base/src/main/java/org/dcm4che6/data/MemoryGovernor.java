@@ -0,0 +1,58 @@
+package org.dcm4che6.data;
+
+import org.dcm4che6.internal.MemoryGovernorImpl;
+
+/**
+ * Bounds the heap occupied by parsed Data Sets to a configured budget, by purging the elements of least recently
+ * used lazy items, which will be re-parsed from their {@code DicomInput} on next access.
+ * <p>
+ * Only items which were not modified after parsing are purged. Estimated sizes are taken when a Data Set is
+ * governed or a lazy item is (re-)parsed; subsequent modifications are not accounted.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public interface MemoryGovernor {
+
+    static MemoryGovernor newMemoryGovernor(long budget) {
+        return new MemoryGovernorImpl(budget);
+    }
+
+    long getBudget();
+
+    /**
+     * Sets the budget in bytes and purges items immediately if the estimated retained size exceeds the new budget.
+     *
+     * @param budget budget in bytes
+     */
+    void setBudget(long budget);
+
+    /**
+     * Returns the estimated size in bytes of the elements of all governed Data Sets and of their parsed items.
+     *
+     * @return estimated retained size in bytes
+     */
+    long getRetainedBytes();
+
+    /**
+     * Returns the number of items purged by this governor.
+     *
+     * @return number of purged items
+     */
+    long getPurgedItems();
+
+    /**
+     * Puts the Data Set and its items, including lazy items parsed later, under control of this governor.
+     *
+     * @param dcmObj parsed Data Set
+     * @throws IllegalStateException if the Data Set is already governed by another governor
+     */
+    void govern(DicomObject dcmObj);
+
+    /**
+     * Releases the Data Set and its items from the control of this governor, e.g. on removal from a cache.
+     *
+     * @param dcmObj governed Data Set
+     */
+    void release(DicomObject dcmObj);
+}
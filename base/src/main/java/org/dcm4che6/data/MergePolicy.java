@@ -0,0 +1,43 @@
+package org.dcm4che6.data;
+
+/**
+ * Resolves conflicts on {@link DicomObject#merge(DicomObject, MergePolicy)} between an element of the updated
+ * Data Set or Item and an element with the same tag of the merged Data Set or Item. Elements without such
+ * conflict are always added.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+@FunctionalInterface
+public interface MergePolicy {
+
+    enum Resolution {
+        /** Keep the existing element. */
+        KEEP,
+        /** Replace the existing element by the merged element. */
+        REPLACE,
+        /** Merge the items of the merged sequence into the items of the existing sequence with the same index. */
+        MERGE_ITEMS
+    }
+
+    /**
+     * Keeps existing elements, merges sequences item by item, appending surplus items.
+     */
+    MergePolicy KEEP = (existing, merged) ->
+            existing.vr() == VR.SQ && merged.vr() == VR.SQ ? Resolution.MERGE_ITEMS : Resolution.KEEP;
+
+    /**
+     * Replaces existing elements, merges sequences with equal number of items item by item.
+     */
+    MergePolicy REPLACE = (existing, merged) ->
+            existing.vr() == VR.SQ && merged.vr() == VR.SQ && existing.size() == merged.size()
+                    ? Resolution.MERGE_ITEMS
+                    : Resolution.REPLACE;
+
+    /**
+     * Only adds elements which are absent, without merging sequences.
+     */
+    MergePolicy ONLY_IF_ABSENT = (existing, merged) -> Resolution.KEEP;
+
+    Resolution resolve(DicomElement existing, DicomElement merged);
+}
@@ -0,0 +1,134 @@
+package org.dcm4che6.data;
+
+import org.dcm4che6.util.TagUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Element dictionary loaded at runtime from a XML file with the format of {@code arcelements.xml}:
+ * {@code <elements><el tag="7777xx10" keyword="..." vr="DT" vm="1">...</el>...</elements>}.
+ * Digits given as {@code x} in the {@code tag} attribute match any value.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class XMLElementDictionary extends ElementDictionary {
+    private static final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    private final HashMap<Integer, VR> vrs = new HashMap<>();
+    private final HashMap<Integer, String> keywords = new HashMap<>();
+    private final HashMap<String, Integer> tags = new HashMap<>();
+    private int[] masks = {};
+
+    private XMLElementDictionary(String privateCreator) {
+        super(Objects.requireNonNull(privateCreator), null);
+    }
+
+    public static XMLElementDictionary load(String privateCreator, Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return load(privateCreator, in);
+        }
+    }
+
+    public static XMLElementDictionary load(String privateCreator, InputStream in) throws IOException {
+        XMLElementDictionary dict = new XMLElementDictionary(privateCreator);
+        try {
+            saxParserFactory.newSAXParser().parse(in, dict.new Handler());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(e);
+        }
+        return dict;
+    }
+
+    @Override
+    public VR vrOf(int tag) {
+        if (TagUtils.isPrivateCreator(tag))
+            return VR.LO;
+
+        VR vr = lookup(vrs, tag);
+        return vr != null ? vr : VR.UN;
+    }
+
+    @Override
+    public String keywordOf(int tag) {
+        if (TagUtils.isPrivateCreator(tag))
+            return "PrivateCreatorID";
+
+        String keyword = lookup(keywords, tag);
+        return keyword != null ? keyword : "";
+    }
+
+    @Override
+    public int tagForKeyword(String keyword) {
+        return tags.getOrDefault(keyword, -1);
+    }
+
+    private <T> T lookup(HashMap<Integer, T> map, int tag) {
+        if (TagUtils.isPrivateGroup(tag))
+            tag &= 0xffff00ff;
+        for (int mask : masks) {
+            T value = map.get(tag & mask);
+            if (value != null)
+                return value;
+        }
+        return null;
+    }
+
+    private void add(String tagStr, String keyword, String vrStr) {
+        int tag = 0;
+        int mask = 0;
+        for (int i = 0; i < 8; i++) {
+            char ch = tagStr.charAt(i);
+            tag <<= 4;
+            mask <<= 4;
+            if (ch != 'x' && ch != 'X') {
+                tag |= Character.digit(ch, 16);
+                mask |= 0xf;
+            }
+        }
+        if (TagUtils.isPrivateGroup(tag)) {
+            tag &= 0xffff00ff;
+            mask |= 0x0000ff00;
+        }
+        addMask(mask);
+        if (!vrStr.isEmpty())
+            vrs.put(tag, VR.valueOf(vrStr.substring(0, 2)));
+        if (!keyword.isEmpty()) {
+            keywords.put(tag, keyword);
+            tags.put(keyword, tag);
+        }
+    }
+
+    private void addMask(int mask) {
+        for (int m : masks)
+            if (m == mask)
+                return;
+
+        int[] newMasks = new int[masks.length + 1];
+        System.arraycopy(masks, 0, newMasks, 0, masks.length);
+        newMasks[masks.length] = mask;
+        masks = newMasks;
+    }
+
+    private class Handler extends DefaultHandler {
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (qName.equals("el")) {
+                String tag = attributes.getValue("tag");
+                if (tag != null && tag.length() == 8)
+                    add(tag,
+                        Objects.requireNonNullElse(attributes.getValue("keyword"), ""),
+                        Objects.requireNonNullElse(attributes.getValue("vr"), ""));
+            }
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package org.dcm4che6.internal;
 
+import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
 import org.dcm4che6.data.Tag;
 import org.dcm4che6.data.VR;
+import org.dcm4che6.io.BulkDataResolver;
+import org.dcm4che6.io.BulkDataURI;
 import org.dcm4che6.io.ByteOrder;
 import org.dcm4che6.io.DicomEncoding;
 import org.dcm4che6.io.DicomOutputStream;
 
 import java.io.*;
-import java.net.URI;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -19,17 +21,29 @@ class BulkDataElement extends DicomElementImpl {
     static final int MAGIC_LEN = 0xfbfb;
 
     private final String uuid;
-    private final String uri;
+    private String uri;
+    private final BulkDataResolver resolver;
+    private BulkDataURI parsedURI;
 
     BulkDataElement(DicomObject dicomObject, int tag, VR vr, String uri, String uuid) {
+        this(dicomObject, tag, vr, uri, uuid, null);
+    }
+
+    BulkDataElement(DicomObject dicomObject, int tag, VR vr, String uri, String uuid, BulkDataResolver resolver) {
         super(dicomObject, tag, vr);
         this.uri = uri;
         this.uuid = uuid;
+        this.resolver = resolver;
+    }
+
+    @Override
+    DicomElement copyTo(DicomObject dcmObj) {
+        return new BulkDataElement(dcmObj, tag, vr, uri, uuid, resolver);
     }
 
     @Override
     public int valueLength() {
-        return parseInt("length=", -1);
+        return parsedURI().length();
     }
 
     @Override
@@ -42,6 +56,12 @@ class BulkDataElement extends DicomElementImpl {
         return uri;
     }
 
+    @Override
+    long estimatedShallowBytes() {
+        return RetainedSize.ofObject(RetainedSize.REFERENCE * 6 + 4)
+                + RetainedSize.ofString(uri) + RetainedSize.ofString(uuid);
+    }
+
     @Override
     public String bulkDataUUID() {
         return uuid;
@@ -55,47 +75,49 @@ class BulkDataElement extends DicomElementImpl {
             transferTo(dos);
     }
 
-    private int offset() {
-        return parseInt("offset=", 0);
+    void bindURI(String uri) {
+        this.uri = uri;
+        this.parsedURI = null;
+    }
+
+    private BulkDataURI parsedURI() {
+        BulkDataURI parsedURI = this.parsedURI;
+        if (parsedURI == null)
+            this.parsedURI = parsedURI = BulkDataURI.parse(uri);
+        return parsedURI;
     }
 
     ByteOrder byteOrder() {
-        return "big".equals(cut("endian=")) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        return parsedURI().byteOrder();
     }
 
     private void transferTo(DicomOutputStream dos) throws IOException {
-        int vallen = valueLength();
-        ByteOrder byteOrder = byteOrder();
+        BulkDataURI parsedURI = parsedURI();
+        int vallen = parsedURI.length();
+        ByteOrder byteOrder = parsedURI.byteOrder();
         ToggleByteOrder toggleByteOrder = dos.getEncoding().byteOrder != byteOrder
                 ? vr.type.toggleByteOrder()
                 : null;
+        BulkDataResolver resolver = this.resolver != null ? this.resolver : dos.getBulkDataResolver();
+        if (vallen != -1 && toggleByteOrder == null) {
+            resolver.transferTo(parsedURI, dos);
+            return;
+        }
         byte[] buf = dos.swapBuffer();
-        try (InputStream in = URI.create(uri).toURL().openStream()) {
-            skipNBytes(in, offset());
+        try (InputStream in = resolver.openStream(parsedURI)) {
             if (vallen == -1) {
                 PushbackInputStream pushback = new PushbackInputStream(in, 4);
                 if (peekTag(pushback, byteOrder, buf) == Tag.Item) {
                     transferDataFragments(pushback, byteOrder, dos, toggleByteOrder);
                 } else {
-                    transfer(pushback, dos, toggleByteOrder, dos.swapBuffer());
+                    transfer(pushback, dos, toggleByteOrder, buf);
                 }
             } else {
-                transferNBytes(in, dos, vallen, toggleByteOrder, dos.swapBuffer());
+                transferNBytes(in, dos, vallen, toggleByteOrder, buf);
             }
         }
     }
 
-    private static int skipNBytes(InputStream in, int length) throws IOException {
-        int n = 0;
-        while (n < length) {
-            int count = (int) in.skip(length - n);
-            if (count < 0)
-                break;
-            n += count;
-        }
-        return n;
-    }
-
     private int peekTag(PushbackInputStream in, ByteOrder byteOrder, byte[] buf) throws IOException {
         int nread = in.readNBytes(buf, 0, 4);
         in.unread(buf, 0, nread);
@@ -143,30 +165,4 @@ class BulkDataElement extends DicomElementImpl {
             throw new IOException("Invalid Item Sequence @ " + uri);
         }
     }
-
-    private String cut(String name) {
-        int hashIndex = uri.indexOf('#');
-        if (hashIndex < 0)
-            return null;
-
-        int nameIndex = uri.indexOf(name, hashIndex + 1);
-        if (nameIndex < 0)
-            return null;
-
-        int begin = nameIndex + name.length();
-        int end = uri.indexOf('&', begin + 1);
-        return end < 0 ? uri.substring(begin) : uri.substring(begin, end);
-    }
-
-    private int parseInt(String name, int defval) {
-        String s = cut(name);
-        if (s == null)
-            return defval;
-
-        try {
-            return Integer.parseInt(s);
-        } catch (NumberFormatException e) {
-            return defval;
-        }
-    }
 }
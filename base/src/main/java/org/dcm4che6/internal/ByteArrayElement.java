@@ -1,5 +1,6 @@
 package org.dcm4che6.internal;
 
+import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
 import org.dcm4che6.data.VR;
 import org.dcm4che6.io.ByteOrder;
@@ -23,11 +24,21 @@ class ByteArrayElement extends DicomElementImpl {
         this.value = value;
     }
 
+    @Override
+    DicomElement copyTo(DicomObject dcmObj) {
+        return new ByteArrayElement(dcmObj, tag, vr, value);
+    }
+
     @Override
     public int valueLength() {
         return (value.length + 1) & ~1;
     }
 
+    @Override
+    long estimatedShallowBytes() {
+        return RetainedSize.ofObject(RetainedSize.REFERENCE * 3 + 4) + RetainedSize.ofArray(value.length, 1);
+    }
+
     @Override
     public OptionalInt intValue(int index) {
         return vr.type.intValue(value, index);
@@ -81,9 +92,12 @@ class ByteArrayElement extends DicomElementImpl {
                 dos.write(0);
         } else {
             byte[] b = dos.swapBuffer();
-            System.arraycopy(value, 0, b, 0, value.length);
-            vr.type.toggleByteOrder().swapBytes(b, value.length);
-            dos.write(b, 0, value.length);
+            for (int off = 0, len; off < value.length; off += len) {
+                len = Math.min(value.length - off, b.length);
+                System.arraycopy(value, off, b, 0, len);
+                vr.type.toggleByteOrder().swapBytes(b, len);
+                dos.write(b, 0, len);
+            }
         }
     }
 
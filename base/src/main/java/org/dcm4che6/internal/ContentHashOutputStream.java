@@ -0,0 +1,115 @@
+package org.dcm4che6.internal;
+
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Computes the 64-bit <a href="https://github.com/Cyan4973/xxHash">xxHash</a> (XXH64, seed 0) of the bytes written
+ * to it, without retaining more than one 32-byte stripe.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class ContentHashOutputStream extends OutputStream {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+    private final byte[] stripe = new byte[32];
+    private int stripeLength;
+    private long length;
+    private long v1 = PRIME1 + PRIME2;
+    private long v2 = PRIME2;
+    private long v3 = 0;
+    private long v4 = -PRIME1;
+
+    @Override
+    public void write(int b) {
+        stripe[stripeLength++] = (byte) b;
+        length++;
+        if (stripeLength == 32) {
+            consume(stripe, 0);
+            stripeLength = 0;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        length += len;
+        if (stripeLength > 0) {
+            int n = Math.min(len, 32 - stripeLength);
+            System.arraycopy(b, off, stripe, stripeLength, n);
+            stripeLength += n;
+            off += n;
+            len -= n;
+            if (stripeLength < 32)
+                return;
+            consume(stripe, 0);
+            stripeLength = 0;
+        }
+        for (; len >= 32; off += 32, len -= 32) {
+            consume(b, off);
+        }
+        System.arraycopy(b, off, stripe, 0, len);
+        stripeLength = len;
+    }
+
+    long getValue() {
+        long h;
+        if (length >= 32) {
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = PRIME5;
+        }
+        h += length;
+        int off = 0;
+        for (; off + 8 <= stripeLength; off += 8) {
+            h ^= round(0, longAt(stripe, off));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (off + 4 <= stripeLength) {
+            h ^= (intAt(stripe, off) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            off += 4;
+        }
+        for (; off < stripeLength; off++) {
+            h ^= (stripe[off] & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private void consume(byte[] b, int off) {
+        v1 = round(v1, longAt(b, off));
+        v2 = round(v2, longAt(b, off + 8));
+        v3 = round(v3, longAt(b, off + 16));
+        v4 = round(v4, longAt(b, off + 24));
+    }
+
+    private static long round(long acc, long input) {
+        return Long.rotateLeft(acc + input * PRIME2, 31) * PRIME1;
+    }
+
+    private static long mergeRound(long acc, long val) {
+        return (acc ^ round(0, val)) * PRIME1 + PRIME4;
+    }
+
+    private static long longAt(byte[] b, int off) {
+        return (intAt(b, off) & 0xFFFFFFFFL) | ((long) intAt(b, off + 4) << 32);
+    }
+
+    private static int intAt(byte[] b, int off) {
+        return (b[off] & 0xff) | (b[off + 1] & 0xff) << 8 | (b[off + 2] & 0xff) << 16 | b[off + 3] << 24;
+    }
+}
@@ -1,6 +1,7 @@
 package org.dcm4che6.internal;
 
 import org.dcm4che6.data.DataFragment;
+import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
 import org.dcm4che6.data.Tag;
 import org.dcm4che6.data.VR;
@@ -24,6 +25,19 @@ class DataFragments extends DicomElementImpl {
         this.streamPosition = streamPosition;
     }
 
+    /**
+     * Returns a copy of this element contained by {@code dcmObj}. The copied fragments still reference the input of
+     * the Data Set containing this element, to avoid copying compressed pixel data.
+     */
+    @Override
+    DicomElement copyTo(DicomObject dcmObj) {
+        DataFragments copy = new DataFragments(dcmObj, tag, vr, streamPosition);
+        for (DataFragment item : items) {
+            copy.items.add(((DicomInput.ParsedDataFragment) item).copyTo(copy));
+        }
+        return copy;
+    }
+
     @Override
     public long getStreamPosition() {
         return streamPosition;
@@ -48,6 +62,22 @@ class DataFragments extends DicomElementImpl {
         return items.size();
     }
 
+    @Override
+    long estimatedShallowBytes() {
+        return RetainedSize.ofObject(RetainedSize.REFERENCE * 3 + 4 + 8)
+                + RetainedSize.ofArrayList(items.size())
+                + items.size() * RetainedSize.ofObject(RetainedSize.REFERENCE * 2 + 8 + 4);
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        long size = estimatedShallowBytes();
+        for (DataFragment item : items) {
+            size += item.valueLength();
+        }
+        return size;
+    }
+
     @Override
     public void trimToSize() {
         items.trimToSize();
@@ -0,0 +1,299 @@
+package org.dcm4che6.internal;
+
+import org.dcm4che6.data.DicomElement;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.io.DicomDigest;
+import org.dcm4che6.io.DicomOutputStream;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Bytes read from the input stream ahead of the parser are kept pending until the parser classifies them as
+ * Pixel Data value or metadata by {@link #classify}. Bytes written to the output stream are accounted immediately
+ * to the region selected by {@link #follow}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class DicomDigestImpl implements DicomDigest {
+    private final Algorithm algorithm;
+    private final boolean splitPixelData;
+    private final Hash hash;
+    private final Hash metadataHash;
+    private final Hash pixelDataHash;
+    private final ArrayDeque<Boundary> boundaries = new ArrayDeque<>();
+    private byte[] pending = {};
+    private int pendingLength;
+    private long length;
+    private long classified;
+    private long lastBoundary;
+    private Boolean following;
+    private byte[] digest;
+    private byte[] metadataDigest;
+    private byte[] pixelDataDigest;
+
+    public DicomDigestImpl(Algorithm algorithm, boolean splitPixelData) {
+        this.algorithm = Objects.requireNonNull(algorithm);
+        this.splitPixelData = splitPixelData;
+        this.hash = newHash(algorithm);
+        this.metadataHash = splitPixelData ? newHash(algorithm) : null;
+        this.pixelDataHash = splitPixelData ? newHash(algorithm) : null;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public boolean isSplitPixelData() {
+        return splitPixelData;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public byte[] getDigest() {
+        finish();
+        return digest.clone();
+    }
+
+    @Override
+    public Optional<byte[]> getMetadataDigest() {
+        finish();
+        return Optional.ofNullable(metadataDigest).map(byte[]::clone);
+    }
+
+    @Override
+    public Optional<byte[]> getPixelDataDigest() {
+        finish();
+        return Optional.ofNullable(pixelDataDigest).map(byte[]::clone);
+    }
+
+    public static boolean isPixelData(DicomElement el) {
+        switch (el.tag()) {
+            case Tag.PixelData:
+            case Tag.FloatPixelData:
+            case Tag.DoubleFloatPixelData:
+                return !el.containedBy().hasParent();
+        }
+        return false;
+    }
+
+    /**
+     * Accounts the bytes subsequently written to {@code dos} to the Pixel Data or the metadata digest, if
+     * {@code el} is the Pixel Data element of the Data Set and a split digest is attached to {@code dos}.
+     */
+    public static void followPixelData(DicomOutputStream dos, DicomElement el, boolean pixelData) {
+        DicomDigestImpl digest = (DicomDigestImpl) dos.getDigest();
+        if (digest != null && digest.splitPixelData && !dos.getEncoding().deflated && isPixelData(el))
+            digest.follow(pixelData);
+    }
+
+    public InputStream tap(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0)
+                    update(new byte[]{(byte) b}, 0, 1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = in.read(b, off, len);
+                if (n > 0)
+                    update(b, off, n);
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                byte[] b = new byte[(int) Math.min(n, 0x2000)];
+                long remaining = n;
+                int nread;
+                while (remaining > 0 && (nread = read(b, 0, (int) Math.min(remaining, b.length))) > 0)
+                    remaining -= nread;
+                return n - remaining;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    public OutputStream tap(OutputStream out) {
+        following = Boolean.FALSE;
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                update(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                update(b, off, len);
+            }
+        };
+    }
+
+    private void update(byte[] b, int off, int len) {
+        if (digest != null)
+            throw new IllegalStateException("Digest already completed");
+
+        hash.update(b, off, len);
+        length += len;
+        if (!splitPixelData)
+            return;
+
+        if (pendingLength > 0) {
+            appendPending(b, off, len);
+            return;
+        }
+        while (len > 0) {
+            Boundary head = boundaries.peek();
+            if (head == null) {
+                if (following != null) {
+                    hashOf(following).update(b, off, len);
+                    classified += len;
+                } else {
+                    appendPending(b, off, len);
+                }
+                return;
+            }
+            int n = (int) Math.min(len, head.end - classified);
+            hashOf(head.pixelData).update(b, off, n);
+            classified += n;
+            off += n;
+            len -= n;
+            if (classified == head.end)
+                boundaries.remove();
+        }
+    }
+
+    /**
+     * Classifies the bytes up to stream position {@code end} (exclusive), not classified by previous invocations,
+     * as Pixel Data value or metadata. Invocations with a position not greater than the position of a previous
+     * invocation are ignored.
+     */
+    public void classify(long end, boolean pixelData) {
+        if (!splitPixelData || end <= lastBoundary)
+            return;
+
+        lastBoundary = end;
+        if (!boundaries.isEmpty()) {
+            boundaries.add(new Boundary(end, pixelData));
+            return;
+        }
+        int n = (int) Math.min(pendingLength, end - classified);
+        if (n > 0) {
+            hashOf(pixelData).update(pending, 0, n);
+            System.arraycopy(pending, n, pending, 0, pendingLength -= n);
+            classified += n;
+        }
+        if (classified < end)
+            boundaries.add(new Boundary(end, pixelData));
+    }
+
+    private void follow(boolean pixelData) {
+        following = pixelData;
+    }
+
+    private void appendPending(byte[] b, int off, int len) {
+        if (pendingLength + len > pending.length)
+            pending = Arrays.copyOf(pending, Math.max(pendingLength + len, pending.length << 1));
+        System.arraycopy(b, off, pending, pendingLength, len);
+        pendingLength += len;
+    }
+
+    private Hash hashOf(boolean pixelData) {
+        return pixelData ? pixelDataHash : metadataHash;
+    }
+
+    private void finish() {
+        if (digest != null)
+            return;
+
+        if (splitPixelData) {
+            metadataHash.update(pending, 0, pendingLength);
+            classified += pendingLength;
+            pending = null;
+            pendingLength = 0;
+            metadataDigest = metadataHash.digest();
+            pixelDataDigest = pixelDataHash.digest();
+        }
+        digest = hash.digest();
+    }
+
+    private static Hash newHash(Algorithm algorithm) {
+        switch (algorithm) {
+            case CRC32C:
+                CRC32C crc = new CRC32C();
+                return new Hash() {
+                    @Override
+                    public void update(byte[] b, int off, int len) {
+                        crc.update(b, off, len);
+                    }
+
+                    @Override
+                    public byte[] digest() {
+                        long value = crc.getValue();
+                        return new byte[]{ (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8),
+                                (byte) value };
+                    }
+                };
+            default:
+                MessageDigest md;
+                try {
+                    md = MessageDigest.getInstance(algorithm == Algorithm.MD5 ? "MD5" : "SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new AssertionError(e);
+                }
+                return new Hash() {
+                    @Override
+                    public void update(byte[] b, int off, int len) {
+                        md.update(b, off, len);
+                    }
+
+                    @Override
+                    public byte[] digest() {
+                        return md.digest();
+                    }
+                };
+        }
+    }
+
+    private interface Hash {
+        void update(byte[] b, int off, int len);
+        byte[] digest();
+    }
+
+    private static class Boundary {
+        final long end;
+        final boolean pixelData;
+
+        Boundary(long end, boolean pixelData) {
+            this.end = end;
+            this.pixelData = pixelData;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.dcm4che6.internal;
 import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
 import org.dcm4che6.data.ElementDictionary;
+import org.dcm4che6.data.SpecificCharacterSet;
 import org.dcm4che6.data.VR;
 import org.dcm4che6.io.DicomOutputStream;
 import org.dcm4che6.util.TagUtils;
@@ -60,6 +61,31 @@ class DicomElementImpl implements DicomElement {
         return appendTo;
     }
 
+    /**
+     * Returns a copy of this element contained by {@code dcmObj}, which does not reference the Data Set containing
+     * this element.
+     */
+    DicomElement copyTo(DicomObject dcmObj) {
+        return vr.type.elementOf(dcmObj, tag, vr);
+    }
+
+    String joinedStringValue(SpecificCharacterSet cs) {
+        return null;
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        return estimatedShallowBytes();
+    }
+
+    /**
+     * Returns estimated heap occupied by this element, not including the content of contained items and the
+     * referenced share of the memory cache.
+     */
+    long estimatedShallowBytes() {
+        return RetainedSize.ofObject(RetainedSize.REFERENCE + 4 + RetainedSize.REFERENCE);
+    }
+
     StringBuilder promptValueTo(StringBuilder appendTo, int maxLength) {
         return appendTo;
     }
@@ -1,6 +1,7 @@
 package org.dcm4che6.internal;
 
 import org.dcm4che6.data.*;
+import org.dcm4che6.io.ByteOrder;
 import org.dcm4che6.io.DicomEncoding;
 import org.dcm4che6.io.DicomOutputStream;
 import org.dcm4che6.util.OptionalFloat;
@@ -80,6 +81,18 @@ class DicomInput {
             return valuePos - (!encoding.explicitVR || vr.shortValueLength ? 8 : 12);
         }
 
+        @Override
+        DicomElement copyTo(DicomObject dcmObj) {
+            // decoded with the Specific Character Set of the Data Set containing this element
+            if (vr.type instanceof StringVR)
+                return vr.type.elementOf(dcmObj, tag, vr, stringValues());
+
+            byte[] b = cache.bytesAt(valuePos, valueLen);
+            if (encoding.byteOrder != ByteOrder.LITTLE_ENDIAN && vr.type.toggleByteOrder() != null)
+                vr.type.toggleByteOrder().swapBytes(b, b.length);
+            return vr.type.elementOf(dcmObj, tag, vr, b);
+        }
+
         @Override
         protected StringBuilder promptValueTo(StringBuilder appendTo, int maxLength) {
             appendTo.append(' ').append('[');
@@ -88,6 +101,21 @@ class DicomInput {
             return appendTo;
         }
 
+        @Override
+        String joinedStringValue(SpecificCharacterSet cs) {
+            return stringAt(valuePos, valueLen, cs);
+        }
+
+        @Override
+        long estimatedShallowBytes() {
+            return RetainedSize.ofObject(RetainedSize.REFERENCE * 4 + 4 + 8 + 4);
+        }
+
+        @Override
+        public long estimatedRetainedBytes() {
+            return estimatedShallowBytes() + cache.cachedBytes(valuePos, valueLen);
+        }
+
         @Override
         public Optional<String> stringValue(int index) {
             return vr.type.stringValue(DicomInput.this, valuePos, valueLen, index, dicomObject);
@@ -144,7 +172,7 @@ class DicomInput {
         }
     }
 
-    private class ParsedDataFragment implements DataFragment {
+    class ParsedDataFragment implements DataFragment {
         final DataFragments dataFragments;
         final long valuePos;
         final int valueLen;
@@ -155,6 +183,10 @@ class DicomInput {
             this.valueLen = valueLen;
         }
 
+        ParsedDataFragment copyTo(DataFragments dataFragments) {
+            return new ParsedDataFragment(dataFragments, valuePos, valueLen);
+        }
+
         @Override
         public DicomElement containedBy() {
             return dataFragments;
@@ -13,6 +13,7 @@ import org.dcm4che6.util.TagUtils;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,6 +26,7 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
 
     private static final int TO_STRING_LINES = 50;
     private static final int TO_STRING_WIDTH = 78;
+    static final long SHELL_BYTES = RetainedSize.ofObject(RetainedSize.REFERENCE * 8 + 8 + 4 + 8 + 8 + 1 + 1 + 1);
     private final DicomInput dicomInput;
     private final long streamPosition;
     private final int itemLength;
@@ -32,7 +34,14 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
     private volatile ArrayList<DicomElement> elements;
     private volatile SpecificCharacterSet specificCharacterSet;
     private PrivateCreator lruPrivateCreator;
-    private int calculatedItemLength;
+    private long encodedLength = -1L;
+    private volatile boolean modified;
+    volatile MemoryGovernorImpl governor;
+    long governedBytes = -1L;
+    volatile boolean referenced;
+    volatile boolean queued;
+    DicomObjectImpl clockPrev;
+    DicomObjectImpl clockNext;
 
     public DicomObjectImpl() {
         this(null, -1L, -1, new ArrayList<>());
@@ -95,7 +104,25 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
 
     @Override
     public Iterator<DicomElement> iterator() {
-        return elements().iterator();
+        Iterator<DicomElement> iter = elements().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iter.hasNext();
+            }
+
+            @Override
+            public DicomElement next() {
+                return iter.next();
+            }
+
+            @Override
+            public void remove() {
+                iter.remove();
+                modified();
+                lruPrivateCreator = null;
+            }
+        };
     }
 
     @Override
@@ -121,10 +148,15 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
 
     @Override
     public void purgeElements() {
+        MemoryGovernorImpl governor = this.governor;
+        if (governor != null)
+            governor.purged(this);
         elements = null;
     }
 
     ArrayList<DicomElement> elements() {
+        if (!referenced)
+            referenced = true;
         ArrayList<DicomElement> localRef = elements;
         if (localRef == null)
             synchronized (this) {
@@ -136,10 +168,76 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                MemoryGovernorImpl governor = this.governor;
+                if (governor != null)
+                    governor.loaded(this);
             }
         return localRef;
     }
 
+    /**
+     * Returns the elements without parsing them or {@code null}, if they were purged or not yet parsed.
+     */
+    ArrayList<DicomElement> parsedElements() {
+        return elements;
+    }
+
+    /**
+     * Returns if the elements can be purged and re-parsed from the input without loss of modifications.
+     */
+    boolean isPurgeable() {
+        return dicomInput != null && !modified;
+    }
+
+    void dropElements() {
+        elements = null;
+    }
+
+    void modified() {
+        DicomObjectImpl dcmObj = this;
+        while (!dcmObj.modified) {
+            dcmObj.modified = true;
+            DicomSequence dcmSeq = dcmObj.dcmSeq;
+            if (dcmSeq == null)
+                break;
+            dcmObj = (DicomObjectImpl) dcmSeq.containedBy();
+        }
+    }
+
+    void setEncodedLength(long encodedLength) {
+        this.encodedLength = encodedLength;
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        return SHELL_BYTES + estimatedContentBytes();
+    }
+
+    long estimatedContentBytes() {
+        ArrayList<DicomElement> elements = this.elements;
+        if (elements == null) {
+            long length = encodedLength != -1L ? encodedLength : itemLength;
+            return dicomInput != null && length > 0 ? dicomInput.cache.cachedBytes(streamPosition, length) : 0L;
+        }
+        long size = RetainedSize.ofArrayList(elements.size());
+        for (DicomElement el : elements) {
+            size += el.estimatedRetainedBytes();
+        }
+        return size;
+    }
+
+    long estimatedElementsBytes() {
+        ArrayList<DicomElement> elements = this.elements;
+        if (elements == null)
+            return 0L;
+
+        long size = RetainedSize.ofArrayList(elements.size());
+        for (DicomElement el : elements) {
+            size += ((DicomElementImpl) el).estimatedShallowBytes();
+        }
+        return size;
+    }
+
     @Override
     public SpecificCharacterSet specificCharacterSet() {
         return specificCharacterSet != null
@@ -235,6 +333,7 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
         if (!reserve)
             return OptionalInt.empty();
 
+        modified();
         list.add(i, new StringElement(this, ++creatorTag, VR.LO, value));
         lruPrivateCreator = new PrivateCreator(creatorTag, Optional.of(value));
         return OptionalInt.of(creatorTag);
@@ -402,6 +501,11 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
 
     @Override
     public DicomElement add(DicomElement el) {
+        modified();
+        return addParsed(el);
+    }
+
+    DicomElement addParsed(DicomElement el) {
         if (el.tag() == Tag.SpecificCharacterSet)
             specificCharacterSet = SpecificCharacterSet.valueOf(el.stringValues());
 
@@ -593,61 +697,362 @@ public class DicomObjectImpl implements DicomObject, Externalizable {
                 tsuid);
     }
 
-    int calculatedItemLength() {
-        return calculatedItemLength;
+    int calculatedItemLength(DicomOutputStream dos) {
+        int[] lengths = dos.calculatedLengths().get(this);
+        return lengths != null ? lengths[0] : 0;
     }
 
+    /**
+     * Calculates the length of this item written to {@code dos} and - if Group Length elements are included - the
+     * lengths of its groups. The lengths are kept by {@code dos}, so writing does not modify this Data Set.
+     */
     public int calculateItemLength(DicomOutputStream dos) {
-        int len = 0;
+        int[] lengths = { 0 };
         if (!isEmpty()) {
-            int groupLengthTag = TagUtils.groupLengthTagOf(firstElement().tag());
+            Predicate<DicomElement> elementFilter = dos.getElementFilter();
             Collector<DicomElement, ?, Integer> summingElementLengths =
                     Collectors.summingInt(el -> ((DicomElementImpl) el).elementLength(dos));
-            if (dos.isIncludeGroupLength() && groupLengthTag != TagUtils.groupLengthTagOf(lastElement().tag())) {
+            if (dos.isIncludeGroupLength()) {
                 Map<Integer, Integer> groups = elementStream()
-                        .collect(Collectors.groupingBy(
-                                x -> TagUtils.groupNumber(x.tag()),
-                                Collectors.filtering(x -> !TagUtils.isGroupLength(x.tag()), summingElementLengths)));
+                        .filter(x -> !TagUtils.isGroupLength(x.tag()))
+                        .filter(elementFilter)
+                        .collect(Collectors.groupingBy(x -> TagUtils.groupNumber(x.tag()), TreeMap::new,
+                                summingElementLengths));
+                lengths = new int[1 + groups.size() * 2];
+                int i = 1;
                 for (Map.Entry<Integer, Integer> group : groups.entrySet()) {
                     int glen = group.getValue();
-                    setInt(group.getKey() << 16, VR.UL, glen);
-                    len += glen + 12;
+                    lengths[i++] = group.getKey();
+                    lengths[i++] = glen;
+                    lengths[0] += glen + 12;
                 }
             } else {
-                len = elementStream().filter(x -> !TagUtils.isGroupLength(x.tag())).collect(summingElementLengths);
-                if (dos.isIncludeGroupLength()) {
-                    setInt(groupLengthTag, VR.UL, len);
-                    len += 12;
+                lengths[0] = elementStream().filter(x -> !TagUtils.isGroupLength(x.tag())).filter(elementFilter)
+                        .collect(summingElementLengths);
+            }
+        }
+        dos.calculatedLengths().put(this, lengths);
+        return lengths[0];
+    }
+
+    @Override
+    public long contentHash() {
+        ContentHashOutputStream hash = new ContentHashOutputStream();
+        try {
+            writeTo(canonicalOutputStream(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hash.getValue();
+    }
+
+    @Override
+    public boolean contentEquals(DicomObject other) {
+        if (this == other)
+            return true;
+
+        try {
+            return contentEquals((DicomObjectImpl) Objects.requireNonNull(other), new ValueComparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a stream writing the canonical encoding used by {@link #contentHash()}: Implicit VR Little Endian,
+     * sequences and items with undefined length and without Group Length elements. The VR is not encoded, so the
+     * hash is consistent with {@link #equalVRs(VR, VR)}.
+     */
+    private static DicomOutputStream canonicalOutputStream(OutputStream out) {
+        return new DicomOutputStream(out)
+                .withEncoding(DicomEncoding.IVR_LE)
+                .withSequenceLengthEncoding(DicomOutputStream.LengthEncoding.UNDEFINED)
+                .withItemLengthEncoding(DicomOutputStream.LengthEncoding.UNDEFINED);
+    }
+
+    private boolean contentEquals(DicomObjectImpl other, ValueComparator comparator) throws IOException {
+        Iterator<DicomElement> iter1 = elements().iterator();
+        Iterator<DicomElement> iter2 = other.elements().iterator();
+        DicomElement el1, el2;
+        while ((el1 = nextNonGroupLength(iter1)) != null) {
+            if ((el2 = nextNonGroupLength(iter2)) == null
+                    || el1.tag() != el2.tag() || !equalVRs(el1.vr(), el2.vr()))
+                return false;
+
+            if (el1.vr() == VR.SQ) {
+                int size = el1.size();
+                if (el2.size() != size)
+                    return false;
+
+                for (int i = 0; i < size; i++) {
+                    if (!((DicomObjectImpl) el1.getItem(i)).contentEquals((DicomObjectImpl) el2.getItem(i),
+                            comparator))
+                        return false;
                 }
+            } else if (!comparator.valueEquals(el1, el2)) {
+                return false;
             }
         }
-        this.calculatedItemLength = len;
-        return len;
+        return nextNonGroupLength(iter2) == null;
+    }
+
+    /**
+     * Returns {@code true} if values of both VRs are compared by their encoded bytes. Ignores differences which
+     * depend on the Transfer Syntax: OB and OW (e.g. Pixel Data), SS and US (e.g. Smallest Image Pixel Value) and UN
+     * of elements parsed from Implicit VR with unknown VR. Sequences only equal sequences.
+     */
+    private static boolean equalVRs(VR vr1, VR vr2) {
+        if (vr1 == vr2)
+            return true;
+
+        if (vr1 == VR.SQ || vr2 == VR.SQ)
+            return false;
+
+        return vr1 == VR.UN || vr2 == VR.UN
+                || (vr1 == VR.OB || vr1 == VR.OW) && (vr2 == VR.OB || vr2 == VR.OW)
+                || (vr1 == VR.SS || vr1 == VR.US) && (vr2 == VR.SS || vr2 == VR.US);
+    }
+
+    @Override
+    public int merge(DicomObject other, MergePolicy policy) {
+        Objects.requireNonNull(policy);
+        return merge((DicomObjectImpl) Objects.requireNonNull(other), policy);
+    }
+
+    private int merge(DicomObjectImpl other, MergePolicy policy) {
+        ArrayList<DicomElement> list = elements();
+        ArrayList<DicomElement> src = other.elements();
+        ArrayList<DicomElement> merged = new ArrayList<>(list.size() + src.size());
+        int count = 0;
+        int i = 0, j = 0;
+        while (j < src.size()) {
+            DicomElement el2 = src.get(j);
+            if (TagUtils.isGroupLength(el2.tag())) {
+                j++;
+                continue;
+            }
+            int cmp = i < list.size() ? Integer.compareUnsigned(list.get(i).tag(), el2.tag()) : 1;
+            if (cmp < 0) {
+                merged.add(list.get(i++));
+                continue;
+            }
+            j++;
+            if (cmp > 0) {
+                merged.add(copyOf(el2));
+                count++;
+                continue;
+            }
+            DicomElement el1 = list.get(i++);
+            switch (policy.resolve(el1, el2)) {
+                case KEEP:
+                    merged.add(el1);
+                    break;
+                case REPLACE:
+                    merged.add(copyOf(el2));
+                    count++;
+                    break;
+                case MERGE_ITEMS:
+                    if (el1.vr() != VR.SQ || el2.vr() != VR.SQ)
+                        throw new IllegalArgumentException("Cannot merge items of " + el1 + " and " + el2);
+                    merged.add(el1);
+                    count += mergeItems((DicomSequence) el1, el2, policy);
+                    break;
+            }
+        }
+        if (count == 0)
+            return 0;
+
+        while (i < list.size())
+            merged.add(list.get(i++));
+        modified();
+        lruPrivateCreator = null;
+        elements = merged;
+        Optional<DicomElement> specificCharacterSetElement = get(Tag.SpecificCharacterSet);
+        specificCharacterSet = specificCharacterSetElement.isPresent()
+                ? SpecificCharacterSet.valueOf(specificCharacterSetElement.get().stringValues())
+                : null;
+        return count;
+    }
+
+    private int mergeItems(DicomSequence seq, DicomElement other, MergePolicy policy) {
+        int count = 0;
+        int size = seq.size();
+        int otherSize = other.size();
+        for (int i = 0; i < otherSize; i++) {
+            DicomObjectImpl otherItem = (DicomObjectImpl) other.getItem(i);
+            if (i < size) {
+                count += ((DicomObjectImpl) seq.getItem(i)).merge(otherItem, policy);
+            } else {
+                seq.addItem(copyOf(otherItem));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private DicomElement copyOf(DicomElement el) {
+        return ((DicomElementImpl) el).copyTo(this);
+    }
+
+    static DicomObjectImpl copyOf(DicomObjectImpl item) {
+        DicomObjectImpl copy = new DicomObjectImpl();
+        copy.merge(item, MergePolicy.REPLACE);
+        return copy;
+    }
+
+    @Override
+    public DicomObject diff(DicomObject other) {
+        DicomObjectImpl changes = new DicomObjectImpl();
+        try {
+            diff((DicomObjectImpl) Objects.requireNonNull(other), changes, new ValueComparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return changes;
+    }
+
+    private boolean diff(DicomObjectImpl other, DicomObjectImpl changes, ValueComparator comparator)
+            throws IOException {
+        Iterator<DicomElement> iter1 = elements().iterator();
+        Iterator<DicomElement> iter2 = other.elements().iterator();
+        DicomElement el1 = nextNonGroupLength(iter1);
+        DicomElement el2 = nextNonGroupLength(iter2);
+        while (el1 != null || el2 != null) {
+            int cmp = el1 == null ? 1 : el2 == null ? -1 : Integer.compareUnsigned(el1.tag(), el2.tag());
+            if (cmp < 0) {
+                changes.addParsed(el1.vr().type.elementOf(changes, el1.tag(), el1.vr()));
+            } else if (cmp > 0) {
+                changes.addParsed(changes.copyOf(el2));
+            } else if (el1.vr() == VR.SQ && el2.vr() == VR.SQ && el1.size() == el2.size()) {
+                DicomSequence seq = new DicomSequence(changes, el1.tag());
+                boolean changed = false;
+                for (int i = 0, size = el1.size(); i < size; i++) {
+                    DicomObjectImpl itemChanges = new DicomObjectImpl();
+                    changed |= ((DicomObjectImpl) el1.getItem(i)).diff(
+                            (DicomObjectImpl) el2.getItem(i), itemChanges, comparator);
+                    seq.addParsedItem(itemChanges);
+                }
+                if (changed)
+                    changes.addParsed(seq);
+            } else if (!equalVRs(el1.vr(), el2.vr()) || el1.vr() == VR.SQ || !comparator.valueEquals(el1, el2)) {
+                changes.addParsed(changes.copyOf(el2));
+            }
+            if (cmp <= 0)
+                el1 = nextNonGroupLength(iter1);
+            if (cmp >= 0)
+                el2 = nextNonGroupLength(iter2);
+        }
+        return !changes.elements().isEmpty();
+    }
+
+    private static DicomElement nextNonGroupLength(Iterator<DicomElement> iter) {
+        while (iter.hasNext()) {
+            DicomElement el = iter.next();
+            if (!TagUtils.isGroupLength(el.tag()))
+                return el;
+        }
+        return null;
     }
 
     public void writeTo(DicomOutputStream dos) throws IOException {
+        Predicate<DicomElement> elementFilter = dos.getElementFilter();
+        int[] groupLengths = dos.isIncludeGroupLength() ? dos.calculatedLengths().get(this) : null;
+        int nextGroup = 1;
         for (DicomElement element : elements()) {
             int tag = element.tag();
-            if (dos.isIncludeGroupLength() || !TagUtils.isGroupLength(tag)) {
-                int valueLength = element.valueLength(dos);
-                dos.writeHeader(tag, element.vr(), valueLength);
-                element.writeValueTo(dos);
-                if (valueLength == -1) {
-                    dos.writeHeader(Tag.SequenceDelimitationItem, VR.NONE, 0);
-                }
+            if (TagUtils.isGroupLength(tag) || !elementFilter.test(element))
+                continue;
+
+            if (groupLengths != null && nextGroup < groupLengths.length
+                    && groupLengths[nextGroup] == TagUtils.groupNumber(tag)) {
+                writeGroupLength(dos, groupLengths[nextGroup], groupLengths[nextGroup + 1]);
+                nextGroup += 2;
+            }
+            int valueLength = element.valueLength(dos);
+            dos.writeHeader(tag, element.vr(), valueLength);
+            DicomDigestImpl.followPixelData(dos, element, true);
+            element.writeValueTo(dos);
+            if (valueLength == -1) {
+                dos.writeHeader(Tag.SequenceDelimitationItem, VR.NONE, 0);
             }
+            DicomDigestImpl.followPixelData(dos, element, false);
         }
     }
 
+    private static void writeGroupLength(DicomOutputStream dos, int groupNumber, int length) throws IOException {
+        dos.writeHeader(groupNumber << 16, VR.UL, 4);
+        byte[] b = dos.swapBuffer();
+        dos.getEncoding().byteOrder.intToBytes(length, b, 0);
+        dos.write(b, 0, 4);
+    }
+
     void writeItemTo(DicomOutputStream dos) throws IOException {
         boolean undefinedLength = dos.getItemLengthEncoding().undefined.test(size());
-        dos.writeHeader(Tag.Item, VR.NONE, undefinedLength ? -1 : calculatedItemLength);
+        dos.writeHeader(Tag.Item, VR.NONE, undefinedLength ? -1 : calculatedItemLength(dos));
         writeTo(dos);
         if (undefinedLength) {
             dos.writeHeader(Tag.ItemDelimitationItem, VR.NONE, 0);
         }
     }
 
+    /**
+     * Compares values by their canonical encoding. The value of the first element is written into a buffer, which
+     * is reused for all compared elements; the value of the second element is compared with the buffer as it is
+     * written, chunk by chunk, without copying it.
+     */
+    private static class ValueComparator {
+        final ValueBuffer buffer = new ValueBuffer();
+        final ComparingOutputStream comparing = new ComparingOutputStream();
+        final DicomOutputStream dos1 = canonicalOutputStream(buffer);
+        final DicomOutputStream dos2 = canonicalOutputStream(comparing);
+
+        boolean valueEquals(DicomElement el1, DicomElement el2) throws IOException {
+            if (el1.valueLength(dos1) != el2.valueLength(dos2))
+                return false;
+
+            buffer.reset();
+            el1.writeValueTo(dos1);
+            comparing.reset();
+            el2.writeValueTo(dos2);
+            return comparing.equal && comparing.pos == buffer.size();
+        }
+
+        private static class ValueBuffer extends ByteArrayOutputStream {
+            boolean equals(int pos, int b) {
+                return pos < count && buf[pos] == (byte) b;
+            }
+
+            boolean equals(int pos, byte[] b, int off, int len) {
+                return pos + len <= count && Arrays.equals(buf, pos, pos + len, b, off, off + len);
+            }
+        }
+
+        private class ComparingOutputStream extends OutputStream {
+            int pos;
+            boolean equal;
+
+            void reset() {
+                pos = 0;
+                equal = true;
+            }
+
+            @Override
+            public void write(int b) {
+                if (equal) {
+                    equal = buffer.equals(pos++, b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (equal) {
+                    equal = buffer.equals(pos, b, off, len);
+                    pos += len;
+                }
+            }
+        }
+    }
+
     private static class PrivateCreator {
         final int tag;
         final Optional<String> value;
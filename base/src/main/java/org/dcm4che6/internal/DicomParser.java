@@ -38,7 +38,15 @@ public class DicomParser implements DicomInputHandler {
     private Supplier<Path> bulkDataSpoolPathSupplier;
     private Path bulkDataSpoolPath;
     private OutputStream bulkDataSpoolStream;
+    private BulkDataSpooler bulkDataSpooler;
+    private BulkDataSpool bulkDataSpool;
+    private BulkDataStore bulkDataStore;
+    private BulkDataStore.Writer bulkDataStoreWriter;
+    private int bulkDataStoreValueLength;
+    private BulkDataElement storedBulkData;
+    private String storedBulkDataURI;
     private long bulkDataSpoolStreamPos;
+    private DicomDigestImpl digest;
 
     public DicomParser(DicomInputStream dis, InputStream in) {
         this.cache = new MemoryCache();
@@ -64,9 +72,21 @@ public class DicomParser implements DicomInputHandler {
         input = new DicomInput(cache, encoding);
         if (input.encoding.deflated) {
             in = cache.inflate(pos, in);
+            if (digest != null)
+                digest.classify(Long.MAX_VALUE, false);
         }
     }
 
+    public void setDigest(DicomDigestImpl digest) {
+        if (this.digest != null)
+            throw new IllegalStateException("digest already attached");
+        if (cache.length() != 0)
+            throw new IllegalStateException("stream already read");
+
+        this.in = digest.tap(in);
+        this.digest = digest;
+    }
+
     public void setLimit(int limit) {
         if (limit <= 0)
             throw new IllegalArgumentException("limit: " + limit);
@@ -90,6 +110,18 @@ public class DicomParser implements DicomInputHandler {
         this.bulkDataSpoolPathSupplier = Objects.requireNonNull(bulkDataSpoolPathSupplier);
     }
 
+    public void setBulkDataSpooler(BulkDataSpooler bulkDataSpooler) {
+        this.bulkDataSpooler = Objects.requireNonNull(bulkDataSpooler);
+    }
+
+    public BulkDataSpool getBulkDataSpool() {
+        return bulkDataSpool;
+    }
+
+    public void setBulkDataStore(BulkDataStore bulkDataStore) {
+        this.bulkDataStore = Objects.requireNonNull(bulkDataStore);
+    }
+
     public void setInputHandler(DicomInputHandler handler) {
         this.handler = Objects.requireNonNull(handler);
     }
@@ -125,7 +157,9 @@ public class DicomParser implements DicomInputHandler {
 
     public void close() throws IOException {
         try {
-            if (bulkDataSpoolStream != null)
+            if (bulkDataStoreWriter != null)
+                bulkDataStoreWriter.abort();
+            else if (bulkDataSpoolStream != null)
                 bulkDataSpoolStream.close();
         } finally {
             if (in != null)
@@ -221,6 +255,23 @@ public class DicomParser implements DicomInputHandler {
         dcmElm.writeValueTo(dos);
     }
 
+    public void transferValueTo(DicomOutputStream dos) throws IOException {
+        skipBytes(-headerLength, headerLength, null);
+        if (valueLength <= 0)
+            return;
+
+        ToggleByteOrder toggleByteOrder = vr.type != null && input.encoding.byteOrder != dos.getEncoding().byteOrder
+                ? vr.type.toggleByteOrder()
+                : null;
+        if (toggleByteOrder == null) {
+            skipBytes(0, valueLength, dos);
+        } else {
+            SwapBytesOutputStream out = new SwapBytesOutputStream(dos, toggleByteOrder, dos.swapBuffer());
+            skipBytes(0, valueLength, out);
+            out.finish();
+        }
+    }
+
     private void guessEncoding(DicomObject dcmObj) throws IOException {
         if (readFileMetaInformation() == null) {
             input = new DicomInput(cache, !probeExplicitVR(4)
@@ -310,6 +361,8 @@ public class DicomParser implements DicomInputHandler {
                 if (!parseCommonElement(input.dicomElement(dcmObj, tag, vr, pos, valueLength)))
                     return false;
             }
+            if (digest != null && !dcmObj.hasParent())
+                digest.classify(pos, false);
         }
         return true;
     }
@@ -319,7 +372,7 @@ public class DicomParser implements DicomInputHandler {
         valueLength = input.ushortAt(pos);
         pos += 2;
         cache.loadFromStream(pos + valueLength, in);
-        dcmObj.add(new BulkDataElement(
+        ((DicomObjectImpl) dcmObj).addParsed(new BulkDataElement(
                 dcmObj, tag, vr, input.stringAt(pos, valueLength, SpecificCharacterSet.UTF_8), null));
         pos += valueLength;
     }
@@ -343,12 +396,20 @@ public class DicomParser implements DicomInputHandler {
     }
 
     private boolean parseCommonElement(DicomElement dcmElm) throws IOException {
+        if (digest != null && DicomDigestImpl.isPixelData(dcmElm)) {
+            digest.classify(pos, false);
+            digest.classify(pos + valueLength, true);
+        }
         boolean bulkData = bulkDataPredicate.test(dcmElm);
+        if (bulkData)
+            openBulkDataStoreWriter();
         if (!handler.startElement(dis, dcmElm, bulkData))
             return false;
 
-        if (bulkData)
+        if (bulkData) {
             skipBulkData();
+            finishBulkDataStoreWriter();
+        }
 
         pos += valueLength;
         return handler.endElement(dis, dcmElm, bulkData);
@@ -414,20 +475,34 @@ public class DicomParser implements DicomInputHandler {
         }
     }
 
-    private boolean parseItem(DicomSequence dcmSeq, DicomObject dcmObj) throws IOException {
+    private boolean parseItem(DicomSequence dcmSeq, DicomObjectImpl dcmObj) throws IOException {
+        long startPos = pos;
         return handler.startItem(dis, dcmSeq, dcmObj)
                 && parse(dcmObj, valueLength)
+                && encodedLength(dcmObj, startPos)
                 && handler.endItem(dis, dcmSeq, dcmObj);
     }
 
-    private boolean skipItem(DicomSequence dcmSeq, DicomObject dcmObj) throws IOException {
+    private boolean skipItem(DicomSequence dcmSeq, DicomObjectImpl dcmObj) throws IOException {
+        long startPos = pos;
         return handler.startItem(dis, dcmSeq, dcmObj)
                 && skipItem(valueLength)
+                && encodedLength(dcmObj, startPos)
                 && handler.endItem(dis, dcmSeq, dcmObj);
     }
 
+    private boolean encodedLength(DicomObjectImpl dcmObj, long startPos) {
+        dcmObj.setEncodedLength(pos - startPos);
+        return true;
+    }
+
     private boolean parseDataFragments(DataFragments fragments) throws IOException {
+        boolean pixelData = digest != null && DicomDigestImpl.isPixelData(fragments);
+        if (pixelData)
+            digest.classify(pos, false);
         boolean bulkData = bulkDataPredicate.test(fragments);
+        if (bulkData)
+            openBulkDataStoreWriter();
         if (!handler.startElement(dis, fragments, bulkData))
             return false;
 
@@ -436,6 +511,9 @@ public class DicomParser implements DicomInputHandler {
             if (tag != Tag.Item)
                 throw new DicomParseException("Expected (FFFE,E000) but " + TagUtils.toString(tag));
 
+            if (pixelData)
+                digest.classify(pos + valueLength, true);
+
             if (bulkData) {
                 skipBytes(-headerLength, headerLength + valueLength, bulkDataSpoolStream);
                 bulkDataSpoolStreamPos += headerLength + valueLength;
@@ -446,9 +524,12 @@ public class DicomParser implements DicomInputHandler {
 
             pos += valueLength;
         }
+        if (pixelData)
+            digest.classify(pos, true);
         if (bulkData) {
             skipBytes(-headerLength, headerLength, bulkDataSpoolStream);
             bulkDataSpoolStreamPos += headerLength;
+            finishBulkDataStoreWriter();
         }
         return handler.endElement(dis, fragments, bulkData);
     }
@@ -479,6 +560,47 @@ public class DicomParser implements DicomInputHandler {
         return bulkDataURI(bulkDataSpoolPath.toUri().toString(), bulkDataSpoolStreamPos, valueLength);
     }
 
+    public String bulkDataSpoolURI() {
+        if (bulkDataSpool == null) {
+            bulkDataSpool = bulkDataSpooler.newSpool();
+            bulkDataSpoolStream = bulkDataSpool.outputStream();
+        }
+        return bulkDataURI(bulkDataSpool.uri(), bulkDataSpoolStreamPos, valueLength);
+    }
+
+    private void openBulkDataStoreWriter() {
+        if (bulkDataStore == null)
+            return;
+
+        bulkDataStoreWriter = bulkDataStore.newWriter();
+        bulkDataStoreValueLength = valueLength;
+        bulkDataSpoolStream = bulkDataStoreWriter;
+        bulkDataSpoolStreamPos = 0;
+        storedBulkDataURI = null;
+    }
+
+    private void finishBulkDataStoreWriter() throws IOException {
+        if (bulkDataStoreWriter == null)
+            return;
+
+        Path path = bulkDataStoreWriter.finish();
+        bulkDataStoreWriter = null;
+        bulkDataSpoolStream = null;
+        storedBulkDataURI = bulkDataURI(path.toUri().toString(), 0L, bulkDataStoreValueLength);
+        if (storedBulkData != null) {
+            storedBulkData.bindURI(storedBulkDataURI);
+            storedBulkData = null;
+        }
+    }
+
+    /**
+     * Returns the URI of the bulk data value stored in the {@link BulkDataStore}, which is only available after
+     * the value was read, or {@code null} if invoked before.
+     */
+    public String storedBulkDataURI() {
+        return storedBulkDataURI;
+    }
+
     public String bulkDataURI(Path sourcePath) {
         return bulkDataURI(sourcePath.toUri().toString(), pos, valueLength);
     }
@@ -507,9 +629,14 @@ public class DicomParser implements DicomInputHandler {
             if (bulkDataURIProducer == null)
                 return true;
 
-            dcmElm = new BulkDataElement(dcmElm.containedBy(), tag, vr, bulkDataURIProducer.apply(this.dis), null);
+            String uri = bulkDataURIProducer.apply(this.dis);
+            BulkDataElement bulkDataElement =
+                    new BulkDataElement(dcmElm.containedBy(), tag, vr, uri, null, bulkDataSpool);
+            if (bulkDataStoreWriter != null)
+                storedBulkData = bulkDataElement;
+            dcmElm = bulkDataElement;
         }
-        dcmElm.containedBy().add(dcmElm);
+        ((DicomObjectImpl) dcmElm.containedBy()).addParsed(dcmElm);
         return true;
     }
 
@@ -527,7 +654,7 @@ public class DicomParser implements DicomInputHandler {
 
     @Override
     public boolean startItem(DicomInputStream dis, DicomElement dcmSeq, DicomObject dcmObj) {
-        dcmSeq.addItem(dcmObj);
+        ((DicomSequence) dcmSeq).addParsedItem(dcmObj);
         return true;
     }
 
@@ -1,5 +1,6 @@
 package org.dcm4che6.internal;
 
+import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
 import org.dcm4che6.data.VR;
 import org.dcm4che6.io.DicomOutputStream;
@@ -36,6 +37,11 @@ class DicomSequence extends DicomElementImpl {
 
     @Override
     public DicomObject addItem(DicomObject item) {
+        ((DicomObjectImpl) dicomObject).modified();
+        return addParsedItem(item);
+    }
+
+    DicomObject addParsedItem(DicomObject item) {
         items.add(((DicomObjectImpl) item).containedBy(this));
         return item;
     }
@@ -60,6 +66,13 @@ class DicomSequence extends DicomElementImpl {
         return valueLength;
     }
 
+    @Override
+    DicomElement copyTo(DicomObject dcmObj) {
+        DicomSequence copy = new DicomSequence(dcmObj, tag);
+        itemStream().forEach(item -> copy.addParsedItem(DicomObjectImpl.copyOf((DicomObjectImpl) item)));
+        return copy;
+    }
+
     int elementLength(DicomOutputStream dos) {
         return dos.getSequenceLengthEncoding().totalLength.applyAsInt(
                 dos.getEncoding().headerLength(VR.SQ),
@@ -74,7 +87,7 @@ class DicomSequence extends DicomElementImpl {
         return dos.getSequenceLengthEncoding().undefined.test(size()) ? -1
                 : itemStream().mapToInt(item ->
                         dos.getItemLengthEncoding().totalLength.applyAsInt(
-                                8, ((DicomObjectImpl) item).calculatedItemLength()))
+                                8, ((DicomObjectImpl) item).calculatedItemLength(dos)))
                     .sum();
     }
 
@@ -83,6 +96,22 @@ class DicomSequence extends DicomElementImpl {
         return streamPosition;
     }
 
+    @Override
+    long estimatedShallowBytes() {
+        return RetainedSize.ofObject(RetainedSize.REFERENCE * 4 + 4 + 8 + 4)
+                + RetainedSize.ofArrayList(items.size())
+                + items.size() * DicomObjectImpl.SHELL_BYTES;
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        long size = estimatedShallowBytes();
+        for (DicomObject item : items) {
+            size += ((DicomObjectImpl) item).estimatedContentBytes();
+        }
+        return size;
+    }
+
     @Override
     public <E extends Throwable> void forEachItem(ItemConsumer<E> action) throws E {
         int i = 0;
@@ -6,8 +6,6 @@ import org.dcm4che6.io.ByteOrder;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -29,6 +27,14 @@ class MemoryCache {
         this.length = length;
     }
 
+    /**
+     * Returns number of bytes of the stream between {@code pos} and {@code pos + len} held by this cache,
+     * excluding skipped bytes.
+     */
+    long cachedBytes(long pos, long len) {
+        return Math.max(0L, len - (skippedBytes(pos + len) - skippedBytes(pos)));
+    }
+
     byte[] firstBlock() {
         return blocks.get(0);
     }
@@ -75,12 +81,16 @@ class MemoryCache {
             throw new EOFException();
 
         int size = (int) (length - pos);
-        PushbackInputStream pushbackInputStream = new PushbackInputStream(in, size);
-        byte[] b = blocks.get(blockIndex(pos));
+        int index = blockIndex(pos);
+        byte[] b = blocks.get(index);
         int offset = blockOffset(b, pos);
-        pushbackInputStream.unread(b, offset, size);
-        InflaterInputStream inflaterInputStream = new InflaterInputStream(pushbackInputStream,
-                new Inflater(b[offset] != 120 || b[offset+1] != -100));
+        byte[] readAhead = new byte[size];
+        copyBytesTo(pos, readAhead, 0, size);
+        while (blocks.size() - 1 > index) {
+            blocks.remove(blocks.size() - 1);
+        }
+        InputStream inflaterInputStream = new PooledInflaterInputStream(in,
+                readAhead[0] != 120 || readAhead[1] != -100, readAhead, size);
         int read = inflaterInputStream.readNBytes(b, offset, b.length - offset);
         eof = offset + read < b.length;
         length = pos + read;
@@ -206,16 +216,13 @@ class MemoryCache {
     }
 
     void skipBytes(long pos, int len, InputStream in, OutputStream out) throws IOException {
-        int skip = (int) (pos + len - length);
         long pos1 = pos - skippedBytes(pos);
-        int index = blockIndex(pos1);
-        byte[] b = blocks.get(index);
-        int off = blockOffset(b, pos1);
-        byte[] src = blocks.get(blocks.size() - 1);
-        int srcPos = blockOffset(src, pos1 + len);
-        if (out != null) {
-            out.write(b, off, skip <= 0 ? len : b.length - off);
+        long end1 = length - skippedBytes(length);
+        int cached = (int) Math.max(0L, Math.min(len, end1 - pos1));
+        if (out != null && cached > 0) {
+            writeBytesTo(pos1, cached, out);
         }
+        int skip = len - cached;
         if (skip > 0) {
             if (eof)
                 throw new EOFException();
@@ -226,19 +233,17 @@ class MemoryCache {
                 transferTo(in, out, skip);
 
             length += skip;
-        } else if (skip < 0) {
-            int len1;
-            while ((len1 = b.length - off) < -skip) {
-                System.arraycopy(src, srcPos, b, off, len1);
-                srcPos += len1;
-                skip += len1;
-                off = 0;
-                b = blocks.get(++index);
-            }
-            System.arraycopy(src, srcPos, b, off, -skip);
-            off -= skip;
+        } else {
+            moveBytes(pos1 + len, pos1, (int) (end1 - pos1 - len));
         }
-        if (!eof) {
+        end1 -= cached;
+        int last;
+        while ((last = blocks.size() - 1) >= 0 && blockStart(last) >= end1) {
+            blocks.remove(last);
+        }
+        if (!eof && last >= 0) {
+            byte[] b = blocks.get(last);
+            int off = (int) (end1 - blockStart(last));
             int read = in.readNBytes(b, off, b.length - off);
             eof = off + read < b.length;
             this.length += read;
@@ -246,6 +251,24 @@ class MemoryCache {
         bytesSkipped(pos, len);
     }
 
+    private static long blockStart(int index) {
+        return index == 0 ? 0L : 0x80L << index;
+    }
+
+    private void moveBytes(long srcPos, long destPos, int length) {
+        while (length > 0) {
+            byte[] src = blocks.get(blockIndex(srcPos));
+            byte[] dest = blocks.get(blockIndex(destPos));
+            int srcOff = blockOffset(src, srcPos);
+            int destOff = blockOffset(dest, destPos);
+            int copy = Math.min(length, Math.min(src.length - srcOff, dest.length - destOff));
+            System.arraycopy(src, srcOff, dest, destOff, copy);
+            srcPos += copy;
+            destPos += copy;
+            length -= copy;
+        }
+    }
+
     private void skipAll(InputStream in, long n) throws IOException {
         long nr;
         do {
@@ -0,0 +1,186 @@
+package org.dcm4che6.internal;
+
+import org.dcm4che6.data.DicomElement;
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.MemoryGovernor;
+
+import java.util.ArrayList;
+
+/**
+ * Approximates LRU order of governed items by a clock (second chance) queue: access of an item only sets its
+ * {@code referenced} flag, which spares the item from the next purge round. The clock is linked through the items,
+ * so released and purged items are removed from it in constant time.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class MemoryGovernorImpl implements MemoryGovernor {
+    private DicomObjectImpl clockHead;
+    private DicomObjectImpl clockTail;
+    private int clockSize;
+    private volatile long budget;
+    private long retainedBytes;
+    private long purgedItems;
+
+    public MemoryGovernorImpl(long budget) {
+        this.budget = requirePositive(budget);
+    }
+
+    private static long requirePositive(long budget) {
+        if (budget <= 0)
+            throw new IllegalArgumentException("budget: " + budget);
+        return budget;
+    }
+
+    @Override
+    public long getBudget() {
+        return budget;
+    }
+
+    @Override
+    public synchronized void setBudget(long budget) {
+        this.budget = requirePositive(budget);
+        purge();
+    }
+
+    @Override
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    @Override
+    public synchronized long getPurgedItems() {
+        return purgedItems;
+    }
+
+    synchronized int clockSize() {
+        return clockSize;
+    }
+
+    @Override
+    public synchronized void govern(DicomObject dcmObj) {
+        DicomObjectImpl impl = (DicomObjectImpl) dcmObj;
+        if (impl.governor == this)
+            return;
+        if (impl.governor != null)
+            throw new IllegalStateException("Data Set already governed by another MemoryGovernor");
+
+        impl.governor = this;
+        account(impl);
+        purge();
+    }
+
+    @Override
+    public synchronized void release(DicomObject dcmObj) {
+        DicomObjectImpl impl = (DicomObjectImpl) dcmObj;
+        if (impl.governor == this)
+            unaccount(impl, true);
+    }
+
+    synchronized void loaded(DicomObjectImpl dcmObj) {
+        if (dcmObj.governor == this && dcmObj.governedBytes < 0) {
+            account(dcmObj);
+            purge();
+        }
+    }
+
+    synchronized void purged(DicomObjectImpl dcmObj) {
+        if (dcmObj.governor == this)
+            unaccount(dcmObj, false);
+    }
+
+    private void account(DicomObjectImpl dcmObj) {
+        ArrayList<DicomElement> elements = dcmObj.parsedElements();
+        if (elements == null)
+            return;
+
+        dcmObj.governedBytes = dcmObj.estimatedElementsBytes();
+        retainedBytes += dcmObj.governedBytes;
+        if (dcmObj.isPurgeable()) {
+            dcmObj.referenced = true;
+            enqueue(dcmObj);
+        }
+        for (DicomElement el : elements) {
+            if (el instanceof DicomSequence) {
+                el.itemStream().map(DicomObjectImpl.class::cast).forEach(item -> {
+                    if (item.governor == null)
+                        item.governor = this;
+                    if (item.governor == this && item.governedBytes < 0)
+                        account(item);
+                });
+            }
+        }
+    }
+
+    private void unaccount(DicomObjectImpl dcmObj, boolean release) {
+        dequeue(dcmObj);
+        if (release)
+            dcmObj.governor = null;
+        if (dcmObj.governedBytes >= 0) {
+            retainedBytes -= dcmObj.governedBytes;
+            dcmObj.governedBytes = -1L;
+        } else if (!release) {
+            return;
+        }
+        ArrayList<DicomElement> elements = dcmObj.parsedElements();
+        if (elements != null) {
+            for (DicomElement el : elements) {
+                if (el instanceof DicomSequence) {
+                    el.itemStream().map(DicomObjectImpl.class::cast).forEach(item -> {
+                        if (item.governor == this)
+                            unaccount(item, release);
+                    });
+                }
+            }
+        }
+    }
+
+    private void enqueue(DicomObjectImpl dcmObj) {
+        if (!dcmObj.queued) {
+            dcmObj.queued = true;
+            dcmObj.clockPrev = clockTail;
+            if (clockTail != null)
+                clockTail.clockNext = dcmObj;
+            else
+                clockHead = dcmObj;
+            clockTail = dcmObj;
+            clockSize++;
+        }
+    }
+
+    private void dequeue(DicomObjectImpl dcmObj) {
+        if (dcmObj.queued) {
+            dcmObj.queued = false;
+            if (dcmObj.clockPrev != null)
+                dcmObj.clockPrev.clockNext = dcmObj.clockNext;
+            else
+                clockHead = dcmObj.clockNext;
+            if (dcmObj.clockNext != null)
+                dcmObj.clockNext.clockPrev = dcmObj.clockPrev;
+            else
+                clockTail = dcmObj.clockPrev;
+            dcmObj.clockPrev = null;
+            dcmObj.clockNext = null;
+            clockSize--;
+        }
+    }
+
+    private void purge() {
+        DicomObjectImpl dcmObj;
+        int remaining = clockSize * 2;
+        while (retainedBytes > budget && remaining-- > 0 && (dcmObj = clockHead) != null) {
+            dequeue(dcmObj);
+            if (dcmObj.governor != this || dcmObj.governedBytes < 0 || !dcmObj.isPurgeable())
+                continue;
+
+            if (dcmObj.referenced) {
+                dcmObj.referenced = false;
+                enqueue(dcmObj);
+            } else {
+                unaccount(dcmObj, false);
+                dcmObj.dropElements();
+                purgedItems++;
+            }
+        }
+    }
+}
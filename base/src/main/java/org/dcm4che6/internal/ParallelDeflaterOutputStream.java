@@ -0,0 +1,172 @@
+package org.dcm4che6.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses independent blocks of the written data concurrently and concatenates the compressed blocks to one
+ * raw deflate stream, equivalent to the stream written by a {@code DeflaterOutputStream} with a {@code nowrap}
+ * {@code Deflater}. All blocks except the last are terminated by a sync flush to end on a byte boundary. If
+ * dictionary priming is enabled, the compressor of each block is primed with the last 32 KB of the previous block,
+ * so back-references may cross block boundaries, as by <a href="https://zlib.net/pigz/">pigz</a>.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class ParallelDeflaterOutputStream extends OutputStream {
+    private static final int MAX_DICTIONARY_LENGTH = 0x8000;
+    private final OutputStream out;
+    private final Executor executor;
+    private final int level;
+    private final int blockSize;
+    private final boolean primeDictionary;
+    private final int maxPendingBlocks;
+    private final ArrayDeque<CompletableFuture<CompressedBlock>> pending = new ArrayDeque<>();
+    private byte[] buf;
+    private int count;
+    private byte[] prevBlock;
+    private int prevBlockLength;
+    private boolean finished;
+
+    public ParallelDeflaterOutputStream(OutputStream out, Executor executor, int level, int blockSize,
+            boolean primeDictionary) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("level: " + level);
+        if (blockSize < MAX_DICTIONARY_LENGTH)
+            throw new IllegalArgumentException("blockSize: " + blockSize);
+
+        this.out = Objects.requireNonNull(out);
+        this.executor = Objects.requireNonNull(executor);
+        this.level = level;
+        this.blockSize = blockSize;
+        this.primeDictionary = primeDictionary;
+        this.maxPendingBlocks = Runtime.getRuntime().availableProcessors() * 2;
+        this.buf = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        buf[count++] = (byte) b;
+        if (count == blockSize)
+            submit(false);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize)
+                submit(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0)
+            submit(false);
+        writeCompressed(0);
+        out.flush();
+    }
+
+    public void finish() throws IOException {
+        if (finished)
+            return;
+
+        submit(true);
+        finished = true;
+        writeCompressed(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished)
+            throw new IOException("write beyond end of stream");
+    }
+
+    private void submit(boolean last) throws IOException {
+        byte[] block = buf;
+        int blockLength = count;
+        byte[] dict = primeDictionary ? prevBlock : null;
+        int dictLength = dict != null ? Math.min(prevBlockLength, MAX_DICTIONARY_LENGTH) : 0;
+        int dictOffset = prevBlockLength - dictLength;
+        pending.add(CompletableFuture.supplyAsync(
+                () -> deflate(block, blockLength, dict, dictOffset, dictLength, last), executor));
+        prevBlock = block;
+        prevBlockLength = blockLength;
+        if (!last) {
+            buf = new byte[blockSize];
+            count = 0;
+        }
+        writeCompressed(maxPendingBlocks);
+    }
+
+    private void writeCompressed(int maxPending) throws IOException {
+        CompletableFuture<CompressedBlock> head;
+        while ((head = pending.peek()) != null && (pending.size() > maxPending || head.isDone())) {
+            CompressedBlock compressed;
+            try {
+                compressed = head.join();
+            } catch (CompletionException e) {
+                throw new IOException(e.getCause());
+            }
+            pending.remove();
+            out.write(compressed.b, 0, compressed.length);
+        }
+    }
+
+    private CompressedBlock deflate(byte[] b, int len, byte[] dict, int dictOffset, int dictLength, boolean last) {
+        Deflater deflater = ZlibPool.deflater(level, true);
+        try {
+            if (dictLength > 0)
+                deflater.setDictionary(dict, dictOffset, dictLength);
+            deflater.setInput(b, 0, len);
+            if (last)
+                deflater.finish();
+            byte[] out = new byte[len + (len >>> 8) + 64];
+            int length = 0;
+            for (;;) {
+                length += deflater.deflate(out, length, out.length - length,
+                        last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                if (last ? deflater.finished() : length < out.length)
+                    return new CompressedBlock(out, length);
+                if (length == out.length)
+                    out = Arrays.copyOf(out, out.length << 1);
+            }
+        } finally {
+            ZlibPool.release(deflater, level, true);
+        }
+    }
+
+    private static class CompressedBlock {
+        final byte[] b;
+        final int length;
+
+        CompressedBlock(byte[] b, int length) {
+            this.b = b;
+            this.length = length;
+        }
+    }
+}
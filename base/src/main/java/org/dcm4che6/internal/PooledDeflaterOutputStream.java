@@ -0,0 +1,52 @@
+package org.dcm4che6.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * {@code DeflaterOutputStream} using a raw ({@code nowrap}) {@code Deflater} of {@link ZlibPool}, which is
+ * returned to the pool on {@link #finish()} or {@link #close()}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class PooledDeflaterOutputStream extends DeflaterOutputStream {
+    private final int level;
+    private boolean released;
+
+    public PooledDeflaterOutputStream(OutputStream out, int level) {
+        super(out, ZlibPool.deflater(level, true));
+        this.level = level;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (released)
+            throw new IOException("write beyond end of stream");
+
+        super.write(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (released)
+            return;
+
+        super.finish();
+        released = true;
+        ZlibPool.release(def, level, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!released) {
+                released = true;
+                ZlibPool.release(def, level, true);
+            }
+        }
+    }
+}
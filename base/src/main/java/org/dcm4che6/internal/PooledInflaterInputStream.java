@@ -0,0 +1,89 @@
+package org.dcm4che6.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates the data read from the underlying stream by an {@code Inflater} of {@link ZlibPool}, which is
+ * returned to the pool on reaching the end of the compressed data or on {@link #close()}. Compressed bytes
+ * already read ahead from the underlying stream are passed to the constructor instead of pushing them back.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class PooledInflaterInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 0x2000;
+    private final InputStream in;
+    private final boolean nowrap;
+    private final byte[] buf;
+    private Inflater inflater;
+    private boolean eof;
+
+    PooledInflaterInputStream(InputStream in, boolean nowrap, byte[] readAhead, int len) {
+        this.in = in;
+        this.nowrap = nowrap;
+        this.buf = new byte[Math.max(BUFFER_SIZE, len)];
+        this.inflater = ZlibPool.inflater(nowrap);
+        System.arraycopy(readAhead, 0, buf, 0, len);
+        inflater.setInput(buf, 0, len);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (eof)
+            return -1;
+        if (inflater == null)
+            throw new IOException("Stream closed");
+        if (len == 0)
+            return 0;
+
+        try {
+            int n;
+            while ((n = inflater.inflate(b, off, len)) == 0) {
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    eof = true;
+                    release();
+                    return -1;
+                }
+                if (inflater.needsInput())
+                    fill();
+            }
+            return n;
+        } catch (DataFormatException e) {
+            String msg = e.getMessage();
+            throw new ZipException(msg != null ? msg : "Invalid ZLIB data format");
+        }
+    }
+
+    private void fill() throws IOException {
+        int n = in.read(buf, 0, buf.length);
+        if (n < 0)
+            throw new EOFException("Unexpected end of ZLIB input stream");
+
+        inflater.setInput(buf, 0, n);
+    }
+
+    @Override
+    public void close() throws IOException {
+        eof = true;
+        release();
+        in.close();
+    }
+
+    private void release() {
+        if (inflater != null) {
+            ZlibPool.release(inflater, nowrap);
+            inflater = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.dcm4che6.internal;
+
+/**
+ * Estimates of the heap occupied by objects, assuming a 64-bit JVM with compressed ordinary object pointers.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class RetainedSize {
+    static final int OBJECT_HEADER = 12;
+    static final int REFERENCE = 4;
+    static final int ARRAY_HEADER = 16;
+
+    static long ofObject(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    static long ofArray(int length, int elementSize) {
+        return align(ARRAY_HEADER + (long) length * elementSize);
+    }
+
+    static long ofString(String s) {
+        return s != null ? ofObject(REFERENCE + 4 + 1 + 1) + ofArray(s.length(), 1) : 0L;
+    }
+
+    static long ofArrayList(int size) {
+        return ofObject(REFERENCE + 4 + 4) + ofArray(size, REFERENCE);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -1,6 +1,8 @@
 package org.dcm4che6.internal;
 
+import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.SpecificCharacterSet;
 import org.dcm4che6.data.VR;
 import org.dcm4che6.io.DicomOutputStream;
 import org.dcm4che6.util.OptionalFloat;
@@ -24,6 +26,24 @@ class StringElement extends DicomElementImpl {
         this.value = value;
     }
 
+    @Override
+    DicomElement copyTo(DicomObject dcmObj) {
+        return new StringElement(dcmObj, tag, vr, value);
+    }
+
+    @Override
+    String joinedStringValue(SpecificCharacterSet cs) {
+        return value;
+    }
+
+    @Override
+    long estimatedShallowBytes() {
+        byte[] encodedValue = this.encodedValue;
+        return RetainedSize.ofObject(RetainedSize.REFERENCE * 4 + 4)
+                + RetainedSize.ofString(value)
+                + (encodedValue != null ? RetainedSize.ofArray(encodedValue.length, 1) : 0L);
+    }
+
     @Override
     public Optional<String> stringValue(int index) {
         return vr.type.stringValue(value, index);
@@ -25,9 +25,9 @@ public enum StringVR implements VRType {
     TEXT("\r\n\t\f", VM.SINGLE, StringUtils.Trim.TRAILING, DicomObject::specificCharacterSet,
             null, null, null, null),
     DS("\\", VM.MULTI, StringUtils.Trim.LEADING_AND_TRAILING, StringVR::ascii,
-            StringVR::parseDoubleAsInt, Double::parseDouble, Integer::toString, StringVR::doubleToString),
+            StringVR::parseDoubleAsInt, StringVR::parseDouble, Integer::toString, StringVR::doubleToString),
     IS("\\", VM.MULTI, StringUtils.Trim.LEADING_AND_TRAILING, StringVR::ascii,
-            Integer::parseInt, StringVR::parseIntAsDouble, Integer::toString, null),
+            StringVR::parseInt, StringVR::parseIntAsDouble, Integer::toString, null),
     PN("\\^=", VM.MULTI, StringUtils.Trim.LEADING_AND_TRAILING, DicomObject::specificCharacterSet,
             null, null, null, null),
     UC("\\", VM.MULTI, StringUtils.Trim.TRAILING, StringVR::ascii,
@@ -35,18 +35,22 @@ public enum StringVR implements VRType {
     UR("", VM.SINGLE, StringUtils.Trim.LEADING_AND_TRAILING, StringVR::ascii,
             null, null, null, null);
 
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
     private final String delimiters;
     private final VM vm;
     private final StringUtils.Trim trim;
     private final Function<DicomObject, SpecificCharacterSet> asciiOrCS;
-    private final ToIntFunction<String> stringToInt;
-    private final ToDoubleFunction<String> stringToDouble;
+    private final ToIntFunction<CharSequence> stringToInt;
+    private final ToDoubleFunction<CharSequence> stringToDouble;
     private final IntFunction<String> intToString;
     private final DoubleFunction<String> doubleToString;
 
     StringVR(String delimiters, VM vm, StringUtils.Trim trim,
             Function<DicomObject, SpecificCharacterSet> asciiOrCS,
-            ToIntFunction<String> stringToInt, ToDoubleFunction<String> stringToDouble,
+            ToIntFunction<CharSequence> stringToInt, ToDoubleFunction<CharSequence> stringToDouble,
             IntFunction<String> intToString, DoubleFunction<String> doubleToString) {
         this.delimiters = delimiters;
         this.vm = vm;
@@ -103,31 +107,47 @@ public enum StringVR implements VRType {
         return vm.split(value, trim);
     }
 
+    private StringValueCursor cursor(String value) {
+        return new StringValueCursor(value, vm.delimiter, trim);
+    }
+
+    private StringValueCursor cursor(DicomElement dcmElm) {
+        String value = dcmElm instanceof DicomElementImpl
+                ? ((DicomElementImpl) dcmElm).joinedStringValue(asciiOrCS.apply(dcmElm.containedBy()))
+                : vm.join(dcmElm.vr(), dcmElm.stringValues());
+        return value != null ? cursor(value) : null;
+    }
+
     @Override
     public <E extends Throwable> void forEachStringValue(DicomElement dcmElm, StringValueConsumer<E> action) throws E {
-        String[] values = dcmElm.stringValues();
-        for (int i = 0; i < values.length;) {
-            action.accept(values[i], ++i);
+        StringValueCursor cursor = cursor(dcmElm);
+        if (cursor == null)
+            return;
+
+        while (cursor.next()) {
+            action.accept(cursor.toString(), cursor.number());
         }
     }
 
     @Override
     public void forEachIntValue(DicomElement dcmElm, IntConsumer action) {
-        if (stringToInt == null)
+        StringValueCursor cursor;
+        if (stringToInt == null || (cursor = cursor(dcmElm)) == null)
             return;
 
-        for (String s : dcmElm.stringValues()) {
-            action.accept(stringToInt.applyAsInt(s));
+        while (cursor.next()) {
+            action.accept(stringToInt.applyAsInt(cursor));
         }
     }
 
     @Override
     public void forEachDoubleValue(DicomElement dcmElm, DoubleConsumer action) {
-        if (stringToDouble == null)
+        StringValueCursor cursor;
+        if (stringToDouble == null || (cursor = cursor(dcmElm)) == null)
             return;
 
-        for (String s : dcmElm.stringValues()) {
-            action.accept(stringToDouble.applyAsDouble(s));
+        while (cursor.next()) {
+            action.accept(stringToDouble.applyAsDouble(cursor));
         }
     }
     
@@ -156,10 +176,10 @@ public enum StringVR implements VRType {
         if (stringToInt == null)
             return DicomElement.EMPTY_INTS;
 
-        String[] ss = stringValues(value);
-        int[] ints = new int[ss.length];
-        for (int i = 0; i < ss.length; i++) {
-            ints[i] = stringToInt.applyAsInt(ss[i]);
+        int[] ints = new int[StringValueCursor.count(value, vm.delimiter)];
+        StringValueCursor cursor = cursor(value);
+        for (int i = 0; cursor.next(); i++) {
+            ints[i] = stringToInt.applyAsInt(cursor);
         }
         return ints;
     }
@@ -178,10 +198,10 @@ public enum StringVR implements VRType {
         if (stringToDouble == null)
             return DicomElement.EMPTY_FLOATS;
 
-        String[] ss = stringValues(value);
-        float[] floats = new float[ss.length];
-        for (int i = 0; i < ss.length; i++) {
-            floats[i] = (float) stringToDouble.applyAsDouble(ss[i]);
+        float[] floats = new float[StringValueCursor.count(value, vm.delimiter)];
+        StringValueCursor cursor = cursor(value);
+        for (int i = 0; cursor.next(); i++) {
+            floats[i] = (float) stringToDouble.applyAsDouble(cursor);
         }
         return floats;
     }
@@ -214,10 +234,10 @@ public enum StringVR implements VRType {
         if (stringToDouble == null)
             return DicomElement.EMPTY_DOUBLES;
 
-        String[] ss = stringValues(value);
-        double[] doubles = new double[ss.length];
-        for (int i = 0; i < ss.length; i++) {
-            doubles[i] = stringToDouble.applyAsDouble(ss[i]);
+        double[] doubles = new double[StringValueCursor.count(value, vm.delimiter)];
+        StringValueCursor cursor = cursor(value);
+        for (int i = 0; cursor.next(); i++) {
+            doubles[i] = stringToDouble.applyAsDouble(cursor);
         }
         return doubles;
     }
@@ -274,12 +294,64 @@ public enum StringVR implements VRType {
         return elementOf(dcmObj, tag, vr, vm.join(vr, vals));
     }
 
-    private static double parseIntAsDouble(String s) {
-        return Integer.parseInt(s);
+    private static int parseInt(CharSequence s) {
+        return Integer.parseInt(s, 0, s.length(), 10);
     }
 
-    private static int parseDoubleAsInt(String s) {
-        return (int) Double.parseDouble(s);
+    /**
+     * Parses a decimal string from its characters without creating a {@code String}, if its significand has not more
+     * than 15 digits and its decimal exponent is within [-22, 22]: then one multiplication or division by an exactly
+     * represented power of ten yields the correctly rounded value. Other values are parsed by
+     * {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            i++;
+        }
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        int begin = i;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9')
+                break;
+            if ((significand != 0 || c != '0') && ++digits > 15)
+                return Double.parseDouble(s.toString());
+            significand = significand * 10 + (c - '0');
+            if (fraction)
+                exponent--;
+        }
+        if (i - begin == (fraction ? 1 : 0))
+            return Double.parseDouble(s.toString());
+        if (i < length && (s.charAt(i) == 'E' || s.charAt(i) == 'e')) {
+            int end = ++i < length && (s.charAt(i) == '-' || s.charAt(i) == '+') ? i + 1 : i;
+            if (end == length || length - end > 2)
+                return Double.parseDouble(s.toString());
+            exponent += Integer.parseInt(s, i, length, 10);
+            i = length;
+        }
+        if (i < length || exponent < -22 || exponent > 22)
+            return Double.parseDouble(s.toString());
+        double value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private static double parseIntAsDouble(CharSequence s) {
+        return parseInt(s);
+    }
+
+    private static int parseDoubleAsInt(CharSequence s) {
+        return (int) parseDouble(s);
     }
 
     private static String doubleToString(double value) {
@@ -291,7 +363,7 @@ public enum StringVR implements VRType {
     }
 
     enum VM {
-        SINGLE {
+        SINGLE(-1) {
             @Override
             Optional<String> cut(String s, int index, StringUtils.Trim trim) {
                 return index == 0
@@ -314,7 +386,7 @@ public enum StringVR implements VRType {
                 throw new IllegalArgumentException(String.format("VR: %s does not allow multiple values", vr));
             }
         },
-        MULTI {
+        MULTI('\\') {
             @Override
             Optional<String> cut(String s, int index, StringUtils.Trim trim) {
                 return StringUtils.optionalOf(StringUtils.cut(s, s.length(), '\\', index, trim));
@@ -331,6 +403,12 @@ public enum StringVR implements VRType {
             }
         };
 
+        final int delimiter;
+
+        VM(int delimiter) {
+            this.delimiter = delimiter;
+        }
+
         abstract Optional<String> cut(String s, int index, StringUtils.Trim trim);
 
         abstract String[] split(String s, StringUtils.Trim trim);
@@ -0,0 +1,90 @@
+package org.dcm4che6.internal;
+
+import org.dcm4che6.util.StringUtils;
+
+/**
+ * Iterates over the values of a multi-valued string without splitting it into a {@code String[]}.
+ * The cursor itself represents the current (trimmed) value as {@code CharSequence}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class StringValueCursor implements CharSequence {
+    private final String s;
+    private final int length;
+    private final int delim;
+    private final boolean trimLeading;
+    private final boolean trimTrailing;
+    private int next;
+    private int begin;
+    private int end;
+    private int number;
+
+    StringValueCursor(String s, int delim, StringUtils.Trim trim) {
+        this.s = s;
+        this.length = s.length();
+        this.delim = delim;
+        this.trimLeading = trim == StringUtils.Trim.LEADING || trim == StringUtils.Trim.LEADING_AND_TRAILING;
+        this.trimTrailing = trim == StringUtils.Trim.TRAILING || trim == StringUtils.Trim.LEADING_AND_TRAILING;
+        this.next = length == 0 ? 1 : 0;
+    }
+
+    static int count(String s, int delim) {
+        int length = s.length();
+        if (length == 0)
+            return 0;
+
+        int count = 1;
+        if (delim >= 0) {
+            int index = -1;
+            while ((index = s.indexOf(delim, index + 1)) >= 0)
+                count++;
+        }
+        return count;
+    }
+
+    boolean next() {
+        if (next > length)
+            return false;
+
+        int index = delim >= 0 ? s.indexOf(delim, next) : -1;
+        int endIndex = index < 0 ? length : index;
+        begin = next;
+        end = endIndex;
+        if (trimLeading) {
+            while (begin < end && s.charAt(begin) <= ' ')
+                begin++;
+        }
+        if (trimTrailing) {
+            while (begin < end && s.charAt(end - 1) <= ' ')
+                end--;
+        }
+        next = endIndex + 1;
+        number++;
+        return true;
+    }
+
+    int number() {
+        return number;
+    }
+
+    @Override
+    public int length() {
+        return end - begin;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return s.charAt(begin + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return s.subSequence(begin + start, begin + end);
+    }
+
+    @Override
+    public String toString() {
+        return s.substring(begin, end);
+    }
+}
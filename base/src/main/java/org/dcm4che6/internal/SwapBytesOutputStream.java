@@ -0,0 +1,59 @@
+package org.dcm4che6.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Toggles the byte order of binary values written in arbitrary chunks, retaining incomplete values until the
+ * remaining bytes are written.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class SwapBytesOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final ToggleByteOrder toggleByteOrder;
+    private final byte[] buf;
+    private int count;
+
+    SwapBytesOutputStream(OutputStream out, ToggleByteOrder toggleByteOrder, byte[] buf) {
+        this.out = out;
+        this.toggleByteOrder = toggleByteOrder;
+        this.buf = buf;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buf[count++] = (byte) b;
+        if (count == buf.length)
+            flushBuffer();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = Math.min(len, buf.length - count);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == buf.length)
+                flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        int swapped = toggleByteOrder.swapBytes(buf, count);
+        out.write(buf, 0, swapped);
+        count -= swapped;
+        System.arraycopy(buf, swapped, buf, 0, count);
+    }
+
+    void finish() throws IOException {
+        flushBuffer();
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.dcm4che6.internal;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Pools of {@code Inflater}s and {@code Deflater}s for reuse, releasing the native zlib memory of surplus
+ * instances by {@code end()} instead of leaving that to their cleaner.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public final class ZlibPool {
+    private static final int MAX_POOLED = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final Pool<Deflater>[] deflaters = newPools(Deflater.BEST_COMPRESSION + 2);
+    private static final Pool<Deflater>[] nowrapDeflaters = newPools(Deflater.BEST_COMPRESSION + 2);
+    private static final Pool<Inflater> inflaters = new Pool<>();
+    private static final Pool<Inflater> nowrapInflaters = new Pool<>();
+
+    private ZlibPool() {}
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Pool<T>[] newPools(int n) {
+        Pool<T>[] pools = new Pool[n];
+        for (int i = 0; i < n; i++) {
+            pools[i] = new Pool<>();
+        }
+        return pools;
+    }
+
+    /**
+     * Returns a pooled or new {@code Deflater} with the specified compression level. Deflaters are pooled per
+     * level, because changing the level of a reused {@code Deflater} would interfere with a subsequently set
+     * dictionary.
+     */
+    public static Deflater deflater(int level, boolean nowrap) {
+        Deflater deflater = deflaterPool(level, nowrap).poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    public static void release(Deflater deflater, int level, boolean nowrap) {
+        deflater.reset();
+        if (!deflaterPool(level, nowrap).offer(deflater))
+            deflater.end();
+    }
+
+    private static Pool<Deflater> deflaterPool(int level, boolean nowrap) {
+        return (nowrap ? nowrapDeflaters : deflaters)[level + 1];
+    }
+
+    public static Inflater inflater(boolean nowrap) {
+        Inflater inflater = (nowrap ? nowrapInflaters : inflaters).poll();
+        return inflater != null ? inflater : new Inflater(nowrap);
+    }
+
+    public static void release(Inflater inflater, boolean nowrap) {
+        inflater.reset();
+        if (!(nowrap ? nowrapInflaters : inflaters).offer(inflater))
+            inflater.end();
+    }
+
+    private static class Pool<T> {
+        final Deque<T> deque = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T t = deque.pollFirst();
+            if (t != null)
+                size.decrementAndGet();
+            return t;
+        }
+
+        boolean offer(T t) {
+            if (size.incrementAndGet() > MAX_POOLED) {
+                size.decrementAndGet();
+                return false;
+            }
+            deque.offerFirst(t);
+            return true;
+        }
+    }
+}
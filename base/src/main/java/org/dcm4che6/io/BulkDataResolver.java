@@ -0,0 +1,64 @@
+package org.dcm4che6.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides access to bulk data referenced by {@link BulkDataURI}s on writing bulk data elements by
+ * {@link DicomOutputStream}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public interface BulkDataResolver extends Closeable {
+
+    /**
+     * Opens a stream reading the resource containing the bulk data, positioned at {@link BulkDataURI#offset()}.
+     *
+     * @param uri bulk data URI
+     * @return input stream positioned at the begin of the bulk data
+     * @throws IOException if an I/O error occurs
+     */
+    InputStream openStream(BulkDataURI uri) throws IOException;
+
+    /**
+     * Writes {@code uri.length()} bytes of bulk data as they are stored to {@code dos}.
+     *
+     * @param uri bulk data URI with defined length
+     * @param dos output stream
+     * @throws IOException if an I/O error occurs
+     */
+    default void transferTo(BulkDataURI uri, DicomOutputStream dos) throws IOException {
+        try (InputStream in = openStream(uri)) {
+            dos.transferFrom(in, uri.length());
+        }
+    }
+
+    /**
+     * Releases resources hold by this resolver. The default implementation does nothing.
+     */
+    @Override
+    default void close() throws IOException {}
+
+    /**
+     * Returns resolver opening referenced files on each access, using {@code FileChannel.transferTo} to write
+     * bulk data which does not need byte swapping.
+     *
+     * @return default bulk data resolver
+     */
+    static BulkDataResolver getDefault() {
+        return FileBulkDataResolver.DEFAULT;
+    }
+
+    /**
+     * Returns resolver keeping up to {@code maxOpenFiles} referenced files open for reuse, closing the least
+     * recently used file if the limit is reached. Files remain open until {@link #close()} is invoked.
+     *
+     * @param maxOpenFiles maximal number of open files
+     * @return caching bulk data resolver
+     */
+    static BulkDataResolver newCachingResolver(int maxOpenFiles) {
+        return new CachingBulkDataResolver(maxOpenFiles);
+    }
+}
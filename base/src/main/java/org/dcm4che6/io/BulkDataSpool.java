@@ -0,0 +1,224 @@
+package org.dcm4che6.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * Spooled bulk data of one DICOM object, kept in memory chunks up to the thresholds of its
+ * {@link BulkDataSpooler}; further bulk data is spilled to file segments. Bulk data elements referring this spool
+ * by bulk data URIs {@code spool:<id>#offset=<offset>&length=<length>} use the spool as their
+ * {@link BulkDataResolver}. The spool must be closed, if the bulk data is no longer needed, to return its memory
+ * chunks and file segments to the spooler.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataSpool implements BulkDataResolver {
+    private final BulkDataSpooler spooler;
+    private final String uri;
+    private final long segmentSize;
+    private final ArrayList<byte[]> chunks = new ArrayList<>();
+    private final ArrayList<BulkDataSpooler.Segment> segments = new ArrayList<>();
+    private long memoryLength;
+    private long length;
+    private boolean spilled;
+    private boolean closed;
+
+    BulkDataSpool(BulkDataSpooler spooler, String uri) {
+        this.spooler = spooler;
+        this.uri = uri;
+        this.segmentSize = spooler.getSegmentSize();
+    }
+
+    /**
+     * Returns the location of the bulk data URIs referring this spool.
+     */
+    public String uri() {
+        return uri;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long memoryLength() {
+        return memoryLength;
+    }
+
+    public boolean isSpilled() {
+        return spilled;
+    }
+
+    /**
+     * Returns an output stream appending bulk data to this spool. Closing the returned stream has no effect.
+     */
+    public OutputStream outputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                BulkDataSpool.this.write(b, off, len);
+            }
+        };
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n;
+            if (!spilled) {
+                int chunkOff = (int) (memoryLength % BulkDataSpooler.CHUNK_SIZE);
+                if (chunkOff == 0) {
+                    byte[] chunk;
+                    if (memoryLength + BulkDataSpooler.CHUNK_SIZE > spooler.getMaxMemoryPerObject()
+                            || (chunk = spooler.allocateChunk()) == null) {
+                        spilled = true;
+                        continue;
+                    }
+                    chunks.add(chunk);
+                }
+                n = Math.min(len, BulkDataSpooler.CHUNK_SIZE - chunkOff);
+                System.arraycopy(b, off, chunks.get(chunks.size() - 1), chunkOff, n);
+                memoryLength += n;
+            } else {
+                long fileOff = length - memoryLength;
+                int index = (int) (fileOff / segmentSize);
+                long segmentOff = fileOff % segmentSize;
+                if (index == segments.size())
+                    segments.add(spooler.acquireSegment());
+                n = (int) Math.min(len, segmentSize - segmentOff);
+                ByteBuffer src = ByteBuffer.wrap(b, off, n);
+                while (src.hasRemaining()) {
+                    segmentOff += segments.get(index).channel.write(src, segmentOff);
+                }
+            }
+            length += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public InputStream openStream(BulkDataURI uri) throws IOException {
+        if (!this.uri.equals(uri.location()))
+            return BulkDataResolver.getDefault().openStream(uri);
+
+        ensureOpen();
+        return new SpoolInputStream(uri.offset());
+    }
+
+    @Override
+    public void transferTo(BulkDataURI uri, DicomOutputStream dos) throws IOException {
+        if (!this.uri.equals(uri.location())) {
+            BulkDataResolver.getDefault().transferTo(uri, dos);
+            return;
+        }
+        ensureOpen();
+        long pos = uri.offset();
+        long remaining = uri.length();
+        if (pos + remaining > length)
+            throw new IOException("Bulk data exceeds spool length " + length + ": " + uri);
+
+        while (remaining > 0) {
+            long n;
+            if (pos < memoryLength) {
+                int chunkOff = (int) (pos % BulkDataSpooler.CHUNK_SIZE);
+                n = Math.min(remaining, Math.min(BulkDataSpooler.CHUNK_SIZE - chunkOff, memoryLength - pos));
+                dos.write(chunks.get((int) (pos / BulkDataSpooler.CHUNK_SIZE)), chunkOff, (int) n);
+            } else {
+                long fileOff = pos - memoryLength;
+                long segmentOff = fileOff % segmentSize;
+                n = Math.min(remaining, segmentSize - segmentOff);
+                dos.transferFrom(segments.get((int) (fileOff / segmentSize)).channel, segmentOff, n);
+            }
+            pos += n;
+            remaining -= n;
+        }
+    }
+
+    private int read(long pos, byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (pos >= length)
+            return -1;
+
+        if (pos < memoryLength) {
+            int chunkOff = (int) (pos % BulkDataSpooler.CHUNK_SIZE);
+            int n = (int) Math.min(len, Math.min(BulkDataSpooler.CHUNK_SIZE - chunkOff, memoryLength - pos));
+            System.arraycopy(chunks.get((int) (pos / BulkDataSpooler.CHUNK_SIZE)), chunkOff, b, off, n);
+            return n;
+        }
+        long fileOff = pos - memoryLength;
+        long segmentOff = fileOff % segmentSize;
+        int n = (int) Math.min(len, Math.min(segmentSize - segmentOff, length - pos));
+        return segments.get((int) (fileOff / segmentSize)).channel.read(ByteBuffer.wrap(b, off, n), segmentOff);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("BulkDataSpool closed");
+    }
+
+    /**
+     * Returns the memory chunks and file segments of this spool to its spooler.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+        chunks.forEach(spooler::releaseChunk);
+        chunks.clear();
+        IOException ex = null;
+        for (BulkDataSpooler.Segment segment : segments) {
+            try {
+                spooler.releaseSegment(segment);
+            } catch (IOException e) {
+                if (ex == null)
+                    ex = e;
+            }
+        }
+        segments.clear();
+        if (ex != null)
+            throw ex;
+    }
+
+    private class SpoolInputStream extends InputStream {
+        private long pos;
+
+        SpoolInputStream(long pos) {
+            this.pos = pos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            int n = BulkDataSpool.this.read(pos, b, off, len);
+            if (n > 0)
+                pos += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skip = Math.max(0L, Math.min(n, length - pos));
+            pos += skip;
+            return skip;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.dcm4che6.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides {@link BulkDataSpool}s which keep spooled bulk data in memory chunks up to a per-object and a global
+ * threshold and spill surplus bulk data to files. Memory chunks and spill files are pooled for reuse by
+ * subsequent spools: spill files are preallocated with the segment size and not deleted on release of a spool,
+ * but reused, as long as the number of unused spill files does not exceed {@link #getMaxFreeSegments()}.
+ * <p>
+ * A {@code BulkDataSpooler} is thread-safe and is intended to be shared by all threads parsing DICOM streams.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataSpooler implements Closeable {
+    static final int CHUNK_SIZE = 0x10000;
+    private final Path directory;
+    private volatile long maxMemoryPerObject = 0x100000;
+    private volatile long maxMemory = 0x10000000;
+    private volatile long segmentSize = 0x1000000;
+    private volatile int maxFreeSegments = 16;
+    private final AtomicLong memoryInUse = new AtomicLong();
+    private final Deque<byte[]> freeChunks = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger freeChunkCount = new AtomicInteger();
+    private final Deque<Path> freeSegments = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger freeSegmentCount = new AtomicInteger();
+    private final AtomicLong spoolIds = new AtomicLong();
+    private volatile boolean closed;
+
+    public BulkDataSpooler(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxMemoryPerObject() {
+        return maxMemoryPerObject;
+    }
+
+    /**
+     * Sets the maximal number of bytes of one spool kept in memory. Memory is allocated in chunks of 64 KB.
+     *
+     * @param maxMemoryPerObject maximal number of bytes kept in memory per spool
+     * @return this {@code BulkDataSpooler}
+     */
+    public BulkDataSpooler withMaxMemoryPerObject(long maxMemoryPerObject) {
+        if (maxMemoryPerObject < 0)
+            throw new IllegalArgumentException("maxMemoryPerObject: " + maxMemoryPerObject);
+
+        this.maxMemoryPerObject = maxMemoryPerObject;
+        return this;
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Sets the maximal number of bytes kept in memory by all spools of this spooler.
+     *
+     * @param maxMemory maximal number of bytes kept in memory by all spools
+     * @return this {@code BulkDataSpooler}
+     */
+    public BulkDataSpooler withMaxMemory(long maxMemory) {
+        if (maxMemory < 0)
+            throw new IllegalArgumentException("maxMemory: " + maxMemory);
+
+        this.maxMemory = maxMemory;
+        return this;
+    }
+
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    public BulkDataSpooler withSegmentSize(long segmentSize) {
+        if (segmentSize < CHUNK_SIZE)
+            throw new IllegalArgumentException("segmentSize: " + segmentSize);
+
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    public int getMaxFreeSegments() {
+        return maxFreeSegments;
+    }
+
+    public BulkDataSpooler withMaxFreeSegments(int maxFreeSegments) {
+        if (maxFreeSegments < 0)
+            throw new IllegalArgumentException("maxFreeSegments: " + maxFreeSegments);
+
+        this.maxFreeSegments = maxFreeSegments;
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes currently kept in memory by all spools of this spooler.
+     */
+    public long getMemoryInUse() {
+        return memoryInUse.get();
+    }
+
+    public BulkDataSpool newSpool() {
+        if (closed)
+            throw new IllegalStateException("BulkDataSpooler closed");
+
+        return new BulkDataSpool(this,
+                "spool:" + Integer.toHexString(System.identityHashCode(this)) + '-' + spoolIds.incrementAndGet());
+    }
+
+    byte[] allocateChunk() {
+        long inUse;
+        do {
+            inUse = memoryInUse.get();
+            if (inUse + CHUNK_SIZE > maxMemory)
+                return null;
+        } while (!memoryInUse.compareAndSet(inUse, inUse + CHUNK_SIZE));
+        byte[] chunk = freeChunks.pollFirst();
+        if (chunk == null)
+            return new byte[CHUNK_SIZE];
+
+        freeChunkCount.decrementAndGet();
+        return chunk;
+    }
+
+    void releaseChunk(byte[] chunk) {
+        long inUse = memoryInUse.addAndGet(-CHUNK_SIZE);
+        if (!closed && (freeChunkCount.get() + 1) * (long) CHUNK_SIZE + inUse <= maxMemory) {
+            freeChunkCount.incrementAndGet();
+            freeChunks.offerFirst(chunk);
+        }
+    }
+
+    Segment acquireSegment() throws IOException {
+        Path path = freeSegments.pollFirst();
+        if (path != null) {
+            freeSegmentCount.decrementAndGet();
+        } else {
+            path = Files.createTempFile(directory, "bulkdata", ".spool");
+            try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+                raf.setLength(segmentSize);
+            }
+        }
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    void releaseSegment(Segment segment) throws IOException {
+        segment.channel.close();
+        if (!closed && freeSegmentCount.incrementAndGet() <= maxFreeSegments) {
+            freeSegments.offerFirst(segment.path);
+        } else {
+            freeSegmentCount.decrementAndGet();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Deletes unused spill files and discards pooled memory chunks. Spill files of spools not yet closed are
+     * deleted on closing the spool.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        freeChunks.clear();
+        Path path;
+        while ((path = freeSegments.pollFirst()) != null) {
+            freeSegmentCount.decrementAndGet();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    static class Segment {
+        final Path path;
+        final FileChannel channel;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
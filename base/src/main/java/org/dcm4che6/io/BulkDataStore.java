@@ -0,0 +1,234 @@
+package org.dcm4che6.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed store of bulk data values. Each value is hashed while it is written and stored once in a
+ * file {@code <root>/<h[0..1]>/<h[2..3]>/<h>}, where {@code h} is the hex encoded digest of the value, so
+ * identical values share one file. Values up to 64 KB are buffered in memory until their digest is known,
+ * avoiding any file write for values already contained by the store.
+ * <p>
+ * A {@code BulkDataStore} is thread-safe and may be shared by all threads parsing DICOM streams.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataStore {
+    private static final int MAX_BUFFERED = 0x10000;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private final Path root;
+    private final String algorithm;
+    private final AtomicLong storedValues = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong deduplicatedValues = new AtomicLong();
+    private final AtomicLong deduplicatedBytes = new AtomicLong();
+
+    public BulkDataStore(Path root) {
+        this(root, "SHA-256");
+    }
+
+    /**
+     * Creates a store using the specified message digest algorithm to address the stored values.
+     *
+     * @param root root directory of the store
+     * @param algorithm name of the message digest algorithm
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public BulkDataStore(Path root, String algorithm) {
+        this.root = Objects.requireNonNull(root);
+        this.algorithm = algorithm;
+        newMessageDigest();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getStoredValues() {
+        return storedValues.get();
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    /**
+     * Returns the number of written values which were already contained by the store.
+     */
+    public long getDeduplicatedValues() {
+        return deduplicatedValues.get();
+    }
+
+    /**
+     * Returns the number of bytes of written values which were already contained by the store.
+     */
+    public long getDeduplicatedBytes() {
+        return deduplicatedBytes.get();
+    }
+
+    /**
+     * Returns the path of the file containing the value with the specified digest.
+     *
+     * @param digest digest of the value
+     * @return path of the file containing the value
+     */
+    public Path pathOf(byte[] digest) {
+        String hex = toHexString(digest);
+        return root.resolve(hex.substring(0, 2)).resolve(hex.substring(2, 4)).resolve(hex);
+    }
+
+    /**
+     * Returns a new writer for one bulk data value.
+     */
+    public Writer newWriter() {
+        return new Writer(newMessageDigest());
+    }
+
+    private MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String toHexString(byte[] b) {
+        char[] cs = new char[b.length << 1];
+        for (int i = 0, j = 0; i < b.length; i++) {
+            cs[j++] = HEX_DIGITS[(b[i] >>> 4) & 0xf];
+            cs[j++] = HEX_DIGITS[b[i] & 0xf];
+        }
+        return new String(cs);
+    }
+
+    /**
+     * Hashes and buffers or writes one bulk data value to a temporary file, which is moved into the store by
+     * {@link #finish()}, or deleted, if the store already contains the value.
+     */
+    public class Writer extends OutputStream {
+        private final MessageDigest digest;
+        private byte[] buf = new byte[256];
+        private int count;
+        private Path tmp;
+        private OutputStream out;
+        private long length;
+        private boolean finished;
+
+        Writer(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (finished)
+                throw new IOException("Writer finished");
+
+            digest.update(b, off, len);
+            length += len;
+            if (out == null) {
+                if (count + len <= MAX_BUFFERED) {
+                    if (count + len > buf.length)
+                        buf = Arrays.copyOf(buf, Math.min(MAX_BUFFERED, Math.max(count + len, buf.length << 1)));
+                    System.arraycopy(b, off, buf, count, len);
+                    count += len;
+                    return;
+                }
+                openTempFile();
+            }
+            out.write(b, off, len);
+        }
+
+        private void openTempFile() throws IOException {
+            Files.createDirectories(root);
+            tmp = Files.createTempFile(root, "bulkdata", ".tmp");
+            out = Files.newOutputStream(tmp);
+            out.write(buf, 0, count);
+            buf = null;
+        }
+
+        /**
+         * Completes the value and returns the path of the file containing it.
+         *
+         * @return path of the file containing the value
+         * @throws IOException if an I/O error occurs
+         */
+        public Path finish() throws IOException {
+            if (finished)
+                throw new IllegalStateException("Writer finished");
+
+            finished = true;
+            Path target = pathOf(digest.digest());
+            try {
+                if (Files.exists(target)) {
+                    deduplicated();
+                    return target;
+                }
+                if (out == null)
+                    openTempFile();
+                out.close();
+                out = null;
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    deduplicated();
+                    return target;
+                }
+                tmp = null;
+                storedValues.incrementAndGet();
+                storedBytes.addAndGet(length);
+                return target;
+            } finally {
+                abort();
+            }
+        }
+
+        private void deduplicated() {
+            deduplicatedValues.incrementAndGet();
+            deduplicatedBytes.addAndGet(length);
+        }
+
+        /**
+         * Discards the value, deleting its temporary file.
+         */
+        public void abort() throws IOException {
+            finished = true;
+            try {
+                if (out != null)
+                    out.close();
+            } finally {
+                out = null;
+                if (tmp != null)
+                    Files.deleteIfExists(tmp);
+                tmp = null;
+            }
+        }
+
+        /**
+         * Has no effect; the value is completed by {@link #finish()}.
+         */
+        @Override
+        public void close() {
+        }
+    }
+}
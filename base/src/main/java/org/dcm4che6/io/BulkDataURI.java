@@ -0,0 +1,106 @@
+package org.dcm4che6.io;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Bulk data URI {@code <location>[#[offset=<offset>][&length=<length>][&endian=big]]} parsed into its components.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public final class BulkDataURI {
+    private final String uri;
+    private final String location;
+    private final long offset;
+    private final int length;
+    private final ByteOrder byteOrder;
+
+    private BulkDataURI(String uri, String location, long offset, int length, ByteOrder byteOrder) {
+        this.uri = uri;
+        this.location = location;
+        this.offset = offset;
+        this.length = length;
+        this.byteOrder = byteOrder;
+    }
+
+    public static BulkDataURI parse(String uri) {
+        int hashIndex = uri.indexOf('#');
+        if (hashIndex < 0)
+            return new BulkDataURI(uri, uri, 0L, -1, ByteOrder.LITTLE_ENDIAN);
+
+        long offset = 0L;
+        int length = -1;
+        ByteOrder byteOrder = ByteOrder.LITTLE_ENDIAN;
+        int begin = hashIndex + 1;
+        while (begin < uri.length()) {
+            int end = uri.indexOf('&', begin);
+            if (end < 0)
+                end = uri.length();
+            if (uri.startsWith("offset=", begin)) {
+                offset = parseLong(uri, begin + 7, end, offset);
+            } else if (uri.startsWith("length=", begin)) {
+                length = (int) parseLong(uri, begin + 7, end, length);
+            } else if (uri.startsWith("endian=big", begin)) {
+                byteOrder = ByteOrder.BIG_ENDIAN;
+            }
+            begin = end + 1;
+        }
+        return new BulkDataURI(uri, uri.substring(0, hashIndex), offset, length, byteOrder);
+    }
+
+    private static long parseLong(String s, int begin, int end, long defval) {
+        try {
+            return Long.parseLong(s, begin, end, 10);
+        } catch (NumberFormatException e) {
+            return defval;
+        }
+    }
+
+    /**
+     * Returns the URI without fragment, identifying the resource containing the bulk data.
+     */
+    public String location() {
+        return location;
+    }
+
+    /**
+     * Returns the path of the file containing the bulk data or {@code null} if the location is not a file URI.
+     */
+    public Path path() {
+        return location.startsWith("file:") ? Paths.get(URI.create(location)) : null;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the length of the bulk data or {@code -1} if it is encapsulated in data fragments terminated by a
+     * Sequence Delimitation Item or extends to the end of the resource.
+     */
+    public int length() {
+        return length;
+    }
+
+    public ByteOrder byteOrder() {
+        return byteOrder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof BulkDataURI && uri.equals(((BulkDataURI) o).uri);
+    }
+
+    @Override
+    public int hashCode() {
+        return uri.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return uri;
+    }
+}
@@ -0,0 +1,117 @@
+package org.dcm4che6.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Keeps a bounded number of {@code FileChannel}s open in least recently used order. A channel evicted while it
+ * is still used by another thread is closed on its release.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class CachingBulkDataResolver extends FileBulkDataResolver {
+    private final int maxOpenFiles;
+    private final LinkedHashMap<Path, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final IdentityHashMap<FileChannel, Entry> leased = new IdentityHashMap<>();
+    private boolean closed;
+
+    CachingBulkDataResolver(int maxOpenFiles) {
+        if (maxOpenFiles <= 0)
+            throw new IllegalArgumentException("maxOpenFiles: " + maxOpenFiles);
+
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    @Override
+    FileChannel acquire(Path path) throws IOException {
+        synchronized (this) {
+            FileChannel channel = lookup(path);
+            if (channel != null)
+                return channel;
+        }
+        FileChannel opened = FileChannel.open(path);
+        synchronized (this) {
+            FileChannel channel = lookup(path);
+            if (channel != null) {
+                opened.close();
+                return channel;
+            }
+            Entry entry = new Entry(opened);
+            cache.put(path, entry);
+            leased.put(opened, entry);
+            Iterator<Entry> iter = cache.values().iterator();
+            while (cache.size() > maxOpenFiles) {
+                evict(iter.next());
+                iter.remove();
+            }
+            return opened;
+        }
+    }
+
+    private FileChannel lookup(Path path) throws IOException {
+        if (closed)
+            throw new IOException("BulkDataResolver closed");
+
+        Entry entry = cache.get(path);
+        if (entry == null)
+            return null;
+
+        if (!entry.channel.isOpen()) {
+            cache.remove(path);
+            evict(entry);
+            return null;
+        }
+        entry.refs++;
+        return entry.channel;
+    }
+
+    /**
+     * Releases a channel returned by {@link #acquire(Path)}.
+     *
+     * @throws IllegalArgumentException if the channel was not acquired from this resolver or was already released
+     *         as often as it was acquired
+     */
+    @Override
+    synchronized void release(FileChannel channel) throws IOException {
+        Entry entry = leased.get(channel);
+        if (entry == null || entry.refs == 0)
+            throw new IllegalArgumentException("Channel not acquired or already released: " + channel);
+
+        if (--entry.refs == 0 && entry.evicted) {
+            leased.remove(channel);
+            channel.close();
+        }
+    }
+
+    private void evict(Entry entry) {
+        entry.evicted = true;
+        if (entry.refs == 0) {
+            leased.remove(entry.channel);
+            try {
+                entry.channel.close();
+            } catch (IOException ignore) {}
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        cache.values().forEach(this::evict);
+        cache.clear();
+    }
+
+    private static class Entry {
+        final FileChannel channel;
+        int refs = 1;
+        boolean evicted;
+
+        Entry(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
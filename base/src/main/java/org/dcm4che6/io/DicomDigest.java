@@ -0,0 +1,64 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.internal.DicomDigestImpl;
+
+import java.util.Optional;
+
+/**
+ * Computes a digest of the exact bytes read by a {@link DicomInputStream} or written by a
+ * {@link DicomOutputStream}, in the same pass as parsing or writing, optionally split into a digest of the value
+ * of the Pixel Data, Float Pixel Data or Double Float Pixel Data element of the Data Set and a digest of all other
+ * bytes. A {@code DicomDigest} is attached to one stream by {@link DicomInputStream#withDigest(DicomDigest)} or
+ * {@link DicomOutputStream#withDigest(DicomDigest)}; the digests are completed on first access.
+ * <p>
+ * The split is not supported for Deflated Explicit VR Little Endian encoded streams: all bytes following the
+ * File Meta Information are accounted to the metadata digest.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public interface DicomDigest {
+
+    enum Algorithm { MD5, SHA_256, CRC32C }
+
+    static DicomDigest newDicomDigest(Algorithm algorithm) {
+        return new DicomDigestImpl(algorithm, false);
+    }
+
+    static DicomDigest newDicomDigest(Algorithm algorithm, boolean splitPixelData) {
+        return new DicomDigestImpl(algorithm, splitPixelData);
+    }
+
+    Algorithm getAlgorithm();
+
+    boolean isSplitPixelData();
+
+    /**
+     * Returns the number of bytes read or written.
+     *
+     * @return number of bytes read or written
+     */
+    long getLength();
+
+    /**
+     * Returns the digest of all bytes read or written.
+     *
+     * @return digest of all bytes read or written
+     */
+    byte[] getDigest();
+
+    /**
+     * Returns the digest of all bytes read or written, excluding the Pixel Data value.
+     *
+     * @return digest excluding the Pixel Data value or {@code Optional.empty()} if not split
+     */
+    Optional<byte[]> getMetadataDigest();
+
+    /**
+     * Returns the digest of the Pixel Data value, including the Item and Sequence Delimitation Item headers of
+     * encapsulated Pixel Data.
+     *
+     * @return digest of the Pixel Data value or {@code Optional.empty()} if not split
+     */
+    Optional<byte[]> getPixelDataDigest();
+}
@@ -4,6 +4,7 @@ import org.dcm4che6.data.*;
 import org.dcm4che6.data.DataFragment;
 import org.dcm4che6.data.DicomElement;
 import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.internal.DicomDigestImpl;
 import org.dcm4che6.internal.DicomParser;
 
 import java.io.*;
@@ -47,6 +48,18 @@ public class DicomInputStream extends InputStream {
         return withParseItems(x -> x.tag() != seqTag);
     }
 
+    /**
+     * Computes the specified digest of all bytes read from the underlying input stream. Must be invoked before
+     * any bytes are read.
+     *
+     * @param digest digest not attached to another stream
+     * @return this {@code DicomInputStream}
+     */
+    public DicomInputStream withDigest(DicomDigest digest) {
+        parser.setDigest((DicomDigestImpl) digest);
+        return this;
+    }
+
     public DicomInputStream withBulkData(Predicate<DicomElement> bulkDataPredicate) {
         parser.setBulkData(bulkDataPredicate);
         return this;
@@ -80,6 +93,42 @@ public class DicomInputStream extends InputStream {
         return this;
     }
 
+    /**
+     * Spools bulk data to spools of the specified spooler, which keeps bulk data in memory up to its thresholds.
+     * The spool created on the first bulk data element is returned by {@link #getBulkDataSpool()} and must be
+     * closed, if the bulk data is no longer needed.
+     *
+     * @param bulkDataSpooler bulk data spooler
+     * @return this {@code DicomInputStream}
+     */
+    public DicomInputStream spoolBulkData(BulkDataSpooler bulkDataSpooler) {
+        parser.setBulkDataSpooler(bulkDataSpooler);
+        parser.setBulkDataURIProducer(DicomInputStream::bulkDataSpoolURI);
+        return this;
+    }
+
+    /**
+     * Stores bulk data in the specified content-addressed store. The bulk data URIs of the resulting bulk data
+     * elements refer to the files of the store; {@link #bulkDataURI()} returns the URI of a value only after the
+     * value was read, in {@link DicomInputHandler#endElement}.
+     *
+     * @param bulkDataStore content-addressed bulk data store
+     * @return this {@code DicomInputStream}
+     */
+    public DicomInputStream storeBulkData(BulkDataStore bulkDataStore) {
+        parser.setBulkDataStore(bulkDataStore);
+        parser.setBulkDataURIProducer(DicomInputStream::storedBulkDataURI);
+        return this;
+    }
+
+    /**
+     * Returns the spool holding the bulk data spooled by {@link #spoolBulkData(BulkDataSpooler)} or {@code null},
+     * if no bulk data was spooled.
+     */
+    public BulkDataSpool getBulkDataSpool() {
+        return parser.getBulkDataSpool();
+    }
+
     public long getStreamPosition() {
         return parser.getStreamPosition();
     }
@@ -137,6 +186,10 @@ public class DicomInputStream extends InputStream {
         parser.loadValueFromStream();
     }
 
+    public void transferValueTo(DicomOutputStream dos) throws IOException {
+        parser.transferValueTo(dos);
+    }
+
     public void writeValueTo(DicomElement dcmElm, DicomOutputStream dos) throws IOException {
         parser.writeValueTo(dcmElm, dos);
     }
@@ -149,6 +202,14 @@ public class DicomInputStream extends InputStream {
         return parser.bulkDataSpoolPathURI();
     }
 
+    private String bulkDataSpoolURI() {
+        return parser.bulkDataSpoolURI();
+    }
+
+    private String storedBulkDataURI() {
+        return parser.storedBulkDataURI();
+    }
+
     public String bulkDataURI() throws IOException {
         return parser.bulkDataURI();
     }
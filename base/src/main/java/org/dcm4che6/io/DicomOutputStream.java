@@ -2,15 +2,28 @@ package org.dcm4che6.io;
 
 import org.dcm4che6.data.*;
 import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.internal.DicomDigestImpl;
 import org.dcm4che6.internal.DicomObjectImpl;
+import org.dcm4che6.internal.ParallelDeflaterOutputStream;
+import org.dcm4che6.internal.PooledDeflaterOutputStream;
 import org.dcm4che6.data.VR;
 
+import java.io.EOFException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
@@ -21,6 +34,7 @@ import java.util.zip.DeflaterOutputStream;
 public class DicomOutputStream extends OutputStream {
 
     private static final int BUFFER_LENGTH = 0x2000;
+    private static final int DEFAULT_DEFLATE_BLOCK_SIZE = 0x20000;
     private OutputStream out;
     private DicomEncoding encoding;
     private boolean includeGroupLength;
@@ -28,6 +42,14 @@ public class DicomOutputStream extends OutputStream {
     private LengthEncoding sequenceLengthEncoding = LengthEncoding.UNDEFINED_OR_ZERO;
     private final byte[] header = new byte[12];
     private byte[] swapBuffer;
+    private int deflateLevel = Deflater.DEFAULT_COMPRESSION;
+    private Executor deflateExecutor;
+    private int deflateBlockSize = DEFAULT_DEFLATE_BLOCK_SIZE;
+    private boolean deflateDictionaryPriming = true;
+    private BulkDataResolver bulkDataResolver = BulkDataResolver.getDefault();
+    private DicomDigest digest;
+    private Predicate<DicomElement> elementFilter = ElementFilter.all();
+    private final Map<DicomObject, int[]> calculatedLengths = new IdentityHashMap<>();
 
     public DicomOutputStream(OutputStream out) {
         this.out = Objects.requireNonNull(out);
@@ -40,7 +62,10 @@ public class DicomOutputStream extends OutputStream {
     public DicomOutputStream withEncoding(DicomEncoding encoding) {
         this.encoding = Objects.requireNonNull(encoding);
         if (encoding.deflated) {
-            out = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+            out = deflateExecutor != null
+                    ? new ParallelDeflaterOutputStream(out, deflateExecutor, deflateLevel, deflateBlockSize,
+                            deflateDictionaryPriming)
+                    : new PooledDeflaterOutputStream(out, deflateLevel);
         }
         return this;
     }
@@ -52,6 +77,124 @@ public class DicomOutputStream extends OutputStream {
         return withEncoding(DicomEncoding.of(tsuid));
     }
 
+    public int getDeflateLevel() {
+        return deflateLevel;
+    }
+
+    /**
+     * Sets the compression level used for Deflated Explicit VR Little Endian encoding. Must be invoked before
+     * {@link #withEncoding(DicomEncoding)}.
+     *
+     * @param deflateLevel compression level (0-9) or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return this {@code DicomOutputStream}
+     */
+    public DicomOutputStream withDeflateLevel(int deflateLevel) {
+        if (deflateLevel < Deflater.DEFAULT_COMPRESSION || deflateLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("deflateLevel: " + deflateLevel);
+
+        this.deflateLevel = deflateLevel;
+        return this;
+    }
+
+    public Executor getDeflateExecutor() {
+        return deflateExecutor;
+    }
+
+    /**
+     * Enables concurrent compression of blocks of {@link #getDeflateBlockSize()} bytes by the specified executor
+     * for Deflated Explicit VR Little Endian encoding. Must be invoked before {@link #withEncoding(DicomEncoding)}.
+     *
+     * @param deflateExecutor executor compressing the blocks or {@code null} to compress in the calling thread
+     * @return this {@code DicomOutputStream}
+     */
+    public DicomOutputStream withDeflateExecutor(Executor deflateExecutor) {
+        this.deflateExecutor = deflateExecutor;
+        return this;
+    }
+
+    public int getDeflateBlockSize() {
+        return deflateBlockSize;
+    }
+
+    public DicomOutputStream withDeflateBlockSize(int deflateBlockSize) {
+        if (deflateBlockSize < 0x8000)
+            throw new IllegalArgumentException("deflateBlockSize: " + deflateBlockSize);
+
+        this.deflateBlockSize = deflateBlockSize;
+        return this;
+    }
+
+    public boolean isDeflateDictionaryPriming() {
+        return deflateDictionaryPriming;
+    }
+
+    /**
+     * Specifies if concurrently compressed blocks are primed with the last 32 KB of the previous block. Priming
+     * improves the compression ratio close to that of compression in one thread at the cost of some throughput.
+     *
+     * @param deflateDictionaryPriming {@code true} to prime each block with the end of the previous block
+     * @return this {@code DicomOutputStream}
+     */
+    public DicomOutputStream withDeflateDictionaryPriming(boolean deflateDictionaryPriming) {
+        this.deflateDictionaryPriming = deflateDictionaryPriming;
+        return this;
+    }
+
+    public BulkDataResolver getBulkDataResolver() {
+        return bulkDataResolver;
+    }
+
+    /**
+     * Sets the resolver used to access bulk data referenced by bulk data elements on writing them.
+     *
+     * @param bulkDataResolver bulk data resolver
+     * @return this {@code DicomOutputStream}
+     */
+    public DicomOutputStream withBulkDataResolver(BulkDataResolver bulkDataResolver) {
+        this.bulkDataResolver = Objects.requireNonNull(bulkDataResolver);
+        return this;
+    }
+
+    public DicomDigest getDigest() {
+        return digest;
+    }
+
+    /**
+     * Computes the specified digest of all bytes subsequently written to the underlying output stream. Must be
+     * invoked before {@link #withEncoding(DicomEncoding)} with a deflated encoding.
+     *
+     * @param digest digest not attached to another stream
+     * @return this {@code DicomOutputStream}
+     */
+    public DicomOutputStream withDigest(DicomDigest digest) {
+        if (this.digest != null)
+            throw new IllegalStateException("digest already attached");
+        if (encoding != null && encoding.deflated)
+            throw new IllegalStateException("encoding already initialized: " + encoding);
+
+        this.out = ((DicomDigestImpl) digest).tap(out);
+        this.digest = digest;
+        return this;
+    }
+
+    public Predicate<DicomElement> getElementFilter() {
+        return elementFilter;
+    }
+
+    /**
+     * Restricts the elements written by {@link #writeDataSet(DicomObject)} to the elements accepted by the
+     * specified predicate, without copying the Data Set. Item and group lengths are calculated from the accepted
+     * elements. Elements of items of rejected sequences are not tested.
+     *
+     * @param elementFilter predicate accepting the elements to write
+     * @return this {@code DicomOutputStream}
+     * @see ElementFilter
+     */
+    public DicomOutputStream withElementFilter(Predicate<DicomElement> elementFilter) {
+        this.elementFilter = Objects.requireNonNull(elementFilter);
+        return this;
+    }
+
     public boolean isIncludeGroupLength() {
         return includeGroupLength;
     }
@@ -99,6 +242,49 @@ public class DicomOutputStream extends OutputStream {
         out.close();
     }
 
+    /**
+     * Writes {@code length} bytes read from {@code in}.
+     *
+     * @param in input stream
+     * @param length number of bytes to write
+     * @throws IOException if an I/O error occurs or {@code in} reaches the end of stream before
+     */
+    public void transferFrom(InputStream in, long length) throws IOException {
+        byte[] b = swapBuffer();
+        while (length > 0) {
+            int nread = in.readNBytes(b, 0, (int) Math.min(length, b.length));
+            if (nread == 0)
+                throw new EOFException();
+
+            write(b, 0, nread);
+            length -= nread;
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes of {@code channel} starting at {@code position} by
+     * {@link FileChannel#transferTo}, so the bytes may be transferred by the operating system directly to the
+     * file underlying this stream, without copying them into the Java heap.
+     *
+     * @param channel file channel
+     * @param position position in the file
+     * @param length number of bytes to write
+     * @throws IOException if an I/O error occurs or the file does not contain the requested bytes
+     */
+    public void transferFrom(FileChannel channel, long position, long length) throws IOException {
+        WritableByteChannel target = out instanceof FileOutputStream
+                ? ((FileOutputStream) out).getChannel()
+                : Channels.newChannel(out);
+        while (length > 0) {
+            long n = channel.transferTo(position, length, target);
+            if (n <= 0 && position >= channel.size())
+                throw new EOFException();
+
+            position += n;
+            length -= n;
+        }
+    }
+
     public void writeHeader(int tag, VR vr, int length) throws IOException {
         int headerLength = 8;
         byte[] header = this.header;
@@ -133,12 +319,16 @@ public class DicomOutputStream extends OutputStream {
         write(b);
         encoding = DicomEncoding.EVR_LE;
         boolean includeGroupLength0 = includeGroupLength;
+        Predicate<DicomElement> elementFilter0 = elementFilter;
         try {
             includeGroupLength = true;
+            elementFilter = ElementFilter.all();
             ((DicomObjectImpl) fmi).calculateItemLength(this);
             ((DicomObjectImpl) fmi).writeTo(this);
         } finally {
+            calculatedLengths.clear();
             includeGroupLength = includeGroupLength0;
+            elementFilter = elementFilter0;
         }
         return this;
     }
@@ -148,12 +338,22 @@ public class DicomOutputStream extends OutputStream {
             throw new IllegalStateException("encoding not initialized");
 
         Objects.requireNonNull(dcmobj);
-        if (includeGroupLength || itemLengthEncoding.calculate || sequenceLengthEncoding.calculate) {
-            ((DicomObjectImpl) dcmobj).calculateItemLength(this);
+        try {
+            if (includeGroupLength || itemLengthEncoding.calculate || sequenceLengthEncoding.calculate) {
+                ((DicomObjectImpl) dcmobj).calculateItemLength(this);
+            }
+            ((DicomObjectImpl) dcmobj).writeTo(this);
+        } finally {
+            calculatedLengths.clear();
         }
-        ((DicomObjectImpl) dcmobj).writeTo(this);
+        finish();
+    }
+
+    public void finish() throws IOException {
         if (out instanceof DeflaterOutputStream) {
             ((DeflaterOutputStream) out).finish();
+        } else if (out instanceof ParallelDeflaterOutputStream) {
+            ((ParallelDeflaterOutputStream) out).finish();
         }
     }
 
@@ -164,8 +364,23 @@ public class DicomOutputStream extends OutputStream {
         Objects.requireNonNull(dcmobj);
         encoding = DicomEncoding.IVR_LE;
         includeGroupLength = true;
-        ((DicomObjectImpl) dcmobj).calculateItemLength(this);
-        ((DicomObjectImpl) dcmobj).writeTo(this);
+        Predicate<DicomElement> elementFilter0 = elementFilter;
+        try {
+            elementFilter = ElementFilter.all();
+            ((DicomObjectImpl) dcmobj).calculateItemLength(this);
+            ((DicomObjectImpl) dcmobj).writeTo(this);
+        } finally {
+            calculatedLengths.clear();
+            elementFilter = elementFilter0;
+        }
+    }
+
+    /**
+     * Returns the item length and the lengths of included groups calculated for each item of the Data Set currently
+     * written, so writing does not modify the Data Set. Used by the implementation, not by applications.
+     */
+    public Map<DicomObject, int[]> calculatedLengths() {
+        return calculatedLengths;
     }
 
     public byte[] swapBuffer() {
@@ -0,0 +1,102 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.DataFragment;
+import org.dcm4che6.data.DicomElement;
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.dcm4che6.internal.DicomDigestImpl;
+import org.dcm4che6.util.TagUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Transcodes a Data Set between uncompressed encodings in a single pass, writing each element to the
+ * {@link DicomOutputStream} when it is parsed, without building a {@link DicomObject}. Values longer than
+ * {@value #MAX_CACHED_VALUE_LENGTH} bytes are transferred directly from the input stream, toggling the byte order
+ * by VR if needed. Sequences and items are written with undefined length, Group Length elements are omitted.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class DicomTranscoder implements DicomInputHandler {
+
+    private static final int MAX_CACHED_VALUE_LENGTH = 1024;
+    private final DicomOutputStream dos;
+
+    public DicomTranscoder(DicomOutputStream dos) {
+        this.dos = Objects.requireNonNull(dos);
+    }
+
+    public static void transcode(DicomInputStream dis, DicomOutputStream dos) throws IOException {
+        if (dos.getEncoding() == null)
+            throw new IllegalStateException("encoding not initialized");
+
+        if (dis.getEncoding() == null)
+            dis.readFileMetaInformation();
+        dis.withInputHandler(new DicomTranscoder(dos)).readDataSet();
+        dos.finish();
+    }
+
+    @Override
+    public boolean startElement(DicomInputStream dis, DicomElement dcmElm, boolean bulkData) throws IOException {
+        int tag = dcmElm.tag();
+        VR vr = dcmElm.vr();
+        int valueLength = dcmElm.valueLength();
+        if (vr == VR.SQ) {
+            dos.writeHeader(tag, vr, valueLength == 0 ? 0 : -1);
+        } else if (valueLength == -1) {
+            dos.writeHeader(tag, vr, -1);
+            DicomDigestImpl.followPixelData(dos, dcmElm, true);
+        } else if (TagUtils.isPrivateCreator(tag)) {
+            dis.loadValueFromStream();
+            dcmElm.containedBy().setString(tag, vr, dcmElm.stringValues());
+            writeElement(dis, dcmElm, tag, vr, valueLength);
+        } else if (TagUtils.elementNumber(tag) != 0) {
+            writeElement(dis, dcmElm, tag, vr, valueLength);
+        }
+        return true;
+    }
+
+    private void writeElement(DicomInputStream dis, DicomElement dcmElm, int tag, VR vr, int valueLength)
+            throws IOException {
+        dos.writeHeader(tag,
+                vr.shortValueLength && valueLength > 0xffff && dos.getEncoding().explicitVR ? VR.UN : vr,
+                valueLength);
+        DicomDigestImpl.followPixelData(dos, dcmElm, true);
+        if (valueLength > MAX_CACHED_VALUE_LENGTH)
+            dis.transferValueTo(dos);
+        else
+            dis.writeValueTo(dcmElm, dos);
+    }
+
+    @Override
+    public boolean endElement(DicomInputStream dis, DicomElement dcmElm, boolean bulkData) throws IOException {
+        if (dcmElm.valueLength() == -1 || dcmElm.vr() == VR.SQ && dcmElm.valueLength() != 0)
+            dos.writeHeader(Tag.SequenceDelimitationItem, VR.NONE, 0);
+        DicomDigestImpl.followPixelData(dos, dcmElm, false);
+        return true;
+    }
+
+    @Override
+    public boolean startItem(DicomInputStream dis, DicomElement dcmSeq, DicomObject dcmObj) throws IOException {
+        dos.writeHeader(Tag.Item, VR.NONE, dcmObj.getItemLength() == 0 ? 0 : -1);
+        return true;
+    }
+
+    @Override
+    public boolean endItem(DicomInputStream dis, DicomElement dcmSeq, DicomObject dcmObj) throws IOException {
+        if (dcmObj.getItemLength() != 0)
+            dos.writeHeader(Tag.ItemDelimitationItem, VR.NONE, 0);
+        return true;
+    }
+
+    @Override
+    public boolean dataFragment(DicomInputStream dis, DicomElement fragments, DataFragment dataFragment)
+            throws IOException {
+        dos.writeHeader(Tag.Item, VR.NONE, dataFragment.valueLength());
+        dis.transferValueTo(dos);
+        return true;
+    }
+}
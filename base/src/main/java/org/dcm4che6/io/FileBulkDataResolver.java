@@ -0,0 +1,102 @@
+package org.dcm4che6.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class FileBulkDataResolver implements BulkDataResolver {
+
+    static final FileBulkDataResolver DEFAULT = new FileBulkDataResolver();
+
+    @Override
+    public InputStream openStream(BulkDataURI uri) throws IOException {
+        Path path = uri.path();
+        if (path == null) {
+            InputStream in = URI.create(uri.location()).toURL().openStream();
+            try {
+                in.skipNBytes(uri.offset());
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            return in;
+        }
+        return new ChannelInputStream(acquire(path), uri.offset());
+    }
+
+    @Override
+    public void transferTo(BulkDataURI uri, DicomOutputStream dos) throws IOException {
+        Path path = uri.path();
+        if (path == null) {
+            BulkDataResolver.super.transferTo(uri, dos);
+            return;
+        }
+        FileChannel channel = acquire(path);
+        try {
+            dos.transferFrom(channel, uri.offset(), uri.length());
+        } finally {
+            release(channel);
+        }
+    }
+
+    FileChannel acquire(Path path) throws IOException {
+        return FileChannel.open(path);
+    }
+
+    void release(FileChannel channel) throws IOException {
+        channel.close();
+    }
+
+    private class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private long pos;
+        private boolean closed;
+
+        ChannelInputStream(FileChannel channel, long pos) {
+            this.channel = channel;
+            this.pos = pos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed)
+                throw new IOException("Stream closed");
+
+            if (len == 0)
+                return 0;
+
+            int n = channel.read(ByteBuffer.wrap(b, off, len), pos);
+            if (n > 0)
+                pos += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skip = Math.max(0L, Math.min(n, channel.size() - pos));
+            pos += skip;
+            return skip;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                release(channel);
+            }
+        }
+    }
+}
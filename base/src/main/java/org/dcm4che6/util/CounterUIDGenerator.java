@@ -0,0 +1,56 @@
+package org.dcm4che6.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class CounterUIDGenerator implements UIDGenerator {
+    private static final int MAX_COUNTER_LENGTH = 19;
+    private final char[] prefix;
+    private final AtomicLong counter = new AtomicLong();
+
+    CounterUIDGenerator(String root, long nodeId, long startTime) {
+        if (!UIDUtils.isValid(root))
+            throw new IllegalArgumentException("Invalid UID root: " + root);
+        if (nodeId < 0)
+            throw new IllegalArgumentException("nodeId: " + nodeId);
+
+        String s = root + '.' + nodeId + '.' + startTime + '.';
+        if (s.length() + MAX_COUNTER_LENGTH > 64)
+            throw new IllegalArgumentException("UID root too long: " + root);
+        this.prefix = s.toCharArray();
+    }
+
+    @Override
+    public String generate() {
+        return toUID(counter.incrementAndGet());
+    }
+
+    @Override
+    public String[] generate(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count: " + count);
+
+        long first = counter.getAndAdd(count) + 1;
+        String[] uids = new String[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = toUID(first + i);
+        }
+        return uids;
+    }
+
+    private String toUID(long value) {
+        int len = 1;
+        for (long l = value; l >= 10; l /= 10) {
+            len++;
+        }
+        char[] cs = new char[prefix.length + len];
+        System.arraycopy(prefix, 0, cs, 0, prefix.length);
+        for (int pos = cs.length; pos > prefix.length; value /= 10) {
+            cs[--pos] = (char) ('0' + value % 10);
+        }
+        return new String(cs);
+    }
+}
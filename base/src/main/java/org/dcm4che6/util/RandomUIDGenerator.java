@@ -0,0 +1,52 @@
+package org.dcm4che6.util;
+
+import java.util.Random;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class RandomUIDGenerator implements UIDGenerator {
+    private final Random random;
+
+    RandomUIDGenerator(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public String generate() {
+        byte[] b = new byte[16];
+        random.nextBytes(b);
+        return toUID(b, 0);
+    }
+
+    @Override
+    public String[] generate(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count: " + count);
+
+        byte[] b = new byte[count << 4];
+        random.nextBytes(b);
+        String[] uids = new String[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = toUID(b, i << 4);
+        }
+        return uids;
+    }
+
+    private static String toUID(byte[] b, int off) {
+        long msb = bytesToLong(b, off);
+        long lsb = bytesToLong(b, off + 8);
+        return UIDUtils.toUID(UIDUtils.UUID_ROOT,
+                msb & 0xffffffffffff0fffL | 0x0000000000004000L,
+                lsb & 0x3fffffffffffffffL | 0x8000000000000000L);
+    }
+
+    private static long bytesToLong(byte[] b, int off) {
+        long l = 0;
+        for (int i = off, end = off + 8; i < end; i++) {
+            l = (l << 8) | (b[i] & 0xff);
+        }
+        return l;
+    }
+}
@@ -0,0 +1,75 @@
+package org.dcm4che6.util;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * Generates unique DICOM UIDs.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public interface UIDGenerator {
+
+    /**
+     * Returns a new unique UID.
+     *
+     * @return new unique UID
+     */
+    String generate();
+
+    /**
+     * Returns {@code count} new unique UIDs. Implementations may generate the batch at once cheaper than by
+     * {@code count} invocations of {@link #generate()}.
+     *
+     * @param count number of UIDs to generate
+     * @return array of {@code count} new unique UIDs
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    default String[] generate(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("count: " + count);
+
+        String[] uids = new String[count];
+        for (int i = 0; i < count; i++) {
+            uids[i] = generate();
+        }
+        return uids;
+    }
+
+    /**
+     * Returns generator of UIDs with root {@code 2.25} derived from random (Version 4) UUIDs in accordance with
+     * Rec. ITU-T X.667 | ISO/IEC 9834-8, using a cryptographically strong random number generator.
+     *
+     * @return UUID derived UID generator
+     */
+    static UIDGenerator uuid() {
+        return new RandomUIDGenerator(new SecureRandom());
+    }
+
+    /**
+     * Returns generator of UIDs with root {@code 2.25} derived from random (Version 4) UUIDs in accordance with
+     * Rec. ITU-T X.667 | ISO/IEC 9834-8, using the specified random number generator.
+     *
+     * @param random random number generator
+     * @return UUID derived UID generator
+     */
+    static UIDGenerator uuid(Random random) {
+        return new RandomUIDGenerator(random);
+    }
+
+    /**
+     * Returns generator of UIDs {@code <root>.<nodeId>.<startTime>.<counter>} with {@code startTime} as the
+     * milliseconds since the epoch at creation of the generator. Uniqueness requires distinct {@code nodeId}s for
+     * all generators with the same {@code root} running at the same time.
+     *
+     * @param root organization UID root
+     * @param nodeId non-negative identifier of the node within the organization
+     * @return counter based UID generator
+     * @throws IllegalArgumentException if {@code root} is not a valid UID, {@code nodeId} is negative or generated
+     *                                  UIDs may exceed 64 characters
+     */
+    static UIDGenerator counter(String root, long nodeId) {
+        return new CounterUIDGenerator(root, nodeId, System.currentTimeMillis());
+    }
+}
@@ -1,9 +1,7 @@
 package org.dcm4che6.util;
 
 import org.dcm4che6.data.UID;
-import org.dcm4che6.io.ByteOrder;
 
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
@@ -18,10 +16,12 @@ public class UIDUtils {
      * accordance with Rec. ITU-T X.667 | ISO/IEC 9834-8.
      * @see &lt;a href="http://www.oid-info.com/get/2.25">OID repository {joint-iso-itu-t(2) uuid(25)}$lt;/a>
      */
-    private static final String UUID_ROOT = "2.25";
+    static final String UUID_ROOT = "2.25";
+
+    private static final UIDGenerator UUID_GENERATOR = UIDGenerator.uuid();
 
     public static String randomUID() {
-        return toUID(UUID_ROOT, UUID.randomUUID());
+        return UUID_GENERATOR.generate();
     }
 
     public static String nameUIDFromBytes(byte[] name) {
@@ -33,17 +33,68 @@ public class UIDUtils {
     }
 
     private static String toUID(String root, UUID uuid) {
-        byte[] b17 = new byte[17];
-        ByteOrder.BIG_ENDIAN.longToBytes(uuid.getMostSignificantBits(), b17, 1);
-        ByteOrder.BIG_ENDIAN.longToBytes(uuid.getLeastSignificantBits(), b17, 9);
-        String uuidStr = new BigInteger(b17).toString();
+        return toUID(root, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Returns UID with specified root and the 128-bit unsigned integer {@code msb:lsb} as last component.
+     * Converts the integer in 32-bit limbs by divisions by 10<sup>9</sup>, avoiding {@link java.math.BigInteger}.
+     */
+    static String toUID(String root, long msb, long lsb) {
         int rootlen = root.length();
-        int uuidlen = uuidStr.length();
-        char[] cs = new char[rootlen + uuidlen + 1];
-        root.getChars(0, rootlen, cs, 0);
-        cs[rootlen] = '.';
-        uuidStr.getChars(0, uuidlen, cs, rootlen + 1);
-        return new String(cs);
+        char[] cs = new char[rootlen + 1 + 39];
+        int pos = cs.length;
+        long l0 = msb >>> 32;
+        long l1 = msb & 0xffffffffL;
+        long l2 = lsb >>> 32;
+        long l3 = lsb & 0xffffffffL;
+        boolean more;
+        do {
+            long r = l0 % 1_000_000_000L;
+            l0 /= 1_000_000_000L;
+            long t = (r << 32) | l1;
+            l1 = t / 1_000_000_000L;
+            r = t % 1_000_000_000L;
+            t = (r << 32) | l2;
+            l2 = t / 1_000_000_000L;
+            r = t % 1_000_000_000L;
+            t = (r << 32) | l3;
+            l3 = t / 1_000_000_000L;
+            r = t % 1_000_000_000L;
+            more = (l0 | l1 | l2 | l3) != 0;
+            int end = more ? pos - 9 : pos;
+            do {
+                cs[--pos] = (char) ('0' + r % 10);
+                r /= 10;
+            } while (pos > end || r != 0);
+        } while (more);
+        cs[--pos] = '.';
+        pos -= rootlen;
+        root.getChars(0, rootlen, cs, pos);
+        return new String(cs, pos, cs.length - pos);
+    }
+
+    /**
+     * Returns {@code true} if {@code uid} consists of at most 64 characters of non-empty numeric components separated
+     * by {@code '.'}, without leading zeros.
+     */
+    static boolean isValid(String uid) {
+        int len = uid.length();
+        if (len == 0 || len > 64)
+            return false;
+
+        int start = 0;
+        for (int i = 0; i <= len; i++) {
+            char c = i < len ? uid.charAt(i) : '.';
+            if (c == '.') {
+                if (i == start || uid.charAt(start) == '0' && i - start > 1)
+                    return false;
+                start = i + 1;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static StringBuilder promptTo(String uid, StringBuilder sb) {
@@ -1,5 +1,8 @@
 package org.dcm4che6.data;
 
+import org.dcm4che6.io.DicomEncoding;
+import org.dcm4che6.io.DicomInputStream;
+import org.dcm4che6.io.DicomOutputStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -78,6 +81,222 @@ class DicomObjectTest {
         assertEquals(BULK_DATA_URI, waveformData.bulkDataURI());
     }
 
+    @Test
+    void estimatedRetainedBytes() throws IOException {
+        DicomObject data = DicomObject.newDicomObject();
+        long empty = data.estimatedRetainedBytes();
+        assertTrue(empty > 0);
+        data.setBytes(Tag.WaveformData, VR.OW, new byte[10000]);
+        DicomElement waveformData = data.get(Tag.WaveformData).orElseGet(Assertions::fail);
+        assertTrue(waveformData.estimatedRetainedBytes() > 10000);
+        DicomElement seq = data.newDicomSequence(Tag.ReferencedImageSequence);
+        for (int i = 0; i < 10; i++) {
+            DicomObject item = DicomObject.newDicomObject();
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4." + i);
+            seq.addItem(item);
+        }
+        assertTrue(data.estimatedRetainedBytes()
+                >= empty + waveformData.estimatedRetainedBytes() + seq.estimatedRetainedBytes());
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(data);
+        }
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bout.toByteArray()))
+                .withEncoding(DicomEncoding.EVR_LE)
+                .withParseItemsLazy(Tag.ReferencedImageSequence)) {
+            data = dis.readDataSet();
+        }
+        long lazy = data.estimatedRetainedBytes();
+        assertTrue(lazy > bout.size());
+        seq = data.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        seq.forEachItem((item, i) -> item.size());
+        long parsed = data.estimatedRetainedBytes();
+        assertTrue(parsed > lazy);
+        seq.purgeParsedItems();
+        assertEquals(lazy, data.estimatedRetainedBytes());
+    }
+
+    @Test
+    void contentHash() throws IOException {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        data.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        data.setInt(Tag.Rows, VR.US, 512);
+        DicomElement seq = data.newDicomSequence(Tag.ReferencedImageSequence);
+        for (int i = 0; i < 3; i++) {
+            DicomObject item = DicomObject.newDicomObject();
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4." + i);
+            seq.addItem(item);
+        }
+        data.setBytes(Tag.PixelData, VR.OW, new byte[]{1, 2, 3, 4, 5, 6});
+        long hash = data.contentHash();
+        DicomObject evrle = parse(data, DicomEncoding.EVR_LE, DicomOutputStream.LengthEncoding.UNDEFINED, false);
+        DicomObject ivrle = parse(data, DicomEncoding.IVR_LE, DicomOutputStream.LengthEncoding.EXPLICIT, true);
+        DicomObject evrbe = parse(data, DicomEncoding.EVR_BE, DicomOutputStream.LengthEncoding.EXPLICIT, false);
+        assertEquals(hash, evrle.contentHash());
+        assertEquals(hash, ivrle.contentHash());
+        assertEquals(hash, evrbe.contentHash());
+        assertTrue(data.contentEquals(ivrle));
+        assertTrue(ivrle.contentEquals(evrbe));
+        evrbe.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail).getItem(2)
+                .setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4.5");
+        assertNotEquals(hash, evrbe.contentHash());
+        assertFalse(evrle.contentEquals(evrbe));
+        ivrle.setInt(Tag.Columns, VR.US, 512);
+        assertFalse(data.contentEquals(ivrle));
+        assertFalse(ivrle.contentEquals(data));
+    }
+
+    @Test
+    void contentEqualsIgnoresImplicitVR() throws IOException {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setInt(Tag.Rows, VR.SS, -1);
+        data.setString(0x00090010, VR.LO, "PRIVATE");
+        data.setString(0x00091010, VR.LO, "VALUE");
+        data.setBytes(Tag.PixelData, VR.OB, new byte[]{1, 2, 3, 4, 5, 6});
+        DicomObject ivrle = parse(data, DicomEncoding.IVR_LE, DicomOutputStream.LengthEncoding.UNDEFINED, false);
+        assertEquals(VR.US, ivrle.get(Tag.Rows).orElseGet(Assertions::fail).vr());
+        assertEquals(VR.UN, ivrle.get(0x00091010).orElseGet(Assertions::fail).vr());
+        assertEquals(VR.OW, ivrle.get(Tag.PixelData).orElseGet(Assertions::fail).vr());
+        assertTrue(data.contentEquals(ivrle));
+        assertTrue(ivrle.contentEquals(data));
+        assertEquals(data.contentHash(), ivrle.contentHash());
+        assertTrue(data.diff(ivrle).isEmpty());
+        ivrle.setBytes(Tag.PixelData, VR.OW, new byte[]{1, 2, 3, 4, 5, 7});
+        assertFalse(data.contentEquals(ivrle));
+        assertNotEquals(data.contentHash(), ivrle.contentHash());
+    }
+
+    @Test
+    void contentEqualsComparesVR() {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.PatientID, VR.LO, "P1");
+        DicomObject other = DicomObject.newDicomObject();
+        other.setString(Tag.PatientID, VR.SH, "P1");
+        assertFalse(data.contentEquals(other));
+        assertFalse(data.diff(other).isEmpty());
+        DicomObject seq = DicomObject.newDicomObject();
+        seq.newDicomSequence(Tag.PatientID);
+        DicomObject un = DicomObject.newDicomObject();
+        un.setBytes(Tag.PatientID, VR.UN, new byte[0]);
+        assertFalse(seq.contentEquals(un));
+    }
+
+    @Test
+    void merge() {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        data.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        data.newDicomSequence(Tag.ReferencedImageSequence).addItem(referencedImage("1.2.3.4.1", 0));
+        DicomObject update = DicomObject.newDicomObject();
+        update.setString(Tag.PatientName, VR.PN, "Simpson^Bart");
+        update.setString(Tag.PatientID, VR.LO, "P1");
+        DicomElement seq = update.newDicomSequence(Tag.ReferencedImageSequence);
+        seq.addItem(referencedImage("1.2.3.4.2", 1));
+        seq.addItem(referencedImage("1.2.3.4.3", 2));
+
+        DicomObject onlyIfAbsent = copy(data);
+        assertEquals(1, onlyIfAbsent.merge(update, MergePolicy.ONLY_IF_ABSENT));
+        assertEquals("Simpson^Homer", onlyIfAbsent.getString(Tag.PatientName).orElseGet(Assertions::fail));
+        assertEquals("P1", onlyIfAbsent.getString(Tag.PatientID).orElseGet(Assertions::fail));
+        assertEquals(1, onlyIfAbsent.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail).size());
+
+        DicomObject keep = copy(data);
+        assertEquals(2, keep.merge(update, MergePolicy.KEEP));
+        assertEquals("Simpson^Homer", keep.getString(Tag.PatientName).orElseGet(Assertions::fail));
+        DicomElement keepSeq = keep.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        assertEquals(2, keepSeq.size());
+        assertEquals("1.2.3.4.1", keepSeq.getItem(0).getString(Tag.ReferencedSOPInstanceUID)
+                .orElseGet(Assertions::fail));
+        assertEquals(0, keepSeq.getItem(0).getInt(Tag.ReferencedFrameNumber).orElseGet(Assertions::fail));
+        assertSame(keep, keepSeq.getItem(1).getParent().orElseGet(Assertions::fail));
+
+        DicomObject replace = copy(data);
+        assertEquals(3, replace.merge(update, MergePolicy.REPLACE));
+        assertEquals("Simpson^Bart", replace.getString(Tag.PatientName).orElseGet(Assertions::fail));
+        assertEquals("1.2.3.4", replace.getString(Tag.SOPInstanceUID).orElseGet(Assertions::fail));
+        DicomElement replaceSeq = replace.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        assertEquals(2, replaceSeq.size());
+        assertTrue(replaceSeq.getItem(1).contentEquals(seq.getItem(1)));
+        assertEquals(0, replace.merge(DicomObject.newDicomObject(), MergePolicy.REPLACE));
+    }
+
+    @Test
+    void mergeCopiesElementsIntoTarget() throws IOException {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 192");
+        data.setString(Tag.PatientName, VR.PN, "M\u00fcller");
+        data.setInt(Tag.Rows, VR.US, 512);
+        DicomObject target = DicomObject.newDicomObject();
+        target.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        assertEquals(2, target.merge(
+                parse(data, DicomEncoding.EVR_BE, DicomOutputStream.LengthEncoding.UNDEFINED, false),
+                MergePolicy.ONLY_IF_ABSENT));
+        DicomElement name = target.get(Tag.PatientName).orElseGet(Assertions::fail);
+        assertSame(target, name.containedBy());
+        assertEquals("M\u00fcller", name.stringValue(0).orElseGet(Assertions::fail));
+        assertEquals(6, name.valueLength());
+        DicomElement rows = target.get(Tag.Rows).orElseGet(Assertions::fail);
+        assertSame(target, rows.containedBy());
+        assertEquals(512, rows.intValue(0).orElseGet(Assertions::fail));
+    }
+
+    @Test
+    void diff() {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        data.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        data.setString(Tag.PatientID, VR.LO, "P1");
+        DicomElement seq = data.newDicomSequence(Tag.ReferencedImageSequence);
+        seq.addItem(referencedImage("1.2.3.4.1", 1));
+        seq.addItem(referencedImage("1.2.3.4.2", 2));
+        DicomObject changed = copy(data);
+        assertTrue(data.diff(changed).isEmpty());
+        changed.setString(Tag.PatientName, VR.PN, "Simpson^Bart");
+        changed.setInt(Tag.Rows, VR.US, 512);
+        changed.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail).getItem(1)
+                .setInt(Tag.ReferencedFrameNumber, VR.IS, 3);
+        DicomObject changes = data.diff(changed);
+        assertEquals(3, changes.size());
+        assertEquals("Simpson^Bart", changes.getString(Tag.PatientName).orElseGet(Assertions::fail));
+        DicomElement changedSeq = changes.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        assertTrue(changedSeq.getItem(0).isEmpty());
+        assertEquals(3, changedSeq.getItem(1).getInt(Tag.ReferencedFrameNumber).orElseGet(Assertions::fail));
+        data.merge(changes, MergePolicy.REPLACE);
+        assertTrue(data.contentEquals(changed));
+        changed.merge(data.diff(DicomObject.newDicomObject()), MergePolicy.REPLACE);
+        assertTrue(changed.get(Tag.PatientID).orElseGet(Assertions::fail).isEmpty());
+    }
+
+    private static DicomObject referencedImage(String iuid, int frame) {
+        DicomObject item = DicomObject.newDicomObject();
+        item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, iuid);
+        item.setInt(Tag.ReferencedFrameNumber, VR.IS, frame);
+        return item;
+    }
+
+    private static DicomObject copy(DicomObject data) {
+        DicomObject copy = DicomObject.newDicomObject();
+        copy.merge(data, MergePolicy.REPLACE);
+        return copy;
+    }
+
+    private static DicomObject parse(DicomObject data, DicomEncoding encoding,
+            DicomOutputStream.LengthEncoding lengthEncoding, boolean includeGroupLength) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(encoding)
+                .withSequenceLengthEncoding(lengthEncoding)
+                .withItemLengthEncoding(lengthEncoding)
+                .withIncludeGroupLength(includeGroupLength)) {
+            dos.writeDataSet(data);
+        }
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bout.toByteArray()))
+                .withEncoding(encoding)) {
+            return dis.readDataSet();
+        }
+    }
+
     private static byte[] serialize(DicomObject dcmobj) {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         try (ObjectOutputStream oos = new ObjectOutputStream(out)){
@@ -0,0 +1,56 @@
+package org.dcm4che6.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class ElementDictionaryTest {
+
+    private static final String PRIVATE_CREATOR = "TEST PRIVATE CREATOR";
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<elements>\n" +
+            "  <el tag=\"7777xx10\" keyword=\"PatientCreateDateTime\" vr=\"DT\" vm=\"1\">Patient Create</el>\n" +
+            "  <el tag=\"7777xx28\" keyword=\"StorageIDsOfStudy\" vr=\"LO\" vm=\"1-n\">Storage IDs</el>\n" +
+            "</elements>\n";
+
+    @Test
+    void load() throws IOException {
+        ElementDictionary dict = XMLElementDictionary.load(PRIVATE_CREATOR,
+                new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(PRIVATE_CREATOR, dict.getPrivateCreator());
+        assertEquals(VR.DT, dict.vrOf(0x77771010));
+        assertEquals(VR.LO, dict.vrOf(0x77774228));
+        assertEquals(VR.LO, dict.vrOf(0x77770010));
+        assertEquals(VR.UN, dict.vrOf(0x77771011));
+        assertEquals("PatientCreateDateTime", dict.keywordOf(0x77771010));
+        assertEquals(0x77770010, dict.tagForKeyword("PatientCreateDateTime"));
+    }
+
+    @Test
+    void register() throws IOException {
+        Optional<String> privateCreator = Optional.of(PRIVATE_CREATOR);
+        assertSame(StandardElementDictionary.INSTANCE, ElementDictionary.elementDictionaryOf(privateCreator));
+        assertEquals(VR.UN, ElementDictionary.vrOf(0x77771010, privateCreator));
+        ElementDictionary dict = XMLElementDictionary.load(PRIVATE_CREATOR,
+                new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        ElementDictionary.register(dict);
+        try {
+            assertSame(dict, ElementDictionary.elementDictionaryOf(privateCreator));
+            assertEquals(VR.DT, ElementDictionary.vrOf(0x77771010, privateCreator));
+            ElementDictionary.reload();
+            assertSame(dict, ElementDictionary.elementDictionaryOf(privateCreator));
+        } finally {
+            ElementDictionary.unregister(PRIVATE_CREATOR);
+        }
+        assertSame(StandardElementDictionary.INSTANCE, ElementDictionary.elementDictionaryOf(privateCreator));
+    }
+}
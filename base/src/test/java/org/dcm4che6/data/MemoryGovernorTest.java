@@ -0,0 +1,94 @@
+package org.dcm4che6.data;
+
+import org.dcm4che6.io.DicomEncoding;
+import org.dcm4che6.io.DicomInputStream;
+import org.dcm4che6.io.DicomOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class MemoryGovernorTest {
+
+    private static final int ITEMS = 100;
+
+    @Test
+    void govern() throws IOException {
+        DicomObject dcmObj = parse(Tag.ReferencedImageSequence);
+        MemoryGovernor governor = MemoryGovernor.newMemoryGovernor(Long.MAX_VALUE);
+        governor.govern(dcmObj);
+        long retainedBytes = governor.getRetainedBytes();
+        assertTrue(retainedBytes > 0);
+        DicomElement seq = dcmObj.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(uid(i), seq.getItem(i).getString(Tag.ReferencedSOPInstanceUID).orElseGet(Assertions::fail));
+        }
+        assertTrue(governor.getRetainedBytes() > retainedBytes);
+        governor.setBudget(retainedBytes + 1000);
+        assertTrue(governor.getRetainedBytes() <= retainedBytes + 1000);
+        assertTrue(governor.getPurgedItems() > 0);
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(uid(i), seq.getItem(i).getString(Tag.ReferencedSOPInstanceUID).orElseGet(Assertions::fail));
+        }
+        assertTrue(governor.getRetainedBytes() <= retainedBytes + 1000);
+        governor.release(dcmObj);
+        assertEquals(0, governor.getRetainedBytes());
+    }
+
+    @Test
+    void modifiedItemsAreNotPurged() throws IOException {
+        DicomObject dcmObj = parse(0);
+        DicomElement seq = dcmObj.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        seq.getItem(0).setString(Tag.ReferencedSOPClassUID, VR.UI, "1.2.3");
+        MemoryGovernor governor = MemoryGovernor.newMemoryGovernor(1);
+        governor.govern(dcmObj);
+        assertEquals(ITEMS - 1, governor.getPurgedItems());
+        assertEquals("1.2.3", seq.getItem(0).getString(Tag.ReferencedSOPClassUID).orElseGet(Assertions::fail));
+    }
+
+    @Test
+    void itemsWithRemovedElementsAreNotPurged() throws IOException {
+        DicomObject dcmObj = parse(0);
+        DicomElement seq = dcmObj.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        Iterator<DicomElement> iter = seq.getItem(0).iterator();
+        iter.next();
+        iter.remove();
+        MemoryGovernor governor = MemoryGovernor.newMemoryGovernor(1);
+        governor.govern(dcmObj);
+        assertEquals(ITEMS - 1, governor.getPurgedItems());
+        assertEquals(1, seq.getItem(0).size());
+    }
+
+    private static DicomObject parse(int lazySeqTag) throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        DicomElement seq = dcmObj.newDicomSequence(Tag.ReferencedImageSequence);
+        for (int i = 0; i < ITEMS; i++) {
+            DicomObject item = DicomObject.newDicomObject();
+            item.setString(Tag.ReferencedSOPClassUID, VR.UI, UID.CTImageStorage);
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, uid(i));
+            seq.addItem(item);
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bout.toByteArray()))
+                .withEncoding(DicomEncoding.EVR_LE)
+                .withParseItemsLazy(lazySeqTag)) {
+            return dis.readDataSet();
+        }
+    }
+
+    private static String uid(int i) {
+        return "1.2.3.4." + (i + 1);
+    }
+}
@@ -12,9 +12,14 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -164,6 +169,70 @@ class VRTest {
         testBinaryVR(Tag.SelectorUSValue, VR.US, UINT_STRS, UINTS, US_LE, US_BE);
     }
 
+    @Test
+    void IS() throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setInt(Tag.SelectorISValue, VR.IS, INTS);
+        assertArrayEquals(INTS, forEachIntValue(dcmObj.get(Tag.SelectorISValue).orElseGet(Assertions::fail)));
+        dcmObj = parseDicomObject(toBytes(dcmObj, DicomEncoding.IVR_LE), DicomEncoding.IVR_LE);
+        DicomElement el = dcmObj.get(Tag.SelectorISValue).orElseGet(Assertions::fail);
+        assertArrayEquals(INTS, forEachIntValue(el));
+        assertArrayEquals(INTS, el.intValues());
+        assertArrayEquals(INT_STRS, forEachStringValue(el));
+    }
+
+    @Test
+    void DS() throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SelectorDSValue, VR.DS, " 1.5", "", "-2E3 ");
+        DicomElement el = dcmObj.get(Tag.SelectorDSValue).orElseGet(Assertions::fail);
+        assertArrayEquals(new String[]{"1.5", "", "-2E3"}, forEachStringValue(el));
+        dcmObj.setDouble(Tag.SelectorDSValue, VR.DS, 1.5, 0.25, -2000.);
+        dcmObj = parseDicomObject(toBytes(dcmObj, DicomEncoding.IVR_LE), DicomEncoding.IVR_LE);
+        el = dcmObj.get(Tag.SelectorDSValue).orElseGet(Assertions::fail);
+        assertArrayEquals(new double[]{1.5, 0.25, -2000.}, el.doubleValues());
+        assertArrayEquals(new double[]{1.5, 0.25, -2000.}, forEachDoubleValue(el));
+    }
+
+    @Test
+    void DSParsedLikeDoubleParseDouble() {
+        String[] strs = {
+                "0", "-0", "+1", "1.", ".5", "-.5E-3", "0.1", "3.14159265358979", "123456789012345",
+                "1234567890123456", "0.000000000000000000001", "1e22", "1E23", "-2.5e-22", "9.999999999999999e-5",
+                "1.7976931348623157E308", "4.9E-324", "0.30000000000000004", "1e+2", "00012.500"
+        };
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SelectorDSValue, VR.DS, strs);
+        double[] doubles = dcmObj.get(Tag.SelectorDSValue).orElseGet(Assertions::fail).doubleValues();
+        for (int i = 0; i < strs.length; i++) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(strs[i])), Double.doubleToLongBits(doubles[i]),
+                    strs[i]);
+        }
+        dcmObj.setString(Tag.SelectorDSValue, VR.DS, "1.5x");
+        assertThrows(NumberFormatException.class, () -> dcmObj.getDouble(Tag.SelectorDSValue));
+    }
+
+    private static int[] forEachIntValue(DicomElement el) {
+        IntStream.Builder builder = IntStream.builder();
+        el.forEachIntValue(builder);
+        return builder.build().toArray();
+    }
+
+    private static double[] forEachDoubleValue(DicomElement el) {
+        DoubleStream.Builder builder = DoubleStream.builder();
+        el.forEachDoubleValue(builder);
+        return builder.build().toArray();
+    }
+
+    private static String[] forEachStringValue(DicomElement el) {
+        List<String> list = new ArrayList<>();
+        el.forEachStringValue((value, number) -> {
+            list.add(value);
+            assertEquals(list.size(), number);
+        });
+        return list.toArray(String[]::new);
+    }
+
     private static void testBinaryVR(int tag, VR vr, String[] strs, int[] vals, byte[] bLE, byte[] bBE)
             throws IOException {
         testBinaryVR(tag, vr, strs, vals, bLE, bBE, toFloats(vals), bLE, bBE);
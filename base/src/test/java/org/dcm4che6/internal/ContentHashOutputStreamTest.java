@@ -0,0 +1,43 @@
+package org.dcm4che6.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class ContentHashOutputStreamTest {
+
+    @Test
+    void getValue() {
+        assertEquals(0xEF46DB3751D8E999L, hash(new byte[0]));
+        assertEquals(0x44BC2CF5AD770999L, hash("abc".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void writeInChunks() {
+        byte[] b = new byte[1000];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (byte) (i * 31);
+        }
+        ContentHashOutputStream out = new ContentHashOutputStream();
+        for (int off = 0, len = 1; off < b.length; off += len, len = Math.min(len + 7, b.length - off)) {
+            out.write(b, off, len);
+        }
+        out.write(0);
+        ContentHashOutputStream expected = new ContentHashOutputStream();
+        expected.write(b, 0, b.length);
+        expected.write(new byte[1], 0, 1);
+        assertEquals(expected.getValue(), out.getValue());
+    }
+
+    private static long hash(byte[] b) {
+        ContentHashOutputStream out = new ContentHashOutputStream();
+        out.write(b, 0, b.length);
+        return out.getValue();
+    }
+}
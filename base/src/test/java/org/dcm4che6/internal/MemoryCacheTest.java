@@ -12,6 +12,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,6 +68,52 @@ public class MemoryCacheTest {
         assertArrayEquals(SWAPPED, writeSwappedBytesTo(cache, POS_BYTES, SWAPPED.length, ToggleByteOrder.SHORT, buf));
     }
 
+    @Test
+    void skipBytesAcrossBlocks() throws IOException {
+        byte[] buf = new byte[4096];
+        for (int i = 0; i < buf.length; i++) {
+            buf[i] = (byte) i;
+        }
+        InputStream in = new ByteArrayInputStream(buf);
+        MemoryCache cache = new MemoryCache();
+        assertEquals(1000, cache.loadFromStream(1000, in));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.skipBytes(200, 600, in, out);
+        assertArrayEquals(Arrays.copyOfRange(buf, 200, 800), out.toByteArray());
+        assertEquals((byte) 199, cache.byteAt(199));
+        assertEquals((byte) 800, cache.byteAt(800));
+        assertEquals(2000, cache.loadFromStream(2000, in));
+        out.reset();
+        cache.skipBytes(1000, 3000, in, out);
+        assertArrayEquals(Arrays.copyOfRange(buf, 1000, 4000), out.toByteArray());
+        assertEquals((byte) 999, cache.byteAt(999));
+        assertEquals(4001, cache.loadFromStream(4001, in));
+        assertEquals((byte) 4000, cache.byteAt(4000));
+        assertEquals(4096, cache.loadFromStream(Integer.MAX_VALUE, in));
+        assertEquals((byte) 4095, cache.byteAt(4095));
+    }
+
+    @Test
+    void inflateReadAheadAcrossBlocks() throws IOException {
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 7);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[POS_BYTES]);
+        try (PooledDeflaterOutputStream deflater = new PooledDeflaterOutputStream(out, Deflater.BEST_SPEED)) {
+            deflater.write(data);
+        }
+        MemoryCache cache = new MemoryCache();
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(POS_BYTES, cache.loadFromStream(POS_BYTES, in));
+        in = cache.inflate(POS_BYTES, in);
+        assertEquals(POS_BYTES + data.length, cache.loadFromStream(Integer.MAX_VALUE, in));
+        assertArrayEquals(data, cache.bytesAt(POS_BYTES, data.length));
+        assertEquals(-1, in.read());
+        in.close();
+    }
+
     private byte[] writeBytesTo(MemoryCache cache, int pos, int len) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         cache.writeBytesTo(pos, len, out);
@@ -0,0 +1,83 @@
+package org.dcm4che6.internal;
+
+import org.dcm4che6.data.DicomElement;
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.UID;
+import org.dcm4che6.data.VR;
+import org.dcm4che6.io.DicomEncoding;
+import org.dcm4che6.io.DicomInputStream;
+import org.dcm4che6.io.DicomOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class MemoryGovernorImplTest {
+
+    private static final int ITEMS = 10;
+
+    @Test
+    void releaseRemovesItemsFromClock() throws Exception {
+        MemoryGovernorImpl governor = new MemoryGovernorImpl(Long.MAX_VALUE);
+        DicomObject dcmObj = parse();
+        governor.govern(dcmObj);
+        assertEquals(ITEMS, governor.clockSize());
+        WeakReference<DicomObject> ref = new WeakReference<>(dcmObj);
+        governor.release(dcmObj);
+        dcmObj = null;
+        assertEquals(0, governor.clockSize());
+        assertEquals(0, governor.getRetainedBytes());
+        for (int i = 0; i < 100 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+    }
+
+    @Test
+    void writeWithGroupLengthKeepsItemsPurgeable() throws IOException {
+        MemoryGovernorImpl governor = new MemoryGovernorImpl(Long.MAX_VALUE);
+        DicomObject dcmObj = parse();
+        governor.govern(dcmObj);
+        try (DicomOutputStream dos = new DicomOutputStream(new ByteArrayOutputStream())
+                .withEncoding(DicomEncoding.EVR_LE)
+                .withIncludeGroupLength(true)) {
+            dos.writeDataSet(dcmObj);
+        }
+        DicomElement seq = dcmObj.get(Tag.ReferencedImageSequence).orElseThrow();
+        for (int i = 0; i < ITEMS; i++) {
+            assertTrue(((DicomObjectImpl) seq.getItem(i)).isPurgeable());
+        }
+        governor.setBudget(1);
+        assertEquals(ITEMS, governor.getPurgedItems());
+        assertEquals(0, governor.clockSize());
+    }
+
+    private static DicomObject parse() throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        DicomElement seq = dcmObj.newDicomSequence(Tag.ReferencedImageSequence);
+        for (int i = 0; i < ITEMS; i++) {
+            DicomObject item = DicomObject.newDicomObject();
+            item.setString(Tag.ReferencedSOPClassUID, VR.UI, UID.CTImageStorage);
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4." + (i + 1));
+            seq.addItem(item);
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bout.toByteArray()))
+                .withEncoding(DicomEncoding.EVR_LE)) {
+            return dis.readDataSet();
+        }
+    }
+}
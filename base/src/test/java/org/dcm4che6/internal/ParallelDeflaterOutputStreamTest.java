@@ -0,0 +1,118 @@
+package org.dcm4che6.internal;
+
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.dcm4che6.io.DicomEncoding;
+import org.dcm4che6.io.DicomInputStream;
+import org.dcm4che6.io.DicomOutputStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class ParallelDeflaterOutputStreamTest {
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void deflate() throws IOException {
+        byte[] data = testData(1_000_000);
+        assertArrayEquals(data, inflate(deflate(data, true)));
+        assertArrayEquals(data, inflate(deflate(data, false)));
+        assertArrayEquals(new byte[0], inflate(deflate(new byte[0], true)));
+    }
+
+    @Test
+    void flush() throws IOException {
+        byte[] data = testData(100_000);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(
+                bout, executor, Deflater.DEFAULT_COMPRESSION, 0x8000, true)) {
+            out.write(data, 0, 1000);
+            out.flush();
+            out.write(data, 1000, data.length - 1000);
+        }
+        assertArrayEquals(data, inflate(bout.toByteArray()));
+    }
+
+    @Test
+    void writeDataSet() throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        dcmObj.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        dcmObj.setBytes(Tag.PixelData, VR.OB, testData(300_000));
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout)
+                .withDeflateExecutor(executor)
+                .withDeflateBlockSize(0x10000)
+                .withDeflateLevel(Deflater.BEST_SPEED)
+                .withEncoding(DicomEncoding.DEFL_EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        DicomObject parsed;
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(bout.toByteArray()))
+                .withEncoding(DicomEncoding.DEFL_EVR_LE)) {
+            parsed = dis.readDataSet();
+        }
+        assertArrayEquals(encode(dcmObj), encode(parsed));
+    }
+
+    private static byte[] encode(DicomObject dcmObj) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        return bout.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean primeDictionary) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(
+                bout, executor, Deflater.DEFAULT_COMPRESSION, 0x8000, primeDictionary)) {
+            out.write(data);
+        }
+        return bout.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] deflated) throws IOException {
+        try (InflaterInputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(deflated), new Inflater(true))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] testData(int length) {
+        Random random = new Random(length);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('A' + random.nextInt(8));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,47 @@
+package org.dcm4che6.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class ZlibPoolTest {
+
+    @Test
+    void reuseDeflater() throws Exception {
+        byte[] data = "ABABABABABABABABABABABABABABABAB".getBytes();
+        byte[] compressed = new byte[64];
+        Deflater deflater = ZlibPool.deflater(Deflater.BEST_SPEED, true);
+        deflater.setInput(data);
+        deflater.finish();
+        int len = deflater.deflate(compressed);
+        ZlibPool.release(deflater, Deflater.BEST_SPEED, true);
+        Deflater reused = ZlibPool.deflater(Deflater.BEST_SPEED, true);
+        assertSame(deflater, reused);
+        assertEquals(0, reused.getTotalIn());
+        reused.setInput(data);
+        reused.finish();
+        byte[] compressed2 = new byte[64];
+        assertEquals(len, reused.deflate(compressed2));
+        assertArrayEquals(compressed, compressed2);
+        ZlibPool.release(reused, Deflater.BEST_SPEED, true);
+        assertNotSame(deflater, ZlibPool.deflater(Deflater.BEST_SPEED, false));
+        assertNotSame(deflater, ZlibPool.deflater(Deflater.BEST_COMPRESSION, true));
+    }
+
+    @Test
+    void reuseInflater() throws Exception {
+        Inflater inflater = ZlibPool.inflater(true);
+        ZlibPool.release(inflater, true);
+        Inflater reused = ZlibPool.inflater(true);
+        assertSame(inflater, reused);
+        assertTrue(reused.needsInput());
+        ZlibPool.release(reused, true);
+    }
+}
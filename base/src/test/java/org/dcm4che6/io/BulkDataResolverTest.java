@@ -0,0 +1,144 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataResolverTest {
+
+    private static final int OFFSET = 100;
+    private static final int LENGTH = 20000;
+    private static Path path;
+    private static byte[] content;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        content = new byte[OFFSET + LENGTH];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7);
+        }
+        path = Files.createTempFile(null, ".blk");
+        Files.write(path, content);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void parse() {
+        BulkDataURI uri = BulkDataURI.parse("file:///x.blk#offset=4294967296&length=256&endian=big");
+        assertEquals("file:///x.blk", uri.location());
+        assertEquals(4294967296L, uri.offset());
+        assertEquals(256, uri.length());
+        assertEquals(ByteOrder.BIG_ENDIAN, uri.byteOrder());
+        BulkDataURI uri2 = BulkDataURI.parse("http://host/x");
+        assertEquals(0L, uri2.offset());
+        assertEquals(-1, uri2.length());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, uri2.byteOrder());
+        assertNull(uri2.path());
+    }
+
+    @Test
+    void transferTo() throws IOException {
+        byte[] expected = Arrays.copyOfRange(content, OFFSET, OFFSET + LENGTH);
+        assertArrayEquals(expected, writeBulkData(BulkDataResolver.getDefault(), ""));
+        try (BulkDataResolver resolver = BulkDataResolver.newCachingResolver(1)) {
+            assertArrayEquals(expected, writeBulkData(resolver, ""));
+            assertArrayEquals(expected, writeBulkData(resolver, ""));
+        }
+    }
+
+    @Test
+    void transferToFile() throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setBulkData(Tag.PixelData, VR.OB, path.toUri() + "#offset=" + OFFSET + "&length=" + LENGTH, null);
+        Path dest = Files.createTempFile(null, ".dcm");
+        try {
+            try (DicomOutputStream dos = new DicomOutputStream(new FileOutputStream(dest.toFile()))
+                    .withEncoding(DicomEncoding.EVR_LE)) {
+                dos.writeDataSet(dcmObj);
+            }
+            byte[] b = Files.readAllBytes(dest);
+            assertArrayEquals(Arrays.copyOfRange(content, OFFSET, OFFSET + LENGTH),
+                    Arrays.copyOfRange(b, 12, b.length));
+        } finally {
+            Files.delete(dest);
+        }
+    }
+
+    @Test
+    void transferSwapped() throws IOException {
+        byte[] expected = Arrays.copyOfRange(content, OFFSET, OFFSET + LENGTH);
+        for (int i = 0; i < expected.length; i += 2) {
+            byte b = expected[i];
+            expected[i] = expected[i + 1];
+            expected[i + 1] = b;
+        }
+        try (BulkDataResolver resolver = BulkDataResolver.newCachingResolver(1)) {
+            assertArrayEquals(expected, writeBulkData(resolver, "&endian=big"));
+        }
+    }
+
+    @Test
+    void openStream() throws IOException {
+        try (BulkDataResolver resolver = BulkDataResolver.newCachingResolver(1)) {
+            BulkDataURI uri = BulkDataURI.parse(path.toUri() + "#offset=" + OFFSET);
+            try (InputStream in1 = resolver.openStream(uri);
+                 InputStream in2 = resolver.openStream(uri)) {
+                assertEquals(content[OFFSET] & 0xff, in1.read());
+                assertEquals(content[OFFSET] & 0xff, in2.read());
+                assertEquals(content[OFFSET + 1] & 0xff, in1.read());
+            }
+        }
+    }
+
+    @Test
+    void releaseUnknownChannel() throws IOException {
+        try (CachingBulkDataResolver resolver = new CachingBulkDataResolver(1);
+             FileChannel foreign = FileChannel.open(path)) {
+            assertThrows(IllegalArgumentException.class, () -> resolver.release(foreign));
+            FileChannel channel = resolver.acquire(path);
+            resolver.release(channel);
+            assertThrows(IllegalArgumentException.class, () -> resolver.release(channel));
+            assertSame(channel, resolver.acquire(path));
+            resolver.acquire(path);
+            resolver.release(channel);
+            resolver.release(channel);
+            assertTrue(channel.isOpen());
+        }
+    }
+
+    private static byte[] writeBulkData(BulkDataResolver resolver, String params) throws IOException {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setBulkData(Tag.PixelData, VR.OW,
+                path.toUri() + "#offset=" + OFFSET + "&length=" + LENGTH + params, null);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout)
+                .withBulkDataResolver(resolver)
+                .withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        byte[] b = bout.toByteArray();
+        return Arrays.copyOfRange(b, 12, b.length);
+    }
+}
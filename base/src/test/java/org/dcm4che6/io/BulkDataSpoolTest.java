@@ -0,0 +1,136 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataSpoolTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("spool");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) files::iterator)
+                Files.delete(path);
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void keepInMemory() throws IOException {
+        byte[] encoded = encode(dataset(100_000));
+        try (BulkDataSpooler spooler = new BulkDataSpooler(dir)) {
+            DicomInputStream dis = parse(encoded, spooler);
+            DicomObject parsed = dis.readDataSet();
+            dis.close();
+            try (BulkDataSpool spool = dis.getBulkDataSpool()) {
+                assertFalse(spool.isSpilled());
+                assertEquals(100_000, spool.memoryLength());
+                assertEquals(2 * BulkDataSpooler.CHUNK_SIZE, spooler.getMemoryInUse());
+                assertArrayEquals(encoded, encode(parsed));
+                assertEquals(0, fileCount());
+            }
+            assertEquals(0, spooler.getMemoryInUse());
+        }
+    }
+
+    @Test
+    void spillBeyondObjectThreshold() throws IOException {
+        byte[] encoded = encode(dataset(300_000));
+        try (BulkDataSpooler spooler = new BulkDataSpooler(dir)
+                .withMaxMemoryPerObject(BulkDataSpooler.CHUNK_SIZE)
+                .withSegmentSize(BulkDataSpooler.CHUNK_SIZE * 2)) {
+            for (int i = 0; i < 2; i++) {
+                try (DicomInputStream dis = parse(encoded, spooler)) {
+                    DicomObject parsed = dis.readDataSet();
+                    try (BulkDataSpool spool = dis.getBulkDataSpool()) {
+                        assertTrue(spool.isSpilled());
+                        assertEquals(BulkDataSpooler.CHUNK_SIZE, spool.memoryLength());
+                        assertArrayEquals(encoded, encode(parsed));
+                        String uri = parsed.get(Tag.PixelData).orElseGet(Assertions::fail).bulkDataURI();
+                        try (InputStream in = spool.openStream(BulkDataURI.parse(uri))) {
+                            assertEquals(300_000, in.readAllBytes().length);
+                        }
+                    }
+                }
+                assertEquals(2, fileCount());
+            }
+        }
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    void spillBeyondGlobalThreshold() throws IOException {
+        byte[] encoded = encode(dataset(1000));
+        try (BulkDataSpooler spooler = new BulkDataSpooler(dir).withMaxMemory(BulkDataSpooler.CHUNK_SIZE)) {
+            try (DicomInputStream dis1 = parse(encoded, spooler);
+                 DicomInputStream dis2 = parse(encoded, spooler)) {
+                DicomObject parsed1 = dis1.readDataSet();
+                DicomObject parsed2 = dis2.readDataSet();
+                try (BulkDataSpool spool1 = dis1.getBulkDataSpool();
+                     BulkDataSpool spool2 = dis2.getBulkDataSpool()) {
+                    assertFalse(spool1.isSpilled());
+                    assertTrue(spool2.isSpilled());
+                    assertArrayEquals(encoded, encode(parsed1));
+                    assertArrayEquals(encoded, encode(parsed2));
+                }
+            }
+        }
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static DicomInputStream parse(byte[] encoded, BulkDataSpooler spooler) throws IOException {
+        return new DicomInputStream(new ByteArrayInputStream(encoded))
+                .withEncoding(DicomEncoding.EVR_LE)
+                .withBulkData(DicomInputStream::isBulkData)
+                .spoolBulkData(spooler);
+    }
+
+    private static DicomObject dataset(int pixelDataLength) {
+        byte[] pixelData = new byte[pixelDataLength];
+        for (int i = 0; i < pixelData.length; i++) {
+            pixelData[i] = (byte) i;
+        }
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        dcmObj.setBytes(Tag.PixelData, VR.OB, pixelData);
+        return dcmObj;
+    }
+
+    private static byte[] encode(DicomObject dcmObj) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        return bout.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class BulkDataStoreTest {
+
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("store");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    void deduplicate() throws IOException {
+        BulkDataStore store = new BulkDataStore(root);
+        byte[] encoded1 = encode(dataset("1.2.3.1", 200_000));
+        byte[] encoded2 = encode(dataset("1.2.3.2", 200_000));
+        DicomObject parsed1 = parse(encoded1, store);
+        DicomObject parsed2 = parse(encoded2, store);
+        assertEquals(1, store.getStoredValues());
+        assertEquals(200_000, store.getStoredBytes());
+        assertEquals(1, store.getDeduplicatedValues());
+        assertEquals(200_000, store.getDeduplicatedBytes());
+        String uri1 = parsed1.get(Tag.PixelData).orElseGet(Assertions::fail).bulkDataURI();
+        String uri2 = parsed2.get(Tag.PixelData).orElseGet(Assertions::fail).bulkDataURI();
+        assertEquals(uri1, uri2);
+        assertTrue(uri1.startsWith(root.toUri().toString()));
+        assertTrue(uri1.endsWith("#length=200000"));
+        assertArrayEquals(encoded1, encode(parsed1));
+        assertArrayEquals(encoded2, encode(parsed2));
+        assertEquals(1, storedFiles());
+    }
+
+    @Test
+    void deduplicateBuffered() throws IOException {
+        BulkDataStore store = new BulkDataStore(root);
+        byte[] encoded = encode(dataset("1.2.3.1", 1000));
+        DicomObject parsed1 = parse(encoded, store);
+        DicomObject parsed2 = parse(encoded, store);
+        assertEquals(1, store.getStoredValues());
+        assertEquals(1, store.getDeduplicatedValues());
+        assertArrayEquals(encoded, encode(parsed1));
+        assertArrayEquals(encoded, encode(parsed2));
+        assertEquals(1, storedFiles());
+    }
+
+    private long storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static DicomObject parse(byte[] encoded, BulkDataStore store) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(encoded))
+                .withEncoding(DicomEncoding.EVR_LE)
+                .withBulkData(DicomInputStream::isBulkData)
+                .storeBulkData(store)) {
+            return dis.readDataSet();
+        }
+    }
+
+    private static DicomObject dataset(String iuid, int pixelDataLength) {
+        byte[] pixelData = new byte[pixelDataLength];
+        for (int i = 0; i < pixelData.length; i++) {
+            pixelData[i] = (byte) (i * 3);
+        }
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SOPInstanceUID, VR.UI, iuid);
+        dcmObj.setBytes(Tag.PixelData, VR.OB, pixelData);
+        return dcmObj;
+    }
+
+    private static byte[] encode(DicomObject dcmObj) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dcmObj);
+        }
+        return bout.toByteArray();
+    }
+}
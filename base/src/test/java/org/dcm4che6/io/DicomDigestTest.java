@@ -0,0 +1,113 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.DicomObject;
+import org.dcm4che6.data.Tag;
+import org.dcm4che6.data.VR;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class DicomDigestTest {
+
+    private static final int PIXEL_DATA_LENGTH = 100_000;
+
+    @Test
+    void digestNativePixelData() throws Exception {
+        DicomDigest writeDigest = DicomDigest.newDicomDigest(DicomDigest.Algorithm.SHA_256, true);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withDigest(writeDigest)
+                .withEncoding(DicomEncoding.EVR_LE)) {
+            dos.writeDataSet(dataset());
+        }
+        byte[] b = bout.toByteArray();
+        int pixelDataStart = b.length - PIXEL_DATA_LENGTH;
+        assertDigests(writeDigest, "SHA-256", b, pixelDataStart, b.length);
+
+        DicomDigest readDigest = DicomDigest.newDicomDigest(DicomDigest.Algorithm.SHA_256, true);
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(b)).withDigest(readDigest)
+                .withEncoding(DicomEncoding.EVR_LE)) {
+            dis.readDataSet();
+        }
+        assertDigests(readDigest, "SHA-256", b, pixelDataStart, b.length);
+    }
+
+    @Test
+    void digestEncapsulatedPixelData() throws Exception {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(DicomEncoding.EVR_LE)) {
+            DicomObject dcmObj = DicomObject.newDicomObject();
+            dcmObj.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+            dos.writeDataSet(dcmObj);
+            dos.writeHeader(Tag.PixelData, VR.OB, -1);
+            dos.writeHeader(Tag.Item, VR.NONE, 0);
+            dos.writeHeader(Tag.Item, VR.NONE, PIXEL_DATA_LENGTH);
+            dos.write(new byte[PIXEL_DATA_LENGTH]);
+            dos.writeHeader(Tag.SequenceDelimitationItem, VR.NONE, 0);
+        }
+        byte[] b = bout.toByteArray();
+        int pixelDataStart = 16 + 12;
+        DicomDigest readDigest = DicomDigest.newDicomDigest(DicomDigest.Algorithm.MD5, true);
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(b)).withDigest(readDigest)
+                .withEncoding(DicomEncoding.EVR_LE)) {
+            dis.readDataSet();
+        }
+        assertDigests(readDigest, "MD5", b, pixelDataStart, b.length);
+    }
+
+    @Test
+    void crc32c() throws IOException {
+        DicomDigest digest = DicomDigest.newDicomDigest(DicomDigest.Algorithm.CRC32C);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withDigest(digest)
+                .withEncoding(DicomEncoding.DEFL_EVR_LE)) {
+            dos.writeDataSet(dataset());
+        }
+        byte[] b = bout.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(b);
+        long value = crc.getValue();
+        assertArrayEquals(new byte[]{ (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8),
+                (byte) value }, digest.getDigest());
+        assertEquals(b.length, digest.getLength());
+        assertFalse(digest.getMetadataDigest().isPresent());
+    }
+
+    private static DicomObject dataset() {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        dcmObj.setString(Tag.PatientName, VR.PN, "Doe^John");
+        DicomObject item = DicomObject.newDicomObject();
+        item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4.1");
+        dcmObj.newDicomSequence(Tag.ReferencedImageSequence).addItem(item);
+        byte[] pixelData = new byte[PIXEL_DATA_LENGTH];
+        for (int i = 0; i < pixelData.length; i++) {
+            pixelData[i] = (byte) (i * 7);
+        }
+        dcmObj.setBytes(Tag.PixelData, VR.OB, pixelData);
+        return dcmObj;
+    }
+
+    private static void assertDigests(DicomDigest digest, String algorithm, byte[] b, int pixelDataStart,
+            int pixelDataEnd) throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance(algorithm);
+        assertArrayEquals(md.digest(b), digest.getDigest());
+        md.update(b, 0, pixelDataStart);
+        md.update(b, pixelDataEnd, b.length - pixelDataEnd);
+        assertArrayEquals(md.digest(), digest.getMetadataDigest().orElseThrow());
+        assertArrayEquals(md.digest(Arrays.copyOfRange(b, pixelDataStart, pixelDataEnd)),
+                digest.getPixelDataDigest().orElseThrow());
+        assertEquals(b.length, digest.getLength());
+    }
+}
@@ -152,6 +152,96 @@ class DicomOutputStreamTest {
                     data));
     }
 
+    @Test
+    void withElementFilter() throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout)
+                .withEncoding(DicomEncoding.IVR_LE)
+                .withIncludeGroupLength(true)
+                .withSequenceLengthEncoding(DicomOutputStream.LengthEncoding.EXPLICIT)
+                .withItemLengthEncoding(DicomOutputStream.LengthEncoding.EXPLICIT)
+                .withElementFilter(ElementFilter.exclude(Tag.PixelData)
+                        .and(ElementFilter.excludePrivate())
+                        .and(ElementFilter.excludePath(Tag.ReferencedImageSequence, Tag.ReferencedFrameNumber)))
+        ) {
+            dos.writeDataSet(filterTestData(true));
+        }
+        assertArrayEquals(
+                writeDataset(DicomEncoding.IVR_LE, true,
+                        DicomOutputStream.LengthEncoding.EXPLICIT,
+                        DicomOutputStream.LengthEncoding.EXPLICIT,
+                        filterTestData(false)),
+                bout.toByteArray());
+    }
+
+    @Test
+    void withIncludeElementFilterAndGroupLength() throws IOException {
+        DicomObject data = filterTestData(true);
+        data.setString(Tag.PatientID, VR.LO, "PID");
+        DicomObject expected = DicomObject.newDicomObject();
+        expected.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        expected.setString(Tag.PatientID, VR.LO, "PID");
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout)
+                .withEncoding(DicomEncoding.IVR_LE)
+                .withIncludeGroupLength(true)
+                .withElementFilter(ElementFilter.include(Tag.SOPInstanceUID, Tag.PatientID))
+        ) {
+            dos.writeDataSet(data);
+        }
+        assertArrayEquals(
+                writeDataset(DicomEncoding.IVR_LE, true,
+                        DicomOutputStream.LengthEncoding.UNDEFINED,
+                        DicomOutputStream.LengthEncoding.UNDEFINED,
+                        expected),
+                bout.toByteArray());
+    }
+
+    @Test
+    void withGroupLengthDoesNotModifyDataSet() throws IOException {
+        DicomObject data = filterTestData(true);
+        data.setInt(0x00090000, VR.UL, 42);
+        DicomObject item = data.get(Tag.ReferencedImageSequence).orElseThrow().getItem(0);
+        String before = data.toString();
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout)
+                .withEncoding(DicomEncoding.IVR_LE)
+                .withIncludeGroupLength(true)
+                .withSequenceLengthEncoding(DicomOutputStream.LengthEncoding.EXPLICIT)
+                .withItemLengthEncoding(DicomOutputStream.LengthEncoding.EXPLICIT)
+                .withElementFilter(ElementFilter.exclude(Tag.PixelData)
+                        .and(ElementFilter.excludePrivate())
+                        .and(ElementFilter.excludePath(Tag.ReferencedImageSequence, Tag.ReferencedFrameNumber)))
+        ) {
+            dos.writeDataSet(data);
+        }
+        assertArrayEquals(
+                writeDataset(DicomEncoding.IVR_LE, true,
+                        DicomOutputStream.LengthEncoding.EXPLICIT,
+                        DicomOutputStream.LengthEncoding.EXPLICIT,
+                        filterTestData(false)),
+                bout.toByteArray());
+        assertEquals(before, data.toString());
+        assertEquals(42, data.getInt(0x00090000).orElseThrow());
+        assertFalse(data.get(0x00080000).isPresent());
+        assertFalse(item.get(0x00080000).isPresent());
+    }
+
+    private static DicomObject filterTestData(boolean unfiltered) {
+        DicomObject data = DicomObject.newDicomObject();
+        data.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        if (unfiltered)
+            data.setString("PRIVATE CREATOR", 0x00090010, VR.LO, "private");
+        DicomObject item = DicomObject.newDicomObject();
+        item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4.1");
+        if (unfiltered)
+            item.setInt(Tag.ReferencedFrameNumber, VR.IS, 1);
+        data.newDicomSequence(Tag.ReferencedImageSequence).addItem(item);
+        if (unfiltered)
+            data.setBytes(Tag.PixelData, VR.OB, new byte[]{1, 2, 3, 4});
+        return data;
+    }
+
     private byte[] writeDataset(DicomEncoding encoding, boolean includeGroupLength,
                               DicomOutputStream.LengthEncoding seqLengthEncoding,
                               DicomOutputStream.LengthEncoding itemLengthEncoding,
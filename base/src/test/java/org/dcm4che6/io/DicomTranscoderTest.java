@@ -0,0 +1,107 @@
+package org.dcm4che6.io;
+
+import org.dcm4che6.data.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class DicomTranscoderTest {
+
+    private static final String PRIVATE_CREATOR = "PRIVATE CREATOR";
+
+    @Test
+    void transcode() throws IOException {
+        DicomEncoding from = DicomEncoding.EVR_LE;
+        byte[] b = write(dataset(), from);
+        for (DicomEncoding to : new DicomEncoding[]{
+                DicomEncoding.IVR_LE, DicomEncoding.EVR_BE, DicomEncoding.DEFL_EVR_LE, DicomEncoding.EVR_LE }) {
+            b = transcode(b, from, to);
+            assertDataset(read(b, to));
+            from = to;
+        }
+    }
+
+    @Test
+    void transcodeBigEndianToImplicitVR() throws IOException {
+        byte[] b = transcode(write(dataset(), DicomEncoding.EVR_BE), DicomEncoding.EVR_BE, DicomEncoding.IVR_LE);
+        assertArrayEquals(write(read(b, DicomEncoding.IVR_LE), DicomEncoding.IVR_LE), b);
+        assertDataset(read(b, DicomEncoding.IVR_LE));
+    }
+
+    private static DicomObject dataset() {
+        DicomObject dcmObj = DicomObject.newDicomObject();
+        dcmObj.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3.4");
+        dcmObj.setString(Tag.PatientName, VR.PN, "Doe^John");
+        dcmObj.setInt(Tag.Rows, VR.US, 512);
+        dcmObj.setFloat(Tag.SelectorFLValue, VR.FL, 25.5f);
+        dcmObj.setInt(PRIVATE_CREATOR, 0x00090020, VR.SS, -7);
+        DicomElement seq = dcmObj.newDicomSequence(Tag.ReferencedImageSequence);
+        for (int i = 0; i < 3; i++) {
+            DicomObject item = DicomObject.newDicomObject();
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3.4." + i);
+            item.setInt(Tag.ReferencedFrameNumber, VR.IS, i + 1);
+            seq.addItem(item);
+        }
+        dcmObj.newDicomSequence(Tag.ReferencedStudySequence);
+        dcmObj.setInt(Tag.PixelData, VR.OW, pixels());
+        return dcmObj;
+    }
+
+    private static int[] pixels() {
+        int[] pixels = new int[4097];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (short) (i * 13);
+        }
+        return pixels;
+    }
+
+    private static void assertDataset(DicomObject dcmObj) {
+        assertEquals("1.2.3.4", dcmObj.getString(Tag.SOPInstanceUID).orElseGet(Assertions::fail));
+        assertEquals("Doe^John", dcmObj.getString(Tag.PatientName).orElseGet(Assertions::fail));
+        assertEquals(512, dcmObj.getInt(Tag.Rows).orElseGet(Assertions::fail));
+        assertEquals(25.5f, dcmObj.getFloat(Tag.SelectorFLValue).orElseGet(Assertions::fail));
+        assertEquals(PRIVATE_CREATOR, dcmObj.getString(0x00090010).orElseGet(Assertions::fail));
+        assertEquals(2, dcmObj.get(PRIVATE_CREATOR, 0x00090020).orElseGet(Assertions::fail).valueLength());
+        DicomElement seq = dcmObj.get(Tag.ReferencedImageSequence).orElseGet(Assertions::fail);
+        assertEquals(3, seq.size());
+        for (int i = 0; i < 3; i++) {
+            DicomObject item = seq.getItem(i);
+            assertEquals("1.2.3.4." + i, item.getString(Tag.ReferencedSOPInstanceUID).orElseGet(Assertions::fail));
+            assertEquals(i + 1, item.getInt(Tag.ReferencedFrameNumber).orElseGet(Assertions::fail));
+        }
+        assertTrue(dcmObj.get(Tag.ReferencedStudySequence).orElseGet(Assertions::fail).isEmpty());
+        assertArrayEquals(pixels(), dcmObj.getInts(Tag.PixelData).orElseGet(Assertions::fail));
+    }
+
+    private static byte[] transcode(byte[] b, DicomEncoding from, DicomEncoding to) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(b)).withEncoding(from);
+             DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(to)) {
+            DicomTranscoder.transcode(dis, dos);
+        }
+        return bout.toByteArray();
+    }
+
+    private static byte[] write(DicomObject dcmObj, DicomEncoding encoding) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout).withEncoding(encoding)) {
+            dos.writeDataSet(dcmObj);
+        }
+        return bout.toByteArray();
+    }
+
+    private static DicomObject read(byte[] b, DicomEncoding encoding) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(b)).withEncoding(encoding)) {
+            return dis.readDataSet();
+        }
+    }
+}
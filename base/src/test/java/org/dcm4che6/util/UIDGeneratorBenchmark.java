@@ -0,0 +1,65 @@
+package org.dcm4che6.util;
+
+import org.dcm4che6.io.ByteOrder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares UID generation strategies with the former {@link BigInteger} based conversion of random UUIDs.
+ * Run by {@code java -cp <test-classpath> org.dcm4che6.util.UIDGeneratorBenchmark}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UIDGeneratorBenchmark {
+    private final UIDGenerator uuid = UIDGenerator.uuid();
+    private final UIDGenerator uuidThreadLocalRandom = UIDGenerator.uuid(ThreadLocalRandom.current());
+    private final UIDGenerator counter = UIDGenerator.counter("1.2.40.0.13.1", 1);
+
+    @Benchmark
+    public String randomUUIDBigInteger() {
+        UUID uuid = UUID.randomUUID();
+        byte[] b17 = new byte[17];
+        ByteOrder.BIG_ENDIAN.longToBytes(uuid.getMostSignificantBits(), b17, 1);
+        ByteOrder.BIG_ENDIAN.longToBytes(uuid.getLeastSignificantBits(), b17, 9);
+        return "2.25." + new BigInteger(b17);
+    }
+
+    @Benchmark
+    public String uuid() {
+        return uuid.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public String[] uuidBatch() {
+        return uuid.generate(100);
+    }
+
+    @Benchmark
+    public String uuidThreadLocalRandom() {
+        return uuidThreadLocalRandom.generate();
+    }
+
+    @Benchmark
+    public String counter() {
+        return counter.generate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UIDGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package org.dcm4che6.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class UIDGeneratorTest {
+
+    @Test
+    void toUID() {
+        assertEquals("2.25.0", UIDUtils.toUID("2.25", 0, 0));
+        assertEquals("2.25.1000000000", UIDUtils.toUID("2.25", 0, 1_000_000_000L));
+        assertEquals("2.25.340282366920938463463374607431768211455", UIDUtils.toUID("2.25", -1, -1));
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long msb = random.nextLong() >>> random.nextInt(64);
+            long lsb = random.nextLong();
+            assertEquals("2.25." + toBigInteger(msb, lsb), UIDUtils.toUID("2.25", msb, lsb));
+        }
+    }
+
+    @Test
+    void nameUIDFromString() {
+        assertEquals("2.25.272659179632863688974030846972234146478", UIDUtils.nameUIDFromString("dcm4che"));
+    }
+
+    @Test
+    void uuid() {
+        assertUnique(UIDGenerator.uuid(), "2.25.");
+    }
+
+    @Test
+    void counter() {
+        UIDGenerator generator = new CounterUIDGenerator("1.2.40.0.13.1", 7, 1577836800000L);
+        assertEquals("1.2.40.0.13.1.7.1577836800000.1", generator.generate());
+        assertArrayEquals(new String[]{
+                "1.2.40.0.13.1.7.1577836800000.2",
+                "1.2.40.0.13.1.7.1577836800000.3" },
+                generator.generate(2));
+        assertEquals("1.2.40.0.13.1.7.1577836800000.4", generator.generate());
+        assertUnique(UIDGenerator.counter("1.2.40.0.13.1", 7), "1.2.40.0.13.1.7.");
+        assertThrows(IllegalArgumentException.class,
+                () -> UIDGenerator.counter("1.2.40.0.13.1.1.2.3.4.5.6.7.8.9.10.11.12.13", 7));
+        assertThrows(IllegalArgumentException.class, () -> UIDGenerator.counter("1.2.040", 7));
+        assertThrows(IllegalArgumentException.class, () -> UIDGenerator.counter("1.2.", 7));
+        assertThrows(IllegalArgumentException.class, () -> UIDGenerator.counter("1.2.40", -1));
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
+        assertThrows(IllegalArgumentException.class, () -> UIDGenerator.uuid().generate(-1));
+    }
+
+    @Test
+    void isValid() {
+        assertTrue(UIDUtils.isValid("1.2.840.10008.1.1"));
+        assertTrue(UIDUtils.isValid("2.25.0"));
+        assertFalse(UIDUtils.isValid(""));
+        assertFalse(UIDUtils.isValid("1..2"));
+        assertFalse(UIDUtils.isValid(".1.2"));
+        assertFalse(UIDUtils.isValid("1.02"));
+        assertFalse(UIDUtils.isValid("1.2a"));
+    }
+
+    private static void assertUnique(UIDGenerator generator, String prefix) {
+        Set<String> uids = new HashSet<>();
+        for (String uid : generator.generate(100)) {
+            assertUID(uid, prefix);
+            assertTrue(uids.add(uid));
+        }
+        for (int i = 0; i < 100; i++) {
+            String uid = generator.generate();
+            assertUID(uid, prefix);
+            assertTrue(uids.add(uid));
+        }
+    }
+
+    private static void assertUID(String uid, String prefix) {
+        assertTrue(uid.startsWith(prefix), uid);
+        assertTrue(uid.length() <= 64, uid);
+        assertTrue(uid.charAt(prefix.length()) != '0' || uid.length() == prefix.length() + 1, uid);
+    }
+
+    private static BigInteger toBigInteger(long msb, long lsb) {
+        return BigInteger.valueOf(msb >>> 1).shiftLeft(65)
+                .or(BigInteger.valueOf(msb & 1).shiftLeft(64))
+                .or(BigInteger.valueOf(lsb >>> 1).shiftLeft(1))
+                .or(BigInteger.valueOf(lsb & 1));
+    }
+}
@@ -3,6 +3,7 @@ package org.dcm4che6.conf.model;
 import org.dcm4che6.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -21,6 +22,8 @@ public class ApplicationEntity {
 
     private final List<Connection> conns = new ArrayList<>();
     private final List<TransferCapability> tcs = new ArrayList<>();
+    private final AtomicLong tcModifications = new AtomicLong();
+    private volatile TransferCapabilityTable tcTable;
 
     public Optional<Device> getDevice() {
         return Optional.ofNullable(device);
@@ -133,7 +136,9 @@ public class ApplicationEntity {
 
     public Optional<TransferCapability> getTransferCapabilityOrDefault(
             TransferCapability.Role role, String abstractSyntax) {
-        return getTransferCapability(role, abstractSyntax).or(() -> getDefaultTransferCapability(role));
+        TransferCapabilityTable table = tcTable();
+        TransferCapability tc = table.get(role, abstractSyntax);
+        return Optional.ofNullable(tc != null ? tc : table.get(role, "*"));
     }
 
     public Optional<TransferCapability> getDefaultTransferCapability(TransferCapability.Role role) {
@@ -141,18 +146,57 @@ public class ApplicationEntity {
     }
 
     public Optional<TransferCapability> getTransferCapability(TransferCapability.Role role, String abstractSyntax) {
-        return tcs.stream()
-                .filter(tc -> tc.getRole().equals(role) && tc.getSOPClass().equals(abstractSyntax))
-                .findFirst();
+        return Optional.ofNullable(tcTable().get(role, abstractSyntax));
     }
 
     public ApplicationEntity removeTransferCapability(TransferCapability tc) {
-        tcs.remove(Objects.requireNonNull(tc));
+        if (tcs.remove(Objects.requireNonNull(tc))) {
+            if (!tcs.contains(tc))
+                tc.removeApplicationEntity(this);
+            transferCapabilitiesModified();
+        }
         return this;
     }
 
     public ApplicationEntity addTransferCapability(TransferCapability tc) {
-        tcs.add(Objects.requireNonNull(tc));
+        tcs.add(tc.addApplicationEntity(this));
+        transferCapabilitiesModified();
         return this;
     }
+
+    /**
+     * Invoked on modification of contained Transfer Capabilities to rebuild the negotiation table on next access.
+     */
+    void transferCapabilitiesModified() {
+        tcModifications.incrementAndGet();
+    }
+
+    private TransferCapabilityTable tcTable() {
+        TransferCapabilityTable table = tcTable;
+        long modifications = tcModifications.get();
+        if (table == null || table.modifications != modifications) {
+            tcTable = table = new TransferCapabilityTable(tcs, modifications);
+        }
+        return table;
+    }
+
+    /**
+     * Transfer Capabilities hashed by Role and SOP Class, rebuilt after modification of contained Transfer Capabilities.
+     */
+    private static class TransferCapabilityTable {
+        final long modifications;
+        final Map<String, TransferCapability> scu = new HashMap<>();
+        final Map<String, TransferCapability> scp = new HashMap<>();
+
+        TransferCapabilityTable(List<TransferCapability> tcs, long modifications) {
+            this.modifications = modifications;
+            for (TransferCapability tc : tcs) {
+                (tc.getRole() == TransferCapability.Role.SCU ? scu : scp).putIfAbsent(tc.getSOPClass(), tc);
+            }
+        }
+
+        TransferCapability get(TransferCapability.Role role, String abstractSyntax) {
+            return (role == TransferCapability.Role.SCU ? scu : scp).get(abstractSyntax);
+        }
+    }
 }
@@ -3,9 +3,8 @@ package org.dcm4che6.conf.model;
 import org.dcm4che6.data.UID;
 import org.dcm4che6.util.StringUtils;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
 /**
@@ -15,10 +14,37 @@ import java.util.function.Predicate;
 public class TransferCapability {
     public enum Role { SCU, SCP }
 
+    private final CopyOnWriteArrayList<ApplicationEntity> aes = new CopyOnWriteArrayList<>();
     private String name;
     private String sopClass = UID.VerificationSOPClass;
     private Role role = Role.SCP;
-    private String[] transferSyntaxes = {};
+    private volatile TransferSyntaxes transferSyntaxes = TransferSyntaxes.NONE;
+
+    /**
+     * Returns the Application Entities containing this Transfer Capability. A Transfer Capability may be shared by
+     * several Application Entities.
+     */
+    public List<ApplicationEntity> getApplicationEntities() {
+        return Collections.unmodifiableList(aes);
+    }
+
+    TransferCapability addApplicationEntity(ApplicationEntity ae) {
+        aes.addIfAbsent(ae);
+        return this;
+    }
+
+    void removeApplicationEntity(ApplicationEntity ae) {
+        aes.remove(ae);
+    }
+
+    /**
+     * Notifies the containing Application Entities about a modification of SOP Class, Role or Transfer Syntaxes.
+     */
+    private void modified() {
+        for (ApplicationEntity ae : aes) {
+            ae.transferCapabilitiesModified();
+        }
+    }
 
     public Optional<String> getName() {
         return Optional.ofNullable(name);
@@ -35,6 +61,7 @@ public class TransferCapability {
 
     public TransferCapability setSOPClass(String sopClass) {
         this.sopClass = StringUtils.requireNonBlank(sopClass);
+        modified();
         return this;
     }
 
@@ -44,23 +71,69 @@ public class TransferCapability {
 
     public TransferCapability setRole(Role role) {
         this.role = Objects.requireNonNull(role);
+        modified();
         return this;
     }
 
     public List<String> getTransferSyntaxes() {
-        return List.of(transferSyntaxes);
+        return List.of(transferSyntaxes.values);
     }
 
     public TransferCapability setTransferSyntaxes(String... transferSyntaxes) {
-        this.transferSyntaxes = Objects.requireNonNullElse(transferSyntaxes, StringUtils.EMPTY_STRINGS);
+        this.transferSyntaxes = new TransferSyntaxes(
+                Objects.requireNonNullElse(transferSyntaxes, StringUtils.EMPTY_STRINGS).clone());
+        modified();
         return this;
     }
 
     public Optional<String> selectTransferSyntax(Predicate<String> predicate) {
-        return List.of(transferSyntaxes).stream().filter(predicate).findFirst();
+        for (String transferSyntax : transferSyntaxes.values) {
+            if (predicate.test(transferSyntax))
+                return Optional.of(transferSyntax);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the first of the Transfer Syntaxes of this Transfer Capability, which is contained in {@code proposed},
+     * looking up each proposed Transfer Syntax by hash.
+     */
+    public Optional<String> selectTransferSyntax(Collection<String> proposed) {
+        TransferSyntaxes tss = transferSyntaxes;
+        int selected = Integer.MAX_VALUE;
+        for (String transferSyntax : proposed) {
+            Integer i = tss.index.get(transferSyntax);
+            if (i != null && i < selected)
+                selected = i;
+        }
+        return selected < Integer.MAX_VALUE ? Optional.of(tss.values[selected]) : Optional.empty();
+    }
+
+    public boolean containsTransferSyntax(String transferSyntax) {
+        return transferSyntaxes.index.containsKey(transferSyntax);
     }
 
     public boolean anyTransferSyntax() {
-        return List.of(transferSyntaxes).contains("*");
+        return transferSyntaxes.any;
+    }
+
+    /**
+     * Transfer Syntaxes with their index, published together by one volatile write.
+     */
+    private static final class TransferSyntaxes {
+        static final TransferSyntaxes NONE = new TransferSyntaxes(StringUtils.EMPTY_STRINGS);
+        final String[] values;
+        final Map<String, Integer> index;
+        final boolean any;
+
+        TransferSyntaxes(String[] values) {
+            Map<String, Integer> index = new HashMap<>(values.length * 2);
+            for (int i = 0; i < values.length; i++) {
+                index.putIfAbsent(values[i], i);
+            }
+            this.values = values;
+            this.index = index;
+            this.any = index.containsKey("*");
+        }
     }
 }
@@ -0,0 +1,79 @@
+package org.dcm4che6.conf.model;
+
+import org.dcm4che6.data.UID;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class ApplicationEntityTest {
+
+    @Test
+    void getTransferCapability() {
+        TransferCapability scp = tc(UID.CTImageStorage, TransferCapability.Role.SCP);
+        TransferCapability scu = tc(UID.CTImageStorage, TransferCapability.Role.SCU);
+        ApplicationEntity ae = new ApplicationEntity()
+                .addTransferCapability(scp)
+                .addTransferCapability(scu)
+                .addTransferCapability(tc(UID.CTImageStorage, TransferCapability.Role.SCP));
+        assertSame(scp, ae.getTransferCapability(TransferCapability.Role.SCP, UID.CTImageStorage).get());
+        assertSame(scu, ae.getTransferCapability(TransferCapability.Role.SCU, UID.CTImageStorage).get());
+        assertTrue(ae.getTransferCapability(TransferCapability.Role.SCP, UID.MRImageStorage).isEmpty());
+    }
+
+    @Test
+    void getTransferCapabilityOrDefault() {
+        TransferCapability ct = tc(UID.CTImageStorage, TransferCapability.Role.SCP);
+        TransferCapability any = tc("*", TransferCapability.Role.SCP);
+        ApplicationEntity ae = new ApplicationEntity().addTransferCapability(any).addTransferCapability(ct);
+        assertSame(ct, ae.getTransferCapabilityOrDefault(TransferCapability.Role.SCP, UID.CTImageStorage).get());
+        assertSame(any, ae.getTransferCapabilityOrDefault(TransferCapability.Role.SCP, UID.MRImageStorage).get());
+        assertSame(any, ae.getDefaultTransferCapability(TransferCapability.Role.SCP).get());
+        assertTrue(ae.getTransferCapabilityOrDefault(TransferCapability.Role.SCU, UID.MRImageStorage).isEmpty());
+    }
+
+    @Test
+    void rebuildAfterModification() {
+        TransferCapability tc = tc(UID.CTImageStorage, TransferCapability.Role.SCP);
+        ApplicationEntity ae = new ApplicationEntity().addTransferCapability(tc);
+        assertTrue(ae.getTransferCapability(TransferCapability.Role.SCP, UID.CTImageStorage).isPresent());
+        tc.setSOPClass(UID.MRImageStorage);
+        assertTrue(ae.getTransferCapability(TransferCapability.Role.SCP, UID.CTImageStorage).isEmpty());
+        assertSame(tc, ae.getTransferCapability(TransferCapability.Role.SCP, UID.MRImageStorage).get());
+        tc.setRole(TransferCapability.Role.SCU);
+        assertTrue(ae.getTransferCapability(TransferCapability.Role.SCP, UID.MRImageStorage).isEmpty());
+        assertSame(tc, ae.getTransferCapability(TransferCapability.Role.SCU, UID.MRImageStorage).get());
+        ae.removeTransferCapability(tc);
+        assertTrue(ae.getTransferCapability(TransferCapability.Role.SCU, UID.MRImageStorage).isEmpty());
+        assertTrue(tc.getApplicationEntities().isEmpty());
+    }
+
+    @Test
+    void addTransferCapabilityOfOtherApplicationEntity() {
+        TransferCapability tc = tc(UID.CTImageStorage, TransferCapability.Role.SCP);
+        ApplicationEntity ae1 = new ApplicationEntity().addTransferCapability(tc);
+        ApplicationEntity ae2 = new ApplicationEntity().addTransferCapability(tc);
+        assertEquals(List.of(ae1, ae2), tc.getApplicationEntities());
+        assertSame(tc, ae1.getTransferCapability(TransferCapability.Role.SCP, UID.CTImageStorage).get());
+        assertSame(tc, ae2.getTransferCapability(TransferCapability.Role.SCP, UID.CTImageStorage).get());
+        tc.setSOPClass(UID.MRImageStorage);
+        assertSame(tc, ae1.getTransferCapability(TransferCapability.Role.SCP, UID.MRImageStorage).get());
+        assertSame(tc, ae2.getTransferCapability(TransferCapability.Role.SCP, UID.MRImageStorage).get());
+        ae1.removeTransferCapability(tc);
+        assertEquals(List.of(ae2), tc.getApplicationEntities());
+        tc.setRole(TransferCapability.Role.SCU);
+        assertSame(tc, ae2.getTransferCapability(TransferCapability.Role.SCU, UID.MRImageStorage).get());
+    }
+
+    private static TransferCapability tc(String sopClass, TransferCapability.Role role) {
+        return new TransferCapability()
+                .setSOPClass(sopClass)
+                .setRole(role)
+                .setTransferSyntaxes(UID.ImplicitVRLittleEndian);
+    }
+}
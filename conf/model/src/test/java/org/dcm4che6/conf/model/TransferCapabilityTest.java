@@ -0,0 +1,38 @@
+package org.dcm4che6.conf.model;
+
+import org.dcm4che6.data.UID;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class TransferCapabilityTest {
+
+    @Test
+    void selectTransferSyntax() {
+        TransferCapability tc = new TransferCapability().setTransferSyntaxes(
+                UID.ExplicitVRLittleEndian, UID.ImplicitVRLittleEndian);
+        assertEquals(UID.ExplicitVRLittleEndian, tc.selectTransferSyntax(
+                List.of(UID.ImplicitVRLittleEndian, UID.ExplicitVRLittleEndian)).get());
+        assertEquals(UID.ImplicitVRLittleEndian, tc.selectTransferSyntax(
+                List.of(UID.JPEGBaseline1, UID.ImplicitVRLittleEndian)).get());
+        assertTrue(tc.selectTransferSyntax(List.of(UID.JPEGBaseline1)).isEmpty());
+        assertFalse(tc.anyTransferSyntax());
+    }
+
+    @Test
+    void setTransferSyntaxes() {
+        TransferCapability tc = new TransferCapability().setTransferSyntaxes(UID.ImplicitVRLittleEndian);
+        assertTrue(tc.containsTransferSyntax(UID.ImplicitVRLittleEndian));
+        tc.setTransferSyntaxes(UID.ExplicitVRLittleEndian, "*");
+        assertFalse(tc.containsTransferSyntax(UID.ImplicitVRLittleEndian));
+        assertTrue(tc.containsTransferSyntax(UID.ExplicitVRLittleEndian));
+        assertTrue(tc.anyTransferSyntax());
+        assertEquals(List.of(UID.ExplicitVRLittleEndian, "*"), tc.getTransferSyntaxes());
+    }
+}
@@ -543,6 +543,10 @@ public abstract class AAssociate {
                 return this.abstractSyntax.equals(abstractSyntax);
             }
 
+            public List<String> transferSyntaxes() {
+                return Collections.unmodifiableList(transferSyntaxList);
+            }
+
             public boolean containsTransferSyntax(String transferSyntax) {
                 return transferSyntaxList.contains(transferSyntax);
             }
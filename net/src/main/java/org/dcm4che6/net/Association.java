@@ -16,11 +16,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -43,7 +50,9 @@ public class Association extends TCPConnection<Association> {
     private final CompletableFuture<Association> arrpReceived = new CompletableFuture<>();
     private final AtomicInteger messageID = new AtomicInteger();
     private final Semaphore readSemaphore = new Semaphore(0);
+    private final AtomicBoolean reading = new AtomicBoolean();
     private volatile ByteBuffer readBuffer;
+    private final CompositeReadBuffer received = new CompositeReadBuffer();
     private int pduLength;
     private int pdvLength;
     private Byte pcid;
@@ -52,7 +61,12 @@ public class Association extends TCPConnection<Association> {
     private int resultSourceReason;
     private AAssociate.RQ aarq;
     private AAssociate.AC aaac;
-    private BlockingQueue<OutstandingRSP> outstandingRSPs;
+    private final IntHashMap<OutstandingRSP> outstandingRSPs = new IntHashMap<>();
+    private boolean outstandingRSPsClosed;
+    private final Object dimseWriteLock = new Object();
+    private volatile OperationWindow operationWindow;
+    private final Object asyncInvocationLock = new Object();
+    private CompletableFuture<?> lastAsyncInvocation = CompletableFuture.completedFuture(null);
     private int maxPDULength;
     private String asname;
     private ApplicationEntity ae;
@@ -74,9 +88,9 @@ public class Association extends TCPConnection<Association> {
 
     @Override
     boolean connect(SelectionKey key, SocketAddress remote) throws IOException {
-        boolean connect = super.connect(key, remote);
+        // before connecting, which may complete on the reactor thread before super.connect returns
         ae_1();
-        return connect;
+        return super.connect(key, remote);
     }
 
     @Override
@@ -99,19 +113,45 @@ public class Association extends TCPConnection<Association> {
         this.readBuffer = buffer;
         interestOpsAnd(~SelectionKey.OP_READ);
         readSemaphore.release();
+        startReading();
     }
 
+    /**
+     * Submits the processing of received PDUs to the executor of the connector, if it is not already running.
+     * The processing returns its thread to the executor as soon as all received PDUs are processed, so idle
+     * Associations do not occupy threads of a bounded executor.
+     */
     private void startReading() {
-        CompletableFuture.runAsync(this::run);
+        if (reading.compareAndSet(false, true)) {
+            connector.getExecutor().execute(this::run);
+        }
     }
 
     private void run() {
         LOG.trace("{}: start reading", this);
-        ByteBuffer buffer;
-        while ((buffer = nextBuffer()) != null) {
-            processNext(buffer);
+        try {
+            do {
+                ByteBuffer buffer;
+                while (readSemaphore.tryAcquire()) {
+                    if ((buffer = takeReadBuffer()) == null) {
+                        LOG.trace("{}: stop reading", this);
+                        return;
+                    }
+                    received.add(buffer);
+                    processNext();
+                }
+                reading.set(false);
+            } while (readSemaphore.availablePermits() > 0 && reading.compareAndSet(false, true));
+        } catch (IllegalStateException e) {
+            // thrown by ensureRemaining, if the connection was closed while waiting for the remaining bytes of a PDU
+            if (isOpen())
+                throw e;
+            LOG.info("{}: stop reading: {}", this, e.getMessage());
+            return;
+        } finally {
+            received.clear();
         }
-        LOG.trace("{}: stop reading", this);
+        LOG.trace("{}: no more read bytes", this);
     }
 
     private ByteBuffer nextBuffer() {
@@ -120,8 +160,14 @@ public class Association extends TCPConnection<Association> {
                 LOG.trace("{}: wait for read bytes", this);
                 readSemaphore.acquire();
             } catch (InterruptedException e) {
-                e.printStackTrace();
+                LOG.info("{}: interrupted while waiting for read bytes", this);
+                Thread.currentThread().interrupt();
+                return null;
             }
+        return takeReadBuffer();
+    }
+
+    private ByteBuffer takeReadBuffer() {
         ByteBuffer buffer = readBuffer;
         readBuffer = null;
         if (buffer != null) {
@@ -131,30 +177,24 @@ public class Association extends TCPConnection<Association> {
         return buffer;
     }
 
-    private void processNext(ByteBuffer buffer) {
-        while (!state.discard && buffer.hasRemaining()) {
-            buffer = ensureRemaining(buffer, 10);
-            int pduType = buffer.getShort() >>> 8;
-            pduLength = buffer.getInt();
-            buffer = state.action(this, pduType, pduLength, buffer);
+    private void processNext() {
+        while (!state.discard && received.hasRemaining()) {
+            ensureRemaining(10);
+            int pduType = received.getShort() >>> 8;
+            pduLength = received.getInt();
+            state.action(this, pduType, pduLength);
         }
-        ByteBufferPool.free(buffer);
+        received.clear();
     }
 
-    private ByteBuffer ensureRemaining(ByteBuffer buffer, int remaining) {
-        while (buffer.remaining() < remaining) {
-            buffer = cat(buffer, nextBuffer());
+    private void ensureRemaining(int remaining) {
+        while (received.remaining() < remaining) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                throw new IllegalStateException(this + ": connection closed");
+            }
+            received.add(buffer);
         }
-        return buffer;
-    }
-
-    private static ByteBuffer cat(ByteBuffer bb1, ByteBuffer bb2) {
-        ByteBuffer bb = ByteBufferPool.allocate(bb1.remaining() + bb2.remaining());
-        bb.put(bb1);
-        bb.put(bb2);
-        ByteBufferPool.free(bb1);
-        ByteBufferPool.free(bb2);
-        return bb.flip();
     }
 
     void onDimseRQ(Byte pcid, Dimse dimse, DicomObject commandSet, InputStream dataStream) throws IOException {
@@ -163,9 +203,15 @@ public class Association extends TCPConnection<Association> {
 
     void onDimseRSP(Byte pcid, Dimse dimse, DicomObject commandSet, DicomObject dataSet) {
         int messageID = commandSet.getInt(Tag.MessageIDBeingRespondedTo).getAsInt();
-        OutstandingRSP outstandingRSP =
-                outstandingRSPs.stream().filter(o -> o.messageID == messageID).findFirst().get();
-        outstandingRSPs.remove(outstandingRSP);
+        OutstandingRSP outstandingRSP;
+        synchronized (outstandingRSPs) {
+            outstandingRSP = outstandingRSPs.remove(messageID & 0xffff);
+        }
+        if (outstandingRSP == null) {
+            LOG.warn("{}: no outstanding operation with Message ID: {}", this, messageID);
+            return;
+        }
+        operationWindow.release();
         outstandingRSP.futureDimseRSP.complete(new DimseRSP(dimse, commandSet, dataSet));
     }
 
@@ -198,7 +244,7 @@ public class Association extends TCPConnection<Association> {
     private void negotiate(Byte pcid, AAssociate.RQ.PresentationContext pc) {
         Optional<TransferCapability> tc = getTransferCapability(pc.abstractSyntax());
         if (tc.isPresent()) {
-            Optional<String> ts = tc.get().selectTransferSyntax(pc::containsTransferSyntax);
+            Optional<String> ts = tc.get().selectTransferSyntax(pc.transferSyntaxes());
             if (ts.isPresent()) {
                 aaac.putPresentationContext(pcid, AAssociate.AC.Result.ACCEPTANCE, ts.get());
             } else {
@@ -271,11 +317,20 @@ public class Association extends TCPConnection<Association> {
     }
 
     public void writeDimse(Byte pcid, Dimse dimse, DicomObject commandSet) throws IOException {
-         writePDataTF(writeCommandSet(pcid, dimse, commandSet));
+        synchronized (dimseWriteLock) {
+            writePDataTF(writeCommandSet(pcid, dimse, commandSet));
+        }
     }
 
     void writeDimse(Byte pcid, Dimse dimse, DicomObject commandSet, DataWriter dataWriter) throws IOException {
-        writePDataTF(writeDataSet(pcid, dataWriter, writeCommandSet(pcid, dimse, commandSet)));
+        synchronized (dimseWriteLock) {
+            if (dataWriter instanceof FileRegion) {
+                writePDataTF(writeCommandSet(pcid, dimse, commandSet));
+                writeFileRegion(pcid, (FileRegion) dataWriter);
+            } else {
+                writePDataTF(writeDataSet(pcid, dataWriter, writeCommandSet(pcid, dimse, commandSet)));
+            }
+        }
     }
 
     void writeDimse(Byte pcid, Dimse dimse, DicomObject commandSet, DicomObject dataSet) throws IOException {
@@ -294,6 +349,49 @@ public class Association extends TCPConnection<Association> {
         return buffer;
     }
 
+    private void writeFileRegion(Byte pcid, FileRegion region) throws IOException {
+        LOG.debug("{} << Data start", this);
+        FileChannel channel = region.length > 0 ? FileChannel.open(region.path, StandardOpenOption.READ) : null;
+        int maxPDVLength = (maxPDULength > 0 ? Math.min(maxPDULength, MAX_PDU_LENGTH) : MAX_PDU_LENGTH) - 6;
+        long position = region.position;
+        long remaining = region.length;
+        try {
+            do {
+                int pdvLength = (int) Math.min(remaining, maxPDVLength);
+                remaining -= pdvLength;
+                MCH mch = remaining == 0 ? MCH.LAST_DATA_PDV : MCH.DATA_PDV;
+                ByteBuffer header = ByteBufferPool.allocate(12);
+                header.putShort((short) 0x0400);
+                header.putInt(pdvLength + 6);
+                header.putInt(pdvLength + 2);
+                header.put(pcid);
+                header.put(mch.value());
+                LOG.debug("{} << P-DATA-TF[length: {}]", this, pdvLength + 6);
+                LOG.debug("{} << PDV[length: {}, pcid: {}, mch: {}]", this, pdvLength + 2, pcid, mch.value());
+                write(header.flip(), as -> {});
+                if (pdvLength > 0) {
+                    write(channel, position, pdvLength, mch.last ? as -> closeChannel(channel) : as -> {});
+                }
+                position += pdvLength;
+            } while (remaining > 0);
+        } catch (RuntimeException e) {
+            // slices already queued are discarded on close, or fail to transfer from the closed channel
+            if (channel != null) {
+                closeChannel(channel);
+            }
+            throw e;
+        }
+        LOG.debug("{} << Data finished", this);
+    }
+
+    private static void closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private ByteBuffer writeCommandSet(Byte pcid, Dimse dimse, DicomObject commandSet) throws IOException {
         LOG.info("{} << {}", this, dimse.toString(pcid, commandSet, getTransferSyntax(pcid)));
         LOG.debug("{} << Command:\n{}", this, commandSet);
@@ -313,10 +411,39 @@ public class Association extends TCPConnection<Association> {
     }
 
     private void closeAfterDelay() {
+        // not scheduled on the connector executor, which may be bounded and busy
         CompletableFuture.delayedExecutor(1000, TimeUnit.MILLISECONDS).execute(this::safeClose);
         changeState(State.STA_13);
     }
 
+    /**
+     * Closes the connection, fails outstanding operations and operations waiting for the operation window and wakes
+     * up the processing of received PDUs, if it waits for the remaining bytes of a PDU.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            failOutstandingOperations(new IOException(this + ": association closed"));
+            readSemaphore.release();
+        }
+    }
+
+    private void failOutstandingOperations(IOException cause) {
+        OperationWindow operationWindow = this.operationWindow;
+        if (operationWindow != null) {
+            operationWindow.close(cause);
+        }
+        List<OutstandingRSP> failed = new ArrayList<>();
+        synchronized (outstandingRSPs) {
+            outstandingRSPsClosed = true;
+            outstandingRSPs.forEach(failed::add);
+            outstandingRSPs.clear();
+        }
+        failed.forEach(outstandingRSP -> outstandingRSP.futureDimseRSP.completeExceptionally(cause));
+    }
+
     private void safeClose() {
         try {
             close();
@@ -341,37 +468,121 @@ public class Association extends TCPConnection<Association> {
     }
 
     public CompletableFuture<DimseRSP> cecho(String sopClassUID) throws IOException, InterruptedException {
-        int msgid = messageID.incrementAndGet();
-        return invoke(sopClassUID, msgid, Dimse.C_ECHO_RQ,
-                Dimse.C_ECHO_RQ.mkRQ(msgid, sopClassUID, null, Dimse.NO_DATASET));
+        Byte pcid = pcidFor(sopClassUID);
+        awaitOperationWindow();
+        return invoke(pcid, Dimse.C_ECHO_RQ, sopClassUID, null, null);
+    }
+
+    /**
+     * Invokes a C-ECHO operation without blocking the caller, if the number of outstanding operations has reached
+     * the negotiated Maximum Number Operations Invoked. The C-ECHO-RQ is sent as soon as an outstanding operation
+     * completes.
+     */
+    public CompletableFuture<DimseRSP> cechoAsync(String sopClassUID) {
+        Byte pcid = pcidFor(sopClassUID);
+        return invokeAsync(pcid, Dimse.C_ECHO_RQ, sopClassUID, null, null);
     }
 
     public CompletableFuture<DimseRSP> cstore(String sopClassUID, String sopInstanceUID,
             DataWriter dataWriter, String transferSyntax) throws IOException, InterruptedException {
-        int msgid = messageID.incrementAndGet();
-        return invoke(sopClassUID, msgid, Dimse.C_STORE_RQ,
-                Dimse.C_STORE_RQ.mkRQ(msgid, sopClassUID, sopInstanceUID, Dimse.WITH_DATASET),
-                dataWriter, transferSyntax);
-    }
-
-    private CompletableFuture<DimseRSP> invoke(String abstractSyntax, int msgid, Dimse dimse, DicomObject commandSet)
-            throws IOException, InterruptedException {
-        Byte pcid = pcidFor(abstractSyntax);
-        OutstandingRSP outstandingRSP = new OutstandingRSP(msgid, new CompletableFuture<>());
-        outstandingRSPs.put(outstandingRSP);
-        writeDimse(pcid, dimse, commandSet);
-        return outstandingRSP.futureDimseRSP;
+        Byte pcid = pcidFor(sopClassUID, transferSyntax);
+        awaitOperationWindow();
+        return invoke(pcid, Dimse.C_STORE_RQ, sopClassUID, sopInstanceUID, dataWriter);
     }
 
-    private CompletableFuture<DimseRSP> invoke(String abstractSyntax, int msgid, Dimse dimse, DicomObject commandSet,
-            DataWriter dataWriter, String transferSyntax) throws IOException, InterruptedException {
-        Byte pcid = pcidFor(abstractSyntax, transferSyntax);
-        OutstandingRSP outstandingRSP = new OutstandingRSP(msgid, new CompletableFuture<>());
-        outstandingRSPs.put(outstandingRSP);
-        writeDimse(pcid, dimse, commandSet, dataWriter);
+    /**
+     * Invokes a C-STORE operation without blocking the caller, if the number of outstanding operations has reached
+     * the negotiated Maximum Number Operations Invoked. The C-STORE-RQ is sent as soon as an outstanding operation
+     * completes.
+     */
+    public CompletableFuture<DimseRSP> cstoreAsync(String sopClassUID, String sopInstanceUID,
+            DataWriter dataWriter, String transferSyntax) {
+        Byte pcid = pcidFor(sopClassUID, transferSyntax);
+        return invokeAsync(pcid, Dimse.C_STORE_RQ, sopClassUID, sopInstanceUID, dataWriter);
+    }
+
+    public int getNumberOfOutstandingOperations() {
+        return operationWindow.getAcquired();
+    }
+
+    private void awaitOperationWindow() throws IOException, InterruptedException {
+        CompletableFuture<Void> permit = operationWindow.acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false)) {
+                operationWindow.release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private CompletableFuture<DimseRSP> invokeAsync(Byte pcid, Dimse dimse, String sopClassUID,
+            String sopInstanceUID, DataWriter dataWriter) {
+        CompletableFuture<CompletableFuture<DimseRSP>> invoked;
+        synchronized (asyncInvocationLock) {
+            invoked = lastAsyncInvocation
+                    .thenCompose(x -> operationWindow.acquire())
+                    .thenApplyAsync(x -> {
+                        try {
+                            return invoke(pcid, dimse, sopClassUID, sopInstanceUID, dataWriter);
+                        } catch (IOException | RuntimeException e) {
+                            return CompletableFuture.failedFuture(e);
+                        }
+                    }, connector.getExecutor());
+            lastAsyncInvocation = invoked.exceptionally(e -> null);
+        }
+        return invoked.thenCompose(rsp -> rsp);
+    }
+
+    private CompletableFuture<DimseRSP> invoke(Byte pcid, Dimse dimse, String sopClassUID, String sopInstanceUID,
+            DataWriter dataWriter) throws IOException {
+        int msgid;
+        OutstandingRSP outstandingRSP;
+        synchronized (outstandingRSPs) {
+            if (outstandingRSPsClosed) {
+                operationWindow.release();
+                throw new IOException(this + ": association closed");
+            }
+            if (outstandingRSPs.size() == 0xffff) {
+                operationWindow.release();
+                throw new IOException(this + ": all Message IDs in use by outstanding operations");
+            }
+            msgid = nextMessageID(messageID, outstandingRSPs);
+            outstandingRSP = new OutstandingRSP(msgid, new CompletableFuture<>());
+            outstandingRSPs.put(msgid, outstandingRSP);
+        }
+        try {
+            if (dataWriter == null) {
+                writeDimse(pcid, dimse, dimse.mkRQ(msgid, sopClassUID, sopInstanceUID, Dimse.NO_DATASET));
+            } else {
+                writeDimse(pcid, dimse, dimse.mkRQ(msgid, sopClassUID, sopInstanceUID, Dimse.WITH_DATASET),
+                        dataWriter);
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (outstandingRSPs) {
+                outstandingRSPs.remove(msgid);
+            }
+            operationWindow.release();
+            throw e;
+        }
         return outstandingRSP.futureDimseRSP;
     }
 
+    /**
+     * Returns the next Message ID, skipping 0 and Message IDs of outstanding operations, which must not be all 65535
+     * valid Message IDs.
+     */
+    static int nextMessageID(AtomicInteger messageID, IntHashMap<?> outstandingRSPs) {
+        int msgid;
+        do {
+            msgid = messageID.incrementAndGet() & 0xffff;
+        } while (msgid == 0 || outstandingRSPs.get(msgid) != null);
+        return msgid;
+    }
+
     private Byte pcidFor(String abstractSyntax) {
         return aarq.pcidsFor(abstractSyntax)
                 .filter(aaac::isAcceptance)
@@ -391,6 +602,13 @@ public class Association extends TCPConnection<Association> {
         return arrpReceived;
     }
 
+    /**
+     * Aborts the Association by an A-ABORT PDU with source service-user and closes the transport connection.
+     */
+    public void abort() {
+        state.abort(this);
+    }
+
     @Override
     protected void connected() {
         state.connected(this);
@@ -398,11 +616,15 @@ public class Association extends TCPConnection<Association> {
     }
 
     private enum State {
-        STA_1(false, true, "Sta1 - Idle"),
+        STA_1(false, true, "Sta1 - Idle") {
+            @Override
+            public void abort(Association as) {
+            }
+        },
         STA_2(true, false, "Sta2 - Transport connection open (Awaiting A-ASSOCIATE-RQ PDU)") {
             @Override
-            ByteBuffer onAAssociateRQ(Association as, ByteBuffer buffer) {
-                return as.ae_6(buffer);
+            void onAAssociateRQ(Association as) {
+                as.ae_6();
             }
         },
         STA_3(true, true, "Sta3 - Awaiting local A-ASSOCIATE response primitive (from local user)"),
@@ -410,7 +632,11 @@ public class Association extends TCPConnection<Association> {
             @Override
             public void connected(Association as) {
                 as.changeState(STA_4a);
-                as.startReading();
+            }
+
+            @Override
+            public void abort(Association as) {
+                as.safeClose();
             }
         },
         STA_4a(true, true, "Sta4a - Awaiting local A-ASSOCIATE request primitive (from local user)") {
@@ -421,24 +647,24 @@ public class Association extends TCPConnection<Association> {
         },
         STA_5(true, false, "Sta5 - Awaiting A-ASSOCIATE-AC or A-ASSOCIATE-RJ PDU"){
             @Override
-            ByteBuffer onAAssociateAC(Association as, ByteBuffer buffer) {
-                return as.ae_3(buffer);
+            void onAAssociateAC(Association as) {
+                as.ae_3();
             }
 
             @Override
-            ByteBuffer onAAssociateRJ(Association as, ByteBuffer buffer) {
-                return as.ae_4(buffer);
+            void onAAssociateRJ(Association as) {
+                as.ae_4();
             }
         },
         STA_6(true, false, "Sta6 - Association established and ready for data transfer") {
             @Override
-            ByteBuffer onPDataTF(Association as, ByteBuffer buffer) {
-                return as.dt_2(buffer);
+            void onPDataTF(Association as) {
+                as.dt_2();
             }
 
             @Override
-            ByteBuffer onAReleaseRQ(Association as, ByteBuffer buffer) {
-                return as.ar_2(buffer);
+            void onAReleaseRQ(Association as) {
+                as.ar_2();
             }
 
             @Override
@@ -448,13 +674,13 @@ public class Association extends TCPConnection<Association> {
         },
         STA_7(true, false, "Sta7 - Awaiting A-RELEASE-RP PDU") {
             @Override
-            ByteBuffer onPDataTF(Association as, ByteBuffer buffer) {
-                return as.dt_2(buffer);
+            void onPDataTF(Association as) {
+                as.dt_2();
             }
 
             @Override
-            ByteBuffer onAReleaseRP(Association as, ByteBuffer buffer) {
-                return as.ar_3(buffer);
+            void onAReleaseRP(Association as) {
+                as.ar_3();
             }
         },
         STA_8(true, true, "Sta8 - Awaiting local A-RELEASE response primitive (from local user)"),
@@ -462,7 +688,11 @@ public class Association extends TCPConnection<Association> {
         STA_10(true, false, "Sta10 - Release collision acceptor side; awaiting A-RELEASE-RP PDU"),
         STA_11(true, false, "Sta11 - Release collision requestor side; awaiting A-RELEASE-RP PDU"),
         STA_12(true, true, "Sta12 - Release collision acceptor side; awaiting A-RELEASE response primitive (from local user)"),
-        STA_13(false, true, "Sta13 - Awaiting Transport Connection Close Indication (Association no longer exists)");
+        STA_13(false, true, "Sta13 - Awaiting Transport Connection Close Indication (Association no longer exists)") {
+            @Override
+            public void abort(Association as) {
+            }
+        };
 
         final boolean reading;
         final boolean discard;
@@ -479,63 +709,72 @@ public class Association extends TCPConnection<Association> {
             return description;
         }
 
-        ByteBuffer action(Association as, int pduType, int pduLength, ByteBuffer buffer) {
+        void action(Association as, int pduType, int pduLength) {
             switch (pduType) {
                 case 1:
                     LOG.info("{} >> A-ASSOCIATE-RQ", as);
-                    return onAAssociateRQ(as, buffer);
+                    onAAssociateRQ(as);
+                    break;
                 case 2:
                     LOG.info("{} >> A-ASSOCIATE-AC", as);
-                    return onAAssociateAC(as, buffer);
+                    onAAssociateAC(as);
+                    break;
                 case 3:
-                    LOG.info("{} >> {}", as, AAssociateRJ.toString(buffer.getInt(buffer.position())));
-                    return onAAssociateRJ(as, buffer);
+                    as.ensureRemaining(4);
+                    LOG.info("{} >> {}", as, AAssociateRJ.toString(as.received.peekInt()));
+                    onAAssociateRJ(as);
+                    break;
                 case 4:
                     LOG.debug("{} >> P-DATA-TF[length: {}]", as, pduLength);
-                    return onPDataTF(as, buffer);
+                    onPDataTF(as);
+                    break;
                 case 5:
                     LOG.info("{} >> A-RELEASE-RQ", as);
-                    return onAReleaseRQ(as, buffer);
+                    onAReleaseRQ(as);
+                    break;
                 case 6:
                     LOG.info("{} >> A-RELEASE-RP", as);
-                    return onAReleaseRP(as, buffer);
+                    onAReleaseRP(as);
+                    break;
                 case 7:
                     LOG.info("{} >> A-ABORT", as);
-                    return onAAbort(as, buffer);
+                    onAAbort(as);
+                    break;
+                default:
+                    onInvalidPDU(as, pduType);
             }
-            return onInvalidPDU(as, buffer, pduType);
         }
 
-        ByteBuffer onAAssociateRQ(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onAAssociateRQ(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onAAssociateAC(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onAAssociateAC(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onAAssociateRJ(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onAAssociateRJ(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onPDataTF(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onPDataTF(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onAReleaseRQ(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onAReleaseRQ(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onAReleaseRP(Association as, ByteBuffer buffer) {
-            return as.aa_8(buffer);
+        void onAReleaseRP(Association as) {
+            as.aa_8();
         }
 
-        ByteBuffer onAAbort(Association as, ByteBuffer buffer) {
-            return as.aa_3(buffer);
+        void onAAbort(Association as) {
+            as.aa_3();
         }
 
-        ByteBuffer onInvalidPDU(Association as, ByteBuffer buffer, int pduType) {
-            return as.aa_8(buffer);
+        void onInvalidPDU(Association as, int pduType) {
+            as.aa_8();
         }
 
         public void connected(Association as) {
@@ -548,6 +787,10 @@ public class Association extends TCPConnection<Association> {
         public void release(Association as) {
             throw new IllegalStateException(toString());
         }
+
+        public void abort(Association as) {
+            as.aa_1();
+        }
     }
 
     private void ae_1() {
@@ -563,50 +806,44 @@ public class Association extends TCPConnection<Association> {
         write(buffer, as -> as.changeState(State.STA_5));
     }
 
-    private ByteBuffer ae_3(ByteBuffer buffer) {
-        buffer = ensureRemaining(buffer, pduLength);
-        aaac = new AAssociate.AC(buffer, pduLength);
+    private void ae_3() {
+        ensureRemaining(pduLength);
+        aaac = new AAssociate.AC(received.contiguous(pduLength), pduLength);
+        received.release();
         LOG.debug("{}", aaac);
         maxPDULength = aaac.getMaxPDULength();
-        outstandingRSPs = newBlockingQueue(aaac.getMaxOpsInvoked());
+        operationWindow = new OperationWindow(aaac.getMaxOpsInvoked());
         onEstablished();
         aaacReceived.complete(this);
-        return buffer;
-    }
-
-    private static BlockingQueue<OutstandingRSP> newBlockingQueue(int limit) {
-        return new LinkedBlockingQueue<>(limit > 0 ? limit : Integer.MAX_VALUE);
     }
 
-    private ByteBuffer ae_4(ByteBuffer buffer) {
-        buffer = ensureRemaining(buffer, pduLength);
-        resultSourceReason = buffer.getInt();
+    private void ae_4() {
+        ensureRemaining(pduLength);
+        resultSourceReason = received.getInt();
         aaacReceived.completeExceptionally(new AAssociateRJ(resultSourceReason));
         safeClose();
-        return buffer;
     }
 
     private void ae_5() {
         changeState(State.STA_2);
-        startReading();
     }
 
-    private ByteBuffer ae_6(ByteBuffer buffer) {
-        buffer = ensureRemaining(buffer, pduLength);
-        aarq = new AAssociate.RQ(buffer, pduLength);
+    private void ae_6() {
+        ensureRemaining(pduLength);
+        aarq = new AAssociate.RQ(received.contiguous(pduLength), pduLength);
+        received.release();
         asname = aarq.getCalledAETitle() + "<-" + aarq.getCallingAETitle() + "(" + id + ")";
         LOG.debug("{}", aarq);
         changeState(State.STA_3);
         try {
             handler.onAAssociateRQ(this);
             maxPDULength = aarq.getMaxPDULength();
-            outstandingRSPs = newBlockingQueue(aaac.getMaxOpsPerformed());
+            operationWindow = new OperationWindow(aaac.getMaxOpsPerformed());
             writeAAAC();
         } catch (AAssociateRJ aarj) {
             LOG.info("{} << {}", this, aarj.getMessage());
             write(toBuffer((short) 0x0300, aarj.resultSourceReason), Association::closeAfterDelay);
         }
-        return buffer;
     }
 
     private void writeAAAC() {
@@ -633,43 +870,40 @@ public class Association extends TCPConnection<Association> {
         pdvSemaphore.release();
     }
 */
-    private ByteBuffer dt_2(ByteBuffer buffer) {
+    private void dt_2() {
         try {
-            buffer = ensureRemaining(buffer, 6);
-            readPDVHeader(buffer);
+            ensureRemaining(6);
+            readPDVHeader();
             requireAcceptedPresentationContext(pcid);
             requireCommandPDV(mch);
-            PDVInputStream commandStream = new PDVInputStream(buffer);
+            PDVInputStream commandStream = new PDVInputStream();
             DicomObject commandSet = new DicomInputStream(commandStream).readCommandSet();
             Dimse dimse = Dimse.of(commandSet);
             LOG.info("{} >> {}", this, dimse.toString(pcid, commandSet, getTransferSyntax(pcid)));
             LOG.debug("{} >> Command:\n{}", this, commandSet);
-            buffer = commandStream.buffer;
             if (!Dimse.hasDataSet(commandSet)) {
                 dimse.handler.accept(this, pcid, dimse, commandSet, null);
             } else {
                 if (pduLength == 0) {
-                    buffer = ensureRemaining(buffer, 10);
-                    if (buffer.getShort() >>> 8 != 4) {
-                        buffer.position(buffer.position() - 2);
-                        return buffer;
+                    ensureRemaining(10);
+                    if (received.peek() != 4) {
+                        return;
                     }
-                    pduLength = buffer.getInt();
+                    received.getShort();
+                    pduLength = received.getInt();
                     LOG.debug("{} >> P-DATA-TF[length: {}]", this, pduLength);
                 }
-                buffer = ensureRemaining(buffer, 6);
-                readPDVHeader(buffer);
+                ensureRemaining(6);
+                readPDVHeader();
                 Byte pcid0 = pcid;
                 requirePresentationContextID(pcid, pcid0);
                 requireDataPDV(mch);
-                PDVInputStream dataStream = new PDVInputStream(buffer);
+                PDVInputStream dataStream = new PDVInputStream();
                 dimse.handler.accept(this, pcid, dimse, commandSet, dataStream);
-                buffer = dataStream.buffer;
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return buffer;
     }
 
     private void ar_1() {
@@ -677,18 +911,26 @@ public class Association extends TCPConnection<Association> {
         write(mkAReleaseRQ(), as -> as.changeState(State.STA_7));
     }
 
-    private ByteBuffer ar_2(ByteBuffer buffer) {
-        buffer.position(buffer.limit());
+    private void ar_2() {
+        received.clear();
         changeState(State.STA_8);
         writeARRP();
-        return buffer;
     }
 
-    private ByteBuffer ar_3(ByteBuffer buffer) {
+    private void ar_3() {
         arrpReceived.complete(this);
-        buffer.position(buffer.limit());
+        received.clear();
         safeClose();
-        return buffer;
+    }
+
+    private void aa_1() {
+        LOG.info("{} << A-ABORT", this);
+        failOutstandingOperations(new IOException(this + ": association aborted"));
+        try {
+            write(toBuffer((short) 0x0700, 0), Association::closeAfterDelay);
+        } catch (IllegalStateException e) {
+            safeClose();
+        }
     }
 
     private void aa_2() {
@@ -697,16 +939,14 @@ public class Association extends TCPConnection<Association> {
         readSemaphore.release();
     }
 
-    private ByteBuffer aa_3(ByteBuffer buffer) {
-        buffer.position(buffer.limit());
+    private void aa_3() {
+        received.clear();
         safeClose();
-        return buffer;
     }
 
-    private ByteBuffer aa_8(ByteBuffer buffer) {
-        buffer.position(buffer.limit());
+    private void aa_8() {
+        received.clear();
         write(mkAAbort(), Association::closeAfterDelay);
-        return buffer;
     }
 
     private enum MCH {
@@ -732,10 +972,10 @@ public class Association extends TCPConnection<Association> {
         }
     }
 
-    private void readPDVHeader(ByteBuffer buffer) {
-        pdvLength = buffer.getInt();
-        pcid = buffer.get();
-        mch = MCH.of(buffer.get());
+    private void readPDVHeader() {
+        pdvLength = received.getInt();
+        pcid = received.get();
+        mch = MCH.of(received.get());
         LOG.debug("{} >> PDV[length: {}, pcid: {}, mch: {}]", this, pdvLength, pcid, mch.value());
         pduLength -= 4 + pdvLength;
     }
@@ -792,11 +1032,9 @@ public class Association extends TCPConnection<Association> {
     }
 
     private class PDVInputStream extends InputStream {
-        ByteBuffer buffer;
         int pdvRemaining;
 
-        PDVInputStream(ByteBuffer buffer) {
-            this.buffer = buffer;
+        PDVInputStream() {
             pdvRemaining = pdvLength - 2;
         }
 
@@ -806,7 +1044,7 @@ public class Association extends TCPConnection<Association> {
                 return -1;
             }
             pdvRemaining--;
-            return buffer.get() & 0xff;
+            return received.get() & 0xff;
         }
 
         @Override
@@ -817,8 +1055,8 @@ public class Association extends TCPConnection<Association> {
             if (eof()) {
                 return -1;
             }
-            int read = Math.min(buffer.remaining(), Math.min(pdvRemaining, len));
-            buffer.get(b, off, read);
+            int read = Math.min(received.remaining(), Math.min(pdvRemaining, len));
+            received.get(b, off, read);
             pdvRemaining -= read;
             return read;
         }
@@ -828,35 +1066,45 @@ public class Association extends TCPConnection<Association> {
             if (n <= 0L || eof()) {
                 return 0;
             }
-            int skip = Math.min(buffer.remaining(), (int) Math.min(pdvRemaining, n));
-            buffer.position(buffer.position() + skip);
-            pdvRemaining =- skip;
+            int skip = Math.min(received.remaining(), (int) Math.min(pdvRemaining, n));
+            received.skip(skip);
+            pdvRemaining -= skip;
             return skip;
         }
 
+        long forEachPayload(PDVPayloadConsumer consumer) throws IOException {
+            long total = 0;
+            while (!eof()) {
+                ByteBuffer payload = received.slice(pdvRemaining);
+                pdvRemaining -= payload.remaining();
+                total += payload.remaining();
+                consumer.accept(payload);
+            }
+            return total;
+        }
+
         private boolean eof() {
-            while (pdvRemaining == 0 || !buffer.hasRemaining()) {
+            while (pdvRemaining == 0 || !received.hasRemaining()) {
                 if (pdvRemaining == 0 && mch.last) {
                     return true;
                 }
-                if (!buffer.hasRemaining()) {
-                    ByteBufferPool.free(buffer);
-                    buffer = nextBuffer();
+                if (!received.hasRemaining()) {
+                    ensureRemaining(1);
                 }
                 if (pdvRemaining == 0) {
                     if (pduLength == 0) {
-                        buffer = ensureRemaining(buffer, 10);
-                        if (buffer.getShort() >>> 8 != 4) {
-                            buffer.position(buffer.position() - 2);
+                        ensureRemaining(10);
+                        if (received.peek() != 4) {
                             return true;
                         }
-                        pduLength = buffer.getInt();
+                        received.getShort();
+                        pduLength = received.getInt();
                         LOG.debug("{} >> P-DATA-TF[length: {}]", Association.this, pduLength);
                     }
-                    buffer = ensureRemaining(buffer, 6);
+                    ensureRemaining(6);
                     Byte pcid0 = pcid;
                     MCH mch0 = mch;
-                    readPDVHeader(buffer);
+                    readPDVHeader();
                     requirePresentationContextID(pcid, pcid0);
                     mch = requireMatchingPDV(mch, mch0);
                     pdvRemaining = Association.this.pdvLength - 2;
@@ -892,9 +1140,44 @@ public class Association extends TCPConnection<Association> {
         return mch;
     }
 
+    @FunctionalInterface
+    public interface PDVPayloadConsumer {
+        void accept(ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * Passes the remaining data of {@code dataStream} to {@code consumer}. If {@code dataStream} is the data stream
+     * passed to {@link DimseHandler#accept}, each PDV payload is passed as slice of the received buffer without
+     * copying it. The slice is only valid during the invocation of {@code consumer}.
+     *
+     * @return number of passed bytes
+     */
+    public static long forEachPDVPayload(InputStream dataStream, PDVPayloadConsumer consumer) throws IOException {
+        if (dataStream instanceof PDVInputStream) {
+            return ((PDVInputStream) dataStream).forEachPayload(consumer);
+        }
+        byte[] b = new byte[8192];
+        ByteBuffer buffer = ByteBuffer.wrap(b);
+        long total = 0;
+        int read;
+        while ((read = dataStream.read(b)) > 0) {
+            consumer.accept(buffer.clear().limit(read));
+            total += read;
+        }
+        return total;
+    }
+
     @FunctionalInterface
     public interface DataWriter {
         void writeTo(OutputStream out, String tsuid) throws IOException;
+
+        /**
+         * Returns a writer of {@code length} bytes of file {@code path} starting at {@code position}, which are
+         * transferred to the socket without copying them to user space.
+         */
+        static DataWriter ofFileRegion(Path path, long position, long length) {
+            return new FileRegion(path, position, length);
+        }
     }
 
     private static class OutstandingRSP {
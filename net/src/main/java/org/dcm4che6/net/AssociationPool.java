@@ -0,0 +1,376 @@
+package org.dcm4che6.net;
+
+import org.dcm4che6.conf.model.Connection;
+import org.dcm4che6.data.UID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pool of established Associations for reuse by subsequent operations. Associations are pooled by calling and called
+ * AE Title, remote connection and requested Presentation Contexts. Per pool, at least {@code minSize} Associations
+ * are kept open and at most {@code maxSize} Associations are opened; further acquirers have to wait until an
+ * Association is released. Idle Associations exceeding {@code minSize} are released after {@code idleTimeout}.
+ * Idle Associations are verified by C-ECHO every {@code keepAliveInterval}, if the requested Presentation Contexts
+ * include the Verification SOP Class and the Verification SOP Class is accepted. Associations aborted or failing
+ * the keep-alive are replaced.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+public class AssociationPool implements Closeable {
+    static final Logger LOG = LoggerFactory.getLogger(AssociationPool.class);
+
+    private final TCPConnector<Association> connector;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Pool> pools = new HashMap<>();
+    private final Map<Association, Pool> acquired = new IdentityHashMap<>();
+    private volatile int minSize;
+    private volatile int maxSize = 1;
+    private volatile Duration idleTimeout = Duration.ofMinutes(1);
+    private volatile Duration keepAliveInterval = Duration.ZERO;
+    private boolean closed;
+
+    public AssociationPool(TCPConnector<Association> connector) {
+        this.connector = Objects.requireNonNull(connector);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "AssociationPool");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::checkIdle, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public AssociationPool withMinSize(int minSize) {
+        if (minSize < 0)
+            throw new IllegalArgumentException("minSize: " + minSize);
+
+        this.minSize = minSize;
+        return this;
+    }
+
+    public AssociationPool withMaxSize(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public AssociationPool withIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = Objects.requireNonNull(idleTimeout);
+        return this;
+    }
+
+    /**
+     * @param keepAliveInterval interval of C-ECHO verifications of idle Associations, {@link Duration#ZERO} = never
+     */
+    public AssociationPool withKeepAliveInterval(Duration keepAliveInterval) {
+        this.keepAliveInterval = Objects.requireNonNull(keepAliveInterval);
+        return this;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public Duration getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    /**
+     * Returns an idle Association matching {@code rq}, or opens a new one, if less than {@code maxSize} are open.
+     * Otherwise the returned stage completes when another matching Association is released.
+     * The acquired Association has to be returned by {@link #release(Association)}.
+     * The first {@code rq} of a pool is kept to open further Associations of the pool, so it must not be modified
+     * after it was passed to this method.
+     */
+    public CompletableFuture<Association> acquire(Connection local, Connection remote, AAssociate.RQ rq) {
+        CompletableFuture<Association> result;
+        Pool pool;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("AssociationPool closed"));
+            }
+            pool = pools.computeIfAbsent(keyOf(remote, rq), key -> new Pool(key, local, remote, rq));
+            Idle idle;
+            while ((idle = pool.idle.pollLast()) != null) {
+                if (idle.as.isOpen()) {
+                    acquired.put(idle.as, pool);
+                    LOG.debug("{}: reuse {}", pool, idle.as);
+                    return CompletableFuture.completedFuture(idle.as);
+                }
+            }
+            if (pool.size < maxSize) {
+                pool.size++;
+                result = open(pool);
+            } else {
+                result = new CompletableFuture<>();
+                pool.waiting.add(result);
+                LOG.debug("{}: wait for release of Association", pool);
+            }
+            fillToMinSize(pool);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Association acquired by {@link #acquire} to the pool.
+     */
+    public void release(Association as) {
+        release(as, System.nanoTime());
+    }
+
+    private void release(Association as, long idleSince) {
+        CompletableFuture<Association> waiting = null;
+        synchronized (this) {
+            Pool pool = acquired.remove(as);
+            if (!as.isOpen()) {
+                return;
+            }
+            if (pool == null) {
+                throw new IllegalArgumentException("Association not acquired from pool: " + as);
+            }
+            if (closed) {
+                releaseAssociation(as);
+                return;
+            }
+            if ((waiting = pool.waiting.poll()) != null) {
+                acquired.put(as, pool);
+            } else {
+                pool.idle.add(new Idle(as, idleSince));
+            }
+        }
+        if (waiting != null) {
+            waiting.complete(as);
+        }
+    }
+
+    /**
+     * Releases all idle Associations and fails all waiting acquirers. Associations still acquired are released
+     * when they are returned to the pool.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Association>> waiting = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Pool pool : pools.values()) {
+                pool.idle.forEach(idle -> releaseAssociation(idle.as));
+                pool.idle.clear();
+                waiting.addAll(pool.waiting);
+                pool.waiting.clear();
+            }
+        }
+        scheduler.shutdownNow();
+        waiting.forEach(f -> f.completeExceptionally(new IllegalStateException("AssociationPool closed")));
+    }
+
+    private CompletableFuture<Association> open(Pool pool) {
+        LOG.debug("{}: open Association", pool);
+        CompletableFuture<Association> opened;
+        try {
+            opened = connector.connect(pool.local, pool.remote).thenCompose(as -> as.open(pool.rq));
+        } catch (IOException e) {
+            opened = CompletableFuture.failedFuture(e);
+        }
+        return opened.whenComplete((as, e) -> {
+            if (e != null) {
+                LOG.info("{}: failed to open Association: {}", pool, e.getMessage());
+                CompletableFuture<Association> waiting;
+                synchronized (this) {
+                    pool.size--;
+                    if (closed || (waiting = pool.waiting.poll()) == null) {
+                        return;
+                    }
+                    // waiting acquirers were queued because of this opening, so give one of them another attempt
+                    pool.size++;
+                }
+                openFor(pool, waiting);
+            } else {
+                synchronized (this) {
+                    acquired.put(as, pool);
+                }
+                as.onClose().thenRun(() -> onClose(pool, as));
+            }
+        });
+    }
+
+    private void openFor(Pool pool, CompletableFuture<Association> waiting) {
+        open(pool).whenComplete((opened, e) -> {
+            if (e != null) {
+                waiting.completeExceptionally(e);
+            } else {
+                waiting.complete(opened);
+            }
+        });
+    }
+
+    private void fillToMinSize(Pool pool) {
+        while (pool.retained() < minSize) {
+            pool.size++;
+            open(pool).thenAccept(this::release);
+        }
+    }
+
+    private void onClose(Pool pool, Association as) {
+        CompletableFuture<Association> waiting;
+        synchronized (this) {
+            pool.size--;
+            pool.releasing.remove(as);
+            acquired.remove(as);
+            pool.idle.removeIf(idle -> idle.as == as);
+            if (closed) {
+                return;
+            }
+            LOG.debug("{}: {} closed", pool, as);
+            if ((waiting = pool.waiting.poll()) != null) {
+                pool.size++;
+            } else {
+                fillToMinSize(pool);
+                return;
+            }
+        }
+        openFor(pool, waiting);
+    }
+
+    void checkIdle() {
+        try {
+            idleToVerify().forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to check idle Associations:", e);
+        }
+    }
+
+    private synchronized List<Runnable> idleToVerify() {
+        long now = System.nanoTime();
+        List<Runnable> verify = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            for (Iterator<Idle> iter = pool.idle.iterator(); iter.hasNext();) {
+                Idle idle = iter.next();
+                if (pool.retained() > minSize && now - idle.since > idleTimeout.toNanos()) {
+                    iter.remove();
+                    // the pool size is only decremented when the released Association is closed
+                    pool.releasing.add(idle.as);
+                    LOG.debug("{}: release idle {}", pool, idle.as);
+                    releaseAssociation(idle.as);
+                } else if (!keepAliveInterval.isZero() && pool.keepAlive
+                        && now - idle.verified > keepAliveInterval.toNanos()) {
+                    iter.remove();
+                    acquired.put(idle.as, pool);
+                    verify.add(() -> keepAlive(pool, idle));
+                }
+            }
+        }
+        return verify;
+    }
+
+    private void keepAlive(Pool pool, Idle idle) {
+        Association as = idle.as;
+        LOG.debug("{}: keep-alive", as);
+        CompletableFuture<DimseRSP> rsp;
+        try {
+            rsp = as.cechoAsync(UID.VerificationSOPClass);
+        } catch (IllegalStateException e) {
+            LOG.info("{}: disable keep-alive: {}", pool, e.getMessage());
+            synchronized (this) {
+                pool.keepAlive = false;
+            }
+            release(as, idle.since);
+            return;
+        } catch (RuntimeException e) {
+            rsp = CompletableFuture.failedFuture(e);
+        }
+        rsp.orTimeout(Math.max(keepAliveInterval.toMillis(), 1000L), TimeUnit.MILLISECONDS)
+                .whenComplete((x, e) -> {
+                    if (e == null) {
+                        release(as, idle.since);
+                        return;
+                    }
+                    LOG.info("{}: keep-alive failed: {}", as, e.getMessage());
+                    synchronized (this) {
+                        acquired.remove(as);
+                    }
+                    // replaced on close of the aborted Association
+                    as.abort();
+                });
+    }
+
+    private static void releaseAssociation(Association as) {
+        try {
+            as.release();
+        } catch (IllegalStateException e) {
+            LOG.info("{}: failed to release Association: {}", as, e.getMessage());
+        }
+    }
+
+    private static String keyOf(Connection remote, AAssociate.RQ rq) {
+        SortedSet<String> pcs = new TreeSet<>();
+        rq.forEachPresentationContext((pcid, pc) -> pcs.add(pc.abstractSyntax() + Arrays.toString(pc.transferSyntax())));
+        return rq.getCallingAETitle() + "->" + rq.getCalledAETitle()
+                + "@" + remote.getHostname() + ":" + remote.getPort().orElse(-1) + pcs;
+    }
+
+    private class Pool {
+        final String key;
+        final Connection local;
+        final Connection remote;
+        final AAssociate.RQ rq;
+        boolean keepAlive;
+        final ArrayDeque<Idle> idle = new ArrayDeque<>();
+        final ArrayDeque<CompletableFuture<Association>> waiting = new ArrayDeque<>();
+        final Set<Association> releasing = Collections.newSetFromMap(new IdentityHashMap<>());
+        int size;
+
+        Pool(String key, Connection local, Connection remote, AAssociate.RQ rq) {
+            this.key = key;
+            this.local = local;
+            this.remote = remote;
+            this.rq = rq;
+            boolean[] verification = new boolean[1];
+            rq.forEachPresentationContext((pcid, pc) ->
+                    verification[0] |= pc.equalsAbstractSyntax(UID.VerificationSOPClass));
+            this.keepAlive = verification[0];
+        }
+
+        /**
+         * Returns the number of open or opening Associations, which are not about to be released.
+         */
+        int retained() {
+            return size - releasing.size();
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private static class Idle {
+        final Association as;
+        final long since;
+        final long verified;
+
+        Idle(Association as, long since) {
+            this.as = as;
+            this.since = since;
+            this.verified = System.nanoTime();
+        }
+    }
+}
@@ -1,52 +1,288 @@
 package org.dcm4che6.net;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Pool of direct buffers in power of two size classes from 8 KB to 4 MB. Freed buffers are cached per thread, up to
+ * {@value #MAX_THREAD_CACHED} per size class, and in global queues, up to a total capacity of cached and globally
+ * pooled buffers configured by system property {@code org.dcm4che6.net.ByteBufferPool.maxPooledBytes}
+ * (default: 64 MB). Buffers cached by terminated threads are moved to the global queues. Buffers exceeding the largest
+ * size class are allocated from the heap and not pooled. Freeing a buffer which is already pooled, or whose capacity
+ * does not match a size class, is ignored and logged.
+ * <p>
+ * If system property {@code org.dcm4che6.net.ByteBufferPool.leakDetection} is {@code true}, each allocated buffer is
+ * tracked until it is freed: buffers which are garbage collected without being freed are logged with the stack trace
+ * of their allocation, and freeing any buffer not allocated by the pool is ignored. Without leak detection, a foreign
+ * direct buffer with the capacity of a size class is taken over by the pool, and buffers which are never freed
+ * remain counted as {@linkplain #getOutstanding() outstanding}.
+ * <p>
+ * Only the metrics are accessible to applications.
+ *
  * @author Gunter Zeilinger (gunterze@protonmail.com)
  * @since Nov 2019
  */
-class ByteBufferPool {
+public final class ByteBufferPool {
+    static final Logger LOG = LoggerFactory.getLogger(ByteBufferPool.class);
+    static final int MIN_SIZE_SHIFT = 13;
+    static final int MAX_SIZE_SHIFT = 22;
+    static final int MAX_THREAD_CACHED = 4;
+
+    private static final long MAX_POOLED_BYTES =
+            Long.getLong("org.dcm4che6.net.ByteBufferPool.maxPooledBytes", 64L << 20);
+    private static final boolean LEAK_DETECTION =
+            Boolean.getBoolean("org.dcm4che6.net.ByteBufferPool.leakDetection");
+    private static final ConcurrentLinkedQueue<ByteBuffer>[] POOLS = newQueues(MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1);
+    private static final ThreadLocal<ThreadCache> THREAD_CACHES = ThreadLocal.withInitial(ThreadCache::new);
+    private static final Set<ThreadCacheRef> threadCaches = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<ThreadCache> terminatedThreadCaches = new ReferenceQueue<>();
+    private static final Set<ByteBuffer>[] pooled = newIdentitySets(16);
+    private static final AtomicLong pooledBytes = new AtomicLong();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder unpooled = new LongAdder();
+    private static final LongAdder outstanding = new LongAdder();
+    private static final Set<Allocation> allocated = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+
+    private ByteBufferPool() {}
+
+    static ByteBuffer allocate() {
+        return allocate(1 << MIN_SIZE_SHIFT);
+    }
+
+    static ByteBuffer allocate(int size) {
+        int sizeClass = sizeClass(size);
+        if (sizeClass >= POOLS.length) {
+            unpooled.increment();
+            return ByteBuffer.allocate(size);
+        }
+        if (LEAK_DETECTION) {
+            reportLeaks();
+        }
+        drainTerminatedThreadCaches();
+        ByteBuffer buffer = THREAD_CACHES.get().poll(sizeClass);
+        if (buffer == null) {
+            buffer = POOLS[sizeClass].poll();
+        }
+        if (buffer != null) {
+            setPooled(buffer, false);
+            pooledBytes.addAndGet(-buffer.capacity());
+            hits.increment();
+        } else {
+            misses.increment();
+            buffer = ByteBuffer.allocateDirect(1 << (sizeClass + MIN_SIZE_SHIFT));
+        }
+        outstanding.increment();
+        if (LEAK_DETECTION) {
+            allocated.add(new Allocation(buffer, true));
+        }
+        return buffer.limit(size);
+    }
+
+    static void free(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        if (!isSizeClass(capacity) || LEAK_DETECTION && !allocated.remove(new Allocation(buffer, false))) {
+            LOG.warn("Ignore freeing buffer not allocated by the pool or already freed", new Throwable("free"));
+            return;
+        }
+        if (!setPooled(buffer, true)) {
+            LOG.warn("Ignore freeing buffer already freed", new Throwable("free"));
+            return;
+        }
+        outstanding.decrement();
+        buffer.clear();
+        if (pooledBytes.addAndGet(capacity) > MAX_POOLED_BYTES) {
+            pooledBytes.addAndGet(-capacity);
+            setPooled(buffer, false);
+            return;
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(capacity) - MIN_SIZE_SHIFT;
+        if (!THREAD_CACHES.get().offer(sizeClass, buffer)) {
+            POOLS[sizeClass].offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of allocations served by a pooled buffer.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of allocations which had to allocate a new direct buffer.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of allocations exceeding the largest size class served by a new heap buffer.
+     */
+    public static long getUnpooled() {
+        return unpooled.sum();
+    }
+
+    /**
+     * Returns the number of allocated pooled buffers which were not freed yet. Buffers which were garbage collected
+     * without being freed are only subtracted if leak detection is enabled.
+     */
+    public static long getOutstanding() {
+        return outstanding.sum();
+    }
 
-    private static final ByteBufferPool BYTE_BUFFER_POOL_8K = new ByteBufferPool(0x2000);
-    private static final ByteBufferPool BYTE_BUFFER_POOL_32K = new ByteBufferPool(0x8000);
+    /**
+     * Returns the total capacity of buffers in the global pool and cached by threads.
+     */
+    public static long getPooledBytes() {
+        return pooledBytes.get();
+    }
 
-    private final ConcurrentLinkedQueue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
-    private final int size;
+    static int sizeClass(int size) {
+        return size <= (1 << MIN_SIZE_SHIFT) ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_SHIFT;
+    }
 
-    private ByteBufferPool(int size) {
-        this.size = size;
+    static boolean isSizeClass(int capacity) {
+        return Integer.bitCount(capacity) == 1
+                && capacity >= (1 << MIN_SIZE_SHIFT) && capacity <= (1 << MAX_SIZE_SHIFT);
     }
 
-    private ByteBuffer allocate0() {
-        ByteBuffer buffer = queue.poll();
-        return buffer != null ? buffer : ByteBuffer.allocate(size);
+    /**
+     * Marks the buffer as pooled or as allocated. The marks are held in identity sets, which are locked per stripe;
+     * buffers are only marked while they are pooled, so the sets do not retain allocated buffers.
+     *
+     * @return {@code false} if the buffer was already marked accordingly
+     */
+    private static boolean setPooled(ByteBuffer buffer, boolean value) {
+        Set<ByteBuffer> stripe = pooled[System.identityHashCode(buffer) & (pooled.length - 1)];
+        synchronized (stripe) {
+            return value ? stripe.add(buffer) : stripe.remove(buffer);
+        }
     }
 
-    private void free0(ByteBuffer buffer) {
-        queue.offer(buffer.clear());
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<ByteBuffer>[] newIdentitySets(int n) {
+        Set<ByteBuffer>[] sets = new Set[n];
+        for (int i = 0; i < n; i++) {
+            sets[i] = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        return sets;
     }
 
-    public static ByteBuffer allocate() {
-        return BYTE_BUFFER_POOL_8K.allocate0();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> ConcurrentLinkedQueue<E>[] newQueues(int n) {
+        ConcurrentLinkedQueue<E>[] queues = new ConcurrentLinkedQueue[n];
+        for (int i = 0; i < n; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+        return queues;
     }
 
-    public static ByteBuffer allocate(int size) {
-        return size > 0x8000
-                ? ByteBuffer.allocate(size)
-                : (size > 0x2000 ? BYTE_BUFFER_POOL_32K : BYTE_BUFFER_POOL_8K).allocate0().limit(size);
+    private static void drainTerminatedThreadCaches() {
+        ThreadCacheRef ref;
+        while ((ref = (ThreadCacheRef) terminatedThreadCaches.poll()) != null) {
+            threadCaches.remove(ref);
+            int drained = 0;
+            for (int sizeClass = 0; sizeClass < ref.deques.length; sizeClass++) {
+                ArrayDeque<ByteBuffer> deque = ref.deques[sizeClass];
+                ByteBuffer buffer;
+                while (deque != null && (buffer = deque.poll()) != null) {
+                    POOLS[sizeClass].offer(buffer);
+                    drained++;
+                }
+            }
+            LOG.debug("Moved {} buffers cached by terminated thread to global pool", drained);
+        }
     }
 
-    public static void free(ByteBuffer buffer) {
-        switch (buffer.capacity()) {
-            case 0x2000:
-                BYTE_BUFFER_POOL_8K.free0(buffer);
-                break;
-            case 0x8000:
-                BYTE_BUFFER_POOL_32K.free0(buffer);
-                break;
+    private static void reportLeaks() {
+        Allocation allocation;
+        while ((allocation = (Allocation) collected.poll()) != null) {
+            allocated.remove(allocation);
+            outstanding.decrement();
+            LOG.warn("ByteBuffer was garbage collected without being freed", allocation.stackTrace);
         }
     }
 
+    /**
+     * Buffers cached by one thread, which are only accessed by this thread until it terminates.
+     */
+    private static final class ThreadCache {
+        final ArrayDeque<ByteBuffer>[] deques = newDeques(POOLS.length);
+
+        ThreadCache() {
+            // the reference outlives the thread local value to move cached buffers to the global pool
+            threadCaches.add(new ThreadCacheRef(this));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static ArrayDeque<ByteBuffer>[] newDeques(int n) {
+            return new ArrayDeque[n];
+        }
+
+        ByteBuffer poll(int sizeClass) {
+            ArrayDeque<ByteBuffer> deque = deques[sizeClass];
+            return deque != null ? deque.poll() : null;
+        }
+
+        boolean offer(int sizeClass, ByteBuffer buffer) {
+            ArrayDeque<ByteBuffer> deque = deques[sizeClass];
+            if (deque == null) {
+                deques[sizeClass] = deque = new ArrayDeque<>(MAX_THREAD_CACHED);
+            }
+            return deque.size() < MAX_THREAD_CACHED && deque.offer(buffer);
+        }
+    }
+
+    private static final class ThreadCacheRef extends WeakReference<ThreadCache> {
+        final ArrayDeque<ByteBuffer>[] deques;
+
+        ThreadCacheRef(ThreadCache cache) {
+            super(cache, terminatedThreadCaches);
+            this.deques = cache.deques;
+        }
+    }
+
+    /**
+     * Identifies an allocated buffer, without preventing its garbage collection. Only used with leak detection.
+     */
+    private static final class Allocation extends WeakReference<ByteBuffer> {
+        final int hash;
+        final Throwable stackTrace;
+
+        Allocation(ByteBuffer buffer, boolean track) {
+            super(buffer, track ? collected : null);
+            this.hash = System.identityHashCode(buffer);
+            this.stackTrace = track ? new Throwable("allocation") : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof Allocation)) return false;
+            ByteBuffer buffer = get();
+            return buffer != null && buffer == ((Allocation) o).get();
+        }
+    }
 }
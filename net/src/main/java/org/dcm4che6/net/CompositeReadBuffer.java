@@ -0,0 +1,168 @@
+package org.dcm4che6.net;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Sequence of received buffers read as one continuous buffer in big endian byte order, so PDU and PDV headers
+ * spanning several socket reads can be parsed without concatenating the buffers. Buffers are returned to the
+ * {@link ByteBufferPool} as soon as they are read completely. Not thread-safe.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class CompositeReadBuffer {
+    private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+    private int remaining;
+
+    void add(ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            buffers.add(buffer);
+            remaining += buffer.remaining();
+        } else {
+            ByteBufferPool.free(buffer);
+        }
+    }
+
+    int remaining() {
+        return remaining;
+    }
+
+    boolean hasRemaining() {
+        return remaining > 0;
+    }
+
+    int peek() {
+        ByteBuffer head = head(1);
+        return head.get(head.position()) & 0xff;
+    }
+
+    int peekInt() {
+        ByteBuffer buffer = contiguous(4);
+        return buffer.getInt(buffer.position());
+    }
+
+    byte get() {
+        byte b = head(1).get();
+        consumed(1);
+        return b;
+    }
+
+    short getShort() {
+        ByteBuffer head = head(1);
+        if (head.remaining() < 2) {
+            return (short) (((get() & 0xff) << 8) | (get() & 0xff));
+        }
+        short s = head.getShort();
+        consumed(2);
+        return s;
+    }
+
+    int getInt() {
+        ByteBuffer head = head(1);
+        if (head.remaining() < 4) {
+            return ((getShort() & 0xffff) << 16) | (getShort() & 0xffff);
+        }
+        int i = head.getInt();
+        consumed(4);
+        return i;
+    }
+
+    void get(byte[] b, int off, int len) {
+        while (len > 0) {
+            ByteBuffer head = head(1);
+            int n = Math.min(head.remaining(), len);
+            head.get(b, off, n);
+            consumed(n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    void skip(int n) {
+        while (n > 0) {
+            ByteBuffer head = head(1);
+            int skip = Math.min(head.remaining(), n);
+            head.position(head.position() + skip);
+            consumed(skip);
+            n -= skip;
+        }
+    }
+
+    /**
+     * Returns up to {@code maxLength} next bytes of the first buffer as slice sharing its content and skips them.
+     * The slice is only valid until the next invocation of any method of this buffer.
+     */
+    ByteBuffer slice(int maxLength) {
+        ByteBuffer head = head(1);
+        int n = Math.min(head.remaining(), maxLength);
+        ByteBuffer slice = head.slice().limit(n);
+        head.position(head.position() + n);
+        remaining -= n;
+        return slice;
+    }
+
+    /**
+     * Returns a buffer containing the next {@code length} bytes from its position. Only if these bytes span several
+     * received buffers, they are copied once into a new pooled buffer, which replaces them.
+     */
+    ByteBuffer contiguous(int length) {
+        ByteBuffer head = head(length);
+        if (head.remaining() >= length) {
+            return head;
+        }
+        ByteBuffer dst = ByteBufferPool.allocate(length);
+        while (dst.hasRemaining()) {
+            ByteBuffer src = buffers.peek();
+            if (src.remaining() <= dst.remaining()) {
+                dst.put(src);
+                ByteBufferPool.free(buffers.remove());
+            } else {
+                int limit = src.limit();
+                dst.put(src.limit(src.position() + dst.remaining()));
+                src.limit(limit);
+            }
+        }
+        buffers.addFirst(dst.flip());
+        return dst;
+    }
+
+    /**
+     * Frees buffers read completely by the buffer returned by {@link #contiguous(int)}.
+     */
+    void release() {
+        remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        freeEmptyHead();
+    }
+
+    void clear() {
+        ByteBuffer buffer;
+        while ((buffer = buffers.poll()) != null) {
+            ByteBufferPool.free(buffer);
+        }
+        remaining = 0;
+    }
+
+    private ByteBuffer head(int length) {
+        freeEmptyHead();
+        if (remaining < length) {
+            throw new IllegalStateException("remaining: " + remaining + " < " + length);
+        }
+        return buffers.peek();
+    }
+
+    private void consumed(int n) {
+        remaining -= n;
+        freeEmptyHead();
+    }
+
+    private void freeEmptyHead() {
+        ByteBuffer head;
+        while ((head = buffers.peek()) != null && !head.hasRemaining()) {
+            ByteBufferPool.free(buffers.remove());
+        }
+    }
+}
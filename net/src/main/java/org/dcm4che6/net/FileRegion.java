@@ -0,0 +1,47 @@
+package org.dcm4che6.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Data set encoded in a region of a file, which is transferred by {@link java.nio.channels.FileChannel#transferTo}
+ * directly to the socket, if written by {@link Association#cstore}.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class FileRegion implements Association.DataWriter {
+    final Path path;
+    final long position;
+    final long length;
+
+    FileRegion(Path path, long position, long length) {
+        if (position < 0 || length < 0)
+            throw new IllegalArgumentException("position: " + position + ", length: " + length);
+
+        this.path = path;
+        this.position = position;
+        this.length = length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out, String tsuid) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            in.skipNBytes(position);
+            byte[] b = new byte[8192];
+            long remaining = length;
+            int read;
+            while (remaining > 0 && (read = in.read(b, 0, (int) Math.min(b.length, remaining))) > 0) {
+                out.write(b, 0, read);
+                remaining -= read;
+            }
+            if (remaining > 0) {
+                throw new EOFException(path + " ends " + remaining + " bytes before end of region");
+            }
+        }
+    }
+}
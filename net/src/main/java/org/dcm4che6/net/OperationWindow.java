@@ -0,0 +1,82 @@
+package org.dcm4che6.net;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Counting semaphore limiting the number of outstanding operations invoked on an Association to the negotiated
+ * Maximum Number Operations Invoked. In contrast to {@link java.util.concurrent.Semaphore}, acquiring a permit
+ * does not block but returns a stage which completes when the permit is available. Waiting acquirers are served in
+ * FIFO order. Closing the window fails waiting and subsequent acquirers.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class OperationWindow {
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+    private final int limit;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int acquired;
+    private Throwable closed;
+
+    /**
+     * @param limit maximum number of acquired permits, 0 = unlimited
+     */
+    OperationWindow(int limit) {
+        this.limit = limit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    synchronized int getAcquired() {
+        return acquired;
+    }
+
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    synchronized CompletableFuture<Void> acquire() {
+        if (closed != null)
+            return CompletableFuture.failedFuture(closed);
+        if (limit == 0 || acquired < limit) {
+            acquired++;
+            return ACQUIRED;
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        return permit;
+    }
+
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                acquired--;
+                return;
+            }
+        }
+        if (!next.complete(null)) {
+            release();
+        }
+    }
+
+    void close(Throwable cause) {
+        List<CompletableFuture<Void>> failed;
+        synchronized (this) {
+            if (closed != null)
+                return;
+            closed = cause;
+            failed = new ArrayList<>(waiting);
+            waiting.clear();
+        }
+        for (CompletableFuture<Void> permit : failed) {
+            permit.completeExceptionally(cause);
+        }
+    }
+}
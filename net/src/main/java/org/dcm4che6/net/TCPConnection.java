@@ -4,12 +4,16 @@ import org.dcm4che6.conf.model.Connection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -24,8 +28,12 @@ public abstract class TCPConnection<T extends TCPConnection> {
     public final int id = idGenerator.incrementAndGet();
     public final TCPConnector<T> connector;
     public final Connection local;
-    private final Semaphore writeSemaphore = new Semaphore(1);
-    protected volatile WriteAndThen<T> writeAndThen;
+    static final int MAX_QUEUED_WRITES = 64;
+    static final int MAX_GATHERED_WRITES = 16;
+    private final Semaphore writeSemaphore = new Semaphore(MAX_QUEUED_WRITES);
+    private final ConcurrentLinkedQueue<WriteAndThen<T>> writeQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedWrites = new AtomicInteger();
+    private final ByteBuffer[] gatheredBuffers = new ByteBuffer[MAX_GATHERED_WRITES];
     protected final CompletableFuture<T> connected = new CompletableFuture<>();
     protected final CompletableFuture<T> closed = new CompletableFuture<>();
     protected Role role;
@@ -64,18 +72,64 @@ public abstract class TCPConnection<T extends TCPConnection> {
         return name;
     }
 
+    /**
+     * Queues {@code src} for writing by the reactor and invokes {@code action} after it was written completely.
+     * Blocks if {@value #MAX_QUEUED_WRITES} buffers are already queued for writing. Writes still queued when the
+     * connection is closed are discarded without invoking their actions.
+     *
+     * @throws IllegalStateException if the connection is closed, or if {@value #MAX_QUEUED_WRITES} buffers are
+     *         already queued and the caller is the reactor thread or is interrupted while waiting
+     */
     public void write(ByteBuffer src, Consumer<T> action) {
-        if (!writeSemaphore.tryAcquire())
-        try {
-            LOG.trace("{}: wait to queue writing {} bytes", this, src.remaining());
-            writeSemaphore.acquire();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        queue(new WriteAndThen<>(src, null, 0L, src.remaining(), action));
+    }
+
+    /**
+     * Queues {@code count} bytes of file channel {@code src} starting at {@code position} for transferring by the
+     * reactor to the socket by {@link FileChannel#transferTo}, without copying them to user space, and invokes
+     * {@code action} after they were transferred completely.
+     * Blocks if {@value #MAX_QUEUED_WRITES} buffers are already queued for writing. If the write is discarded,
+     * because the connection is closed or the file channel ends before {@code position + count}, {@code src} is
+     * closed and the connection is closed without invoking {@code action}.
+     *
+     * @throws IllegalStateException if the connection is closed, or if {@value #MAX_QUEUED_WRITES} buffers are
+     *         already queued and the caller is the reactor thread or is interrupted while waiting
+     */
+    public void write(FileChannel src, long position, long count, Consumer<T> action) {
+        queue(new WriteAndThen<>(null, src, position, count, action));
+    }
+
+    private void queue(WriteAndThen<T> writeAndThen) {
+        if (!writeSemaphore.tryAcquire()) {
+            if (TCPConnector.isReactorThread()) {
+                // blocking would deadlock the reactor, which drains the queue
+                writeAndThen.discard();
+                throw new IllegalStateException(this + ": write queue full");
+            }
+            try {
+                LOG.trace("{}: wait to queue writing {} bytes", this, writeAndThen.remaining());
+                writeSemaphore.acquire();
+            } catch (InterruptedException e) {
+                LOG.info("{}: interrupted while waiting to queue writing {} bytes", this, writeAndThen.remaining());
+                Thread.currentThread().interrupt();
+                writeAndThen.discard();
+                throw new IllegalStateException(this + ": interrupted while waiting to queue writing", e);
+            }
+        }
+        if (!isOpen()) {
+            writeSemaphore.release();
+            writeAndThen.discard();
+            throw new IllegalStateException(this + ": connection closed");
+        }
+        LOG.trace("{}: queue writing {} bytes", this, writeAndThen.remaining());
+        // increment before offering, so the reactor never decrements the count below the number of queued writes
+        boolean wasEmpty = queuedWrites.getAndIncrement() == 0;
+        writeQueue.offer(writeAndThen);
+        if (!isOpen()) {
+            discardQueuedWrites();
+        } else if (wasEmpty) {
+            interestOpsOr(SelectionKey.OP_WRITE);
         }
-        LOG.trace("{}: queue writing {} bytes", this, src.remaining());
-        writeAndThen = new WriteAndThen<T>(src, action);
-        interestOpsOr(SelectionKey.OP_WRITE);
-        connector.wakeup();
     }
 
     public boolean isOpen() {
@@ -84,8 +138,31 @@ public abstract class TCPConnection<T extends TCPConnection> {
 
     public void close() throws IOException {
         LOG.info("{}: close", name);
-        key.channel().close();
-        closed.complete((T) this);
+        try {
+            key.channel().close();
+        } finally {
+            discardQueuedWrites();
+            closed.complete((T) this);
+        }
+    }
+
+    /**
+     * Discards writes queued on a closed connection and wakes up threads waiting to queue writes.
+     */
+    private void discardQueuedWrites() {
+        WriteAndThen<T> writeAndThen;
+        int discarded = 0;
+        synchronized (writeQueue) {
+            while ((writeAndThen = writeQueue.poll()) != null) {
+                writeAndThen.discard();
+                discarded++;
+            }
+        }
+        if (discarded > 0) {
+            LOG.debug("{}: discarded {} queued writes", this, discarded);
+            queuedWrites.addAndGet(-discarded);
+        }
+        writeSemaphore.release(MAX_QUEUED_WRITES);
     }
 
     public CompletableFuture<T> onClose() {
@@ -100,43 +177,138 @@ public abstract class TCPConnection<T extends TCPConnection> {
     void interestOpsOr(int ops) {
         int oldVal = key.interestOpsOr(ops);
         LOG.trace("{}: interestOps {}->{}", key.attachment(), oldVal, oldVal | ops);
-        connector.wakeup();
+        key.selector().wakeup();
     }
 
     protected abstract void onNext(ByteBuffer buffer);
 
+    /**
+     * Invoked by the reactor if the peer closed the connection, after all previously read bytes were passed to
+     * {@link #onNext(ByteBuffer)}. Closes the connection.
+     */
+    void onEndOfStream() throws IOException {
+        LOG.info("{}: closed by peer", name);
+        close();
+    }
+
     protected void connected() {
         LOG.info("{}: connected", name);
         connected.complete((T) this);
     }
 
+    void connectFailed(IOException e) throws IOException {
+        LOG.info("{}: connect failed: {}", name, e.getMessage());
+        try {
+            close();
+        } finally {
+            connected.completeExceptionally(e);
+        }
+    }
+
     void onWritable() throws IOException {
+        // excludes discarding of queued writes on close while writing them
+        synchronized (writeQueue) {
+            WriteAndThen<T> head = writeQueue.peek();
+            if (head == null) {
+                LOG.trace("{}: no bytes for writing", this);
+                return;
+            }
+            if (head.channel != null) {
+                transferFileRegion(head);
+            } else {
+                gatheringWrite();
+            }
+        }
+    }
+
+    private void gatheringWrite() throws IOException {
+        int n = 0;
+        for (WriteAndThen<T> writeAndThen : writeQueue) {
+            if (writeAndThen.buffer == null) break;
+            gatheredBuffers[n] = writeAndThen.buffer;
+            if (++n == MAX_GATHERED_WRITES) break;
+        }
+        LOG.trace("{}: writing {} buffers", this, n);
+        long written = ((SocketChannel) key.channel()).write(gatheredBuffers, 0, n);
+        LOG.trace("{}: wrote {} bytes", this, written);
+        int completed = 0;
         WriteAndThen<T> writeAndThen;
-        if ((writeAndThen = this.writeAndThen) == null) {
-            LOG.trace("{}: no bytes for writing", this);
+        while (completed < n && !gatheredBuffers[completed].hasRemaining()
+                && (writeAndThen = writeQueue.poll()) != null) { // null, if an action closed the connection
+            ByteBufferPool.free(writeAndThen.buffer);
+            writeSemaphore.release();
+            writeAndThen.action.accept((T) this);
+            completed++;
+        }
+        Arrays.fill(gatheredBuffers, 0, n, null);
+        dequeued(completed);
+    }
+
+    private void transferFileRegion(WriteAndThen<T> region) throws IOException {
+        LOG.trace("{}: transferring {} bytes", this, region.count);
+        long transferred;
+        try {
+            transferred = region.channel.transferTo(region.position, region.count, (SocketChannel) key.channel());
+            // transferTo returns 0 at end of file, which would keep the reactor spinning on OP_WRITE
+            if (transferred == 0 && region.position >= region.channel.size()) {
+                throw new EOFException("end of file with " + region.count + " bytes left to transfer");
+            }
+        } catch (IOException e) {
+            LOG.warn("{}: failed to transfer file region: {}", this, e.getMessage());
+            close();
             return;
         }
-        int remaining = writeAndThen.buffer.remaining();
-        LOG.trace("{}: writing {} bytes", this, remaining);
-        ((SocketChannel) key.channel()).write(writeAndThen.buffer);
-        LOG.trace("{}: wrote {} bytes", this, remaining - writeAndThen.buffer.remaining());
-        if (writeAndThen.buffer.hasRemaining()) {
+        LOG.trace("{}: transferred {} bytes", this, transferred);
+        region.position += transferred;
+        region.count -= transferred;
+        if (region.count > 0) {
             return;
         }
-        ByteBufferPool.free(writeAndThen.buffer);
-        writeAndThen.action.accept((T) this);
-        this.writeAndThen = null;
-        interestOpsAnd(~SelectionKey.OP_WRITE);
+        writeQueue.poll();
         writeSemaphore.release();
+        region.action.accept((T) this);
+        dequeued(1);
+    }
+
+    private void dequeued(int completed) {
+        if (completed > 0 && queuedWrites.addAndGet(-completed) == 0 && key.isValid()) {
+            interestOpsAnd(~SelectionKey.OP_WRITE);
+            if (queuedWrites.get() > 0) {
+                interestOpsOr(SelectionKey.OP_WRITE);
+            }
+        }
     }
 
     private static class WriteAndThen<T> {
         final ByteBuffer buffer;
+        final FileChannel channel;
+        long position;
+        long count;
         final Consumer<T> action;
 
-        private WriteAndThen(ByteBuffer buffer, Consumer<T> action) {
+        private WriteAndThen(ByteBuffer buffer, FileChannel channel, long position, long count,
+                Consumer<T> action) {
             this.buffer = buffer;
+            this.channel = channel;
+            this.position = position;
+            this.count = count;
             this.action = action;
         }
+
+        long remaining() {
+            return buffer != null ? buffer.remaining() : count;
+        }
+
+        void discard() {
+            if (buffer != null) {
+                ByteBufferPool.free(buffer);
+            } else {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOG.info("Failed to close file channel: {}", e.getMessage());
+                }
+            }
+        }
     }
 }
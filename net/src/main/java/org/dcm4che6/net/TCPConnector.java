@@ -7,54 +7,214 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 /**
+ * Drives accept, connect, read and write readiness of connections by one or several reactors, each with its own
+ * {@link Selector} and thread. Connections are assigned to reactors round-robin. Listening sockets bound with
+ * several acceptors by {@code SO_REUSEPORT} are distributed over the reactors. If there are at least as many
+ * acceptors as reactors, connections accepted by them remain on the reactor of the accepting socket, leaving the
+ * balancing to the kernel.
+ *
  * @author Gunter Zeilinger (gunterze@protonmail.com)
  * @since Nov 2019
  */
 public class TCPConnector<T extends TCPConnection> implements Runnable {
     static final Logger LOG = LoggerFactory.getLogger(TCPConnector.class);
-    private final BiFunction<TCPConnector, Connection, T> connFactory;
-    private final Selector selector;
+    private final BiFunction<? super TCPConnector<T>, Connection, T> connFactory;
+    private static final AtomicInteger executorThreadNo = new AtomicInteger();
+    private static final ThreadLocal<Reactor> currentReactor = new ThreadLocal<>();
+    private static volatile Executor defaultExecutor;
+    private final Reactor[] reactors;
+    private final Executor executor;
+    private final AtomicInteger nextReactor = new AtomicInteger();
 
-    public TCPConnector(BiFunction<TCPConnector, Connection, T> connFactory)
+    public TCPConnector(BiFunction<? super TCPConnector<T>, Connection, T> connFactory)
             throws IOException {
+        this(connFactory, 1);
+    }
+
+    /**
+     * Creates a connector with the specified number of reactors. {@link #run()} runs the first reactor in the
+     * calling thread and the others in threads started by it.
+     *
+     * @param connFactory creates connections for accepted or initiated channels
+     * @param reactors number of reactors
+     * @throws IOException if a selector cannot be opened
+     */
+    public TCPConnector(BiFunction<? super TCPConnector<T>, Connection, T> connFactory, int reactors)
+            throws IOException {
+        this(connFactory, reactors, defaultExecutor());
+    }
+
+    /**
+     * Creates a connector with the specified number of reactors and executor. The executor runs the blocking
+     * processing of received PDUs, including the invocation of DIMSE handlers. A connection occupies a thread from
+     * receiving the first bytes of a PDU until no further received bytes are pending, including the time waiting for
+     * the remaining bytes of a partially received PDU or of a DIMSE data stream read by a handler. So a slow or
+     * stalled peer keeps a thread busy, while an idle connection does not. PDUs received while all threads of a
+     * bounded executor are busy are not processed before one of the threads becomes available.
+     *
+     * @param connFactory creates connections for accepted or initiated channels
+     * @param reactors number of reactors
+     * @param executor executes the processing of received PDUs
+     * @throws IOException if a selector cannot be opened
+     */
+    public TCPConnector(BiFunction<? super TCPConnector<T>, Connection, T> connFactory, int reactors,
+            Executor executor) throws IOException {
+        if (reactors <= 0)
+            throw new IllegalArgumentException("reactors: " + reactors);
+
         this.connFactory = Objects.requireNonNull(connFactory);
-        selector = Selector.open();
+        this.executor = Objects.requireNonNull(executor);
+        this.reactors = new Reactor[reactors];
+        for (int i = 0; i < reactors; i++) {
+            this.reactors[i] = new Reactor(this, i);
+        }
+    }
+
+    public int getReactors() {
+        return reactors.length;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns a pool with up to {@code maxThreads} daemon threads, to be passed to
+     * {@link #TCPConnector(BiFunction, int, Executor)}. Tasks submitted while all threads are busy are queued.
+     *
+     * @param maxThreads maximal number of threads
+     * @return bounded pool of daemon threads
+     */
+    public static ExecutorService newBoundedExecutor(int maxThreads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), TCPConnector::newExecutorThread);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns the executor used by connectors created without explicit executor: an unbounded pool of daemon
+     * threads, dedicated to connections and so separated from {@link ForkJoinPool#commonPool()}.
+     */
+    private static Executor defaultExecutor() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (TCPConnector.class) {
+                if ((executor = defaultExecutor) == null)
+                    defaultExecutor = executor = Executors.newCachedThreadPool(TCPConnector::newExecutorThread);
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns {@code true} if invoked by a reactor thread, e.g. by an action invoked after a write completed.
+     */
+    static boolean isReactorThread() {
+        return currentReactor.get() != null;
     }
 
+    private static Thread newExecutorThread(Runnable r) {
+        Thread thread = new Thread(r, "TCPConnection-" + executorThreadNo.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Wakes up the selectors of all reactors.
+     *
+     * @return the selector of the first reactor
+     */
     public Selector wakeup() {
-        return selector.wakeup();
+        for (int i = 1; i < reactors.length; i++) {
+            reactors[i].selector.wakeup();
+        }
+        return reactors[0].selector.wakeup();
     }
 
     public ServerSocketChannel bind(Connection local) throws IOException {
         ServerSocketChannel ssc = ServerSocketChannel.open();
-        configure(ssc, local);
-        ssc.register(selector, SelectionKey.OP_ACCEPT, local);
-        selector.wakeup();
+        configure(ssc, local, false);
+        register(ssc, nextReactor(), new Acceptor(local, false));
         return ssc;
     }
 
+    /**
+     * Binds the specified number of listening sockets with {@code SO_REUSEPORT} to the port of {@code local},
+     * distributed over the reactors.
+     *
+     * @param local listening connection
+     * @param acceptors number of listening sockets
+     * @return the bound listening sockets
+     * @throws IOException if a socket cannot be bound
+     * @throws UnsupportedOperationException if {@code acceptors > 1} and the platform does not support
+     *         {@code SO_REUSEPORT}
+     */
+    public List<ServerSocketChannel> bind(Connection local, int acceptors) throws IOException {
+        if (acceptors <= 0)
+            throw new IllegalArgumentException("acceptors: " + acceptors);
+        if (acceptors == 1)
+            return List.of(bind(local));
+
+        List<ServerSocketChannel> sscs = new ArrayList<>(acceptors);
+        try {
+            for (int i = 0; i < acceptors; i++) {
+                ServerSocketChannel ssc = ServerSocketChannel.open();
+                sscs.add(ssc);
+                if (!ssc.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT))
+                    throw new UnsupportedOperationException("SO_REUSEPORT not supported");
+
+                configure(ssc, local, true);
+                register(ssc, reactors[i % reactors.length], new Acceptor(local, acceptors >= reactors.length));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (ServerSocketChannel ssc : sscs) {
+                ssc.close();
+            }
+            throw e;
+        }
+        return sscs;
+    }
+
+    private static void register(ServerSocketChannel ssc, Reactor reactor, Acceptor acceptor)
+            throws ClosedChannelException {
+        ssc.register(reactor.selector, SelectionKey.OP_ACCEPT, acceptor);
+        reactor.selector.wakeup();
+    }
+
     public CompletableFuture<T> connect(Connection local, Connection remote) throws IOException {
         SocketChannel sc = SocketChannel.open();
         configure(sc, local);
         SocketAddress addr = addr(remote);
         T conn = connFactory.apply(this, local);
-        SelectionKey key = sc.register(selector, SelectionKey.OP_CONNECT, conn);
+        Reactor reactor = nextReactor();
+        SelectionKey key = sc.register(reactor.selector, SelectionKey.OP_CONNECT, conn);
         if (conn.connect(key, addr)) {
             onConnectable(key);
         }
-        wakeup();
+        reactor.selector.wakeup();
         return conn.connected;
     }
 
-    private void configure(ServerSocketChannel ssc, Connection conn) throws IOException {
+    private Reactor nextReactor() {
+        return reactors[Math.floorMod(nextReactor.getAndIncrement(), reactors.length)];
+    }
+
+    private void configure(ServerSocketChannel ssc, Connection conn, boolean reusePort) throws IOException {
         ssc.configureBlocking(false);
+        if (reusePort)
+            ssc.setOption(StandardSocketOptions.SO_REUSEPORT, true);
         SocketAddress local = serverBind(conn);
         LOG.info("Start listening on {}", local);
         ssc.bind(local, 0);
@@ -83,38 +243,17 @@ public class TCPConnector<T extends TCPConnection> implements Runnable {
     }
 
     public void run() {
-        try {
-            while (!Thread.currentThread().isInterrupted()) {
-                if (selector.selectNow(this::onReady) == 0) {
-                    LOG.trace("Awaiting ready channels");
-                    selector.select(this::onReady);
-                }
-            }
-        } catch (Throwable e) {
-            e.printStackTrace();
+        List<Thread> threads = new ArrayList<>(reactors.length - 1);
+        for (int i = 1; i < reactors.length; i++) {
+            Thread thread = new Thread(reactors[i], "TCPConnector-reactor-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
         }
-    }
-
-    private void onReady(SelectionKey key) {
         try {
-            int readyOps = key.readyOps();
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("{}: readyOps: {}/{}", key.attachment(),  readyOps, key.interestOps());
-            }
-            if ((readyOps & SelectionKey.OP_ACCEPT) != 0) {
-                onAcceptable(key);
-            }
-            if ((readyOps & SelectionKey.OP_CONNECT) != 0) {
-                onConnectable(key);
-            }
-            if ((readyOps & SelectionKey.OP_WRITE) != 0) {
-                ((TCPConnection) key.attachment()).onWritable();
-            }
-            if ((readyOps & SelectionKey.OP_READ) != 0) {
-                onReadable(key);
-            }
-        } catch (Throwable e) {
-            e.printStackTrace();
+            reactors[0].run();
+        } finally {
+            threads.forEach(Thread::interrupt);
         }
     }
 
@@ -123,16 +262,32 @@ public class TCPConnector<T extends TCPConnection> implements Runnable {
         SocketChannel sc = ssc.accept();
         if (sc == null) return;
         sc.configureBlocking(false);
-        TCPConnection conn = connFactory.apply(this, (Connection) skey.attachment());
+        Acceptor acceptor = (Acceptor) skey.attachment();
+        Selector selector = acceptor.keepLocal ? skey.selector() : nextReactor().selector;
+        TCPConnection conn = connFactory.apply(this, acceptor.local);
         conn.accepted(sc.register(selector, SelectionKey.OP_READ, conn));
+        if (selector != skey.selector())
+            selector.wakeup();
     }
 
     private void onConnectable(SelectionKey key) throws IOException {
-        if ((key.interestOps() & SelectionKey.OP_CONNECT) != 0
-                && ((SocketChannel) key.channel()).finishConnect()) {
-            ((TCPConnection) key.attachment()).connected();
+        // invoked by the connecting thread and by the reactor, if the connection is established immediately
+        synchronized (key) {
+            if (!key.isValid() || (key.interestOps() & SelectionKey.OP_CONNECT) == 0 || !finishConnect(key))
+                return;
+
             key.interestOpsAnd(~SelectionKey.OP_CONNECT);
-            key.interestOpsOr(SelectionKey.OP_READ);
+        }
+        ((TCPConnection) key.attachment()).connected();
+        key.interestOpsOr(SelectionKey.OP_READ);
+    }
+
+    private static boolean finishConnect(SelectionKey key) throws IOException {
+        try {
+            return ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            ((TCPConnection) key.attachment()).connectFailed(e);
+            return false;
         }
     }
 
@@ -141,13 +296,89 @@ public class TCPConnector<T extends TCPConnection> implements Runnable {
         boolean more = true;
         while (more && (key.interestOps() & SelectionKey.OP_READ) != 0) {
             ByteBuffer buffer = ByteBufferPool.allocate();
-            if (((SocketChannel) key.channel()).read(buffer) <= 0) {
-                tcpConnection.interestOpsAnd(~SelectionKey.OP_READ);
+            int read;
+            try {
+                read = ((SocketChannel) key.channel()).read(buffer);
+            } catch (ClosedChannelException e) {
+                // closed by the processing of received PDUs, e.g. after receiving an A-RELEASE-RP
                 ByteBufferPool.free(buffer);
                 return;
             }
+            if (read <= 0) {
+                ByteBufferPool.free(buffer);
+                if (read < 0) {
+                    tcpConnection.onEndOfStream();
+                } else {
+                    tcpConnection.interestOpsAnd(~SelectionKey.OP_READ);
+                }
+                return;
+            }
             more = !buffer.hasRemaining();
             tcpConnection.onNext(buffer.flip());
         }
     }
+
+    private static class Acceptor {
+        final Connection local;
+        final boolean keepLocal;
+
+        Acceptor(Connection local, boolean keepLocal) {
+            this.local = local;
+            this.keepLocal = keepLocal;
+        }
+    }
+
+    private static class Reactor implements Runnable {
+        final TCPConnector<?> connector;
+        final int index;
+        final Selector selector;
+
+        Reactor(TCPConnector<?> connector, int index) throws IOException {
+            this.connector = connector;
+            this.index = index;
+            this.selector = Selector.open();
+        }
+
+        public void run() {
+            currentReactor.set(this);
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (selector.selectNow(this::onReady) == 0) {
+                        LOG.trace("Reactor #{} awaiting ready channels", index);
+                        selector.select(this::onReady);
+                    }
+                }
+            } catch (Throwable e) {
+                e.printStackTrace();
+            } finally {
+                currentReactor.remove();
+            }
+        }
+
+        private void onReady(SelectionKey key) {
+            try {
+                int readyOps = key.readyOps();
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("{}: readyOps: {}/{}", key.attachment(),  readyOps, key.interestOps());
+                }
+                if ((readyOps & SelectionKey.OP_ACCEPT) != 0) {
+                    connector.onAcceptable(key);
+                }
+                if ((readyOps & SelectionKey.OP_CONNECT) != 0) {
+                    connector.onConnectable(key);
+                }
+                if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+                    ((TCPConnection) key.attachment()).onWritable();
+                }
+                if ((readyOps & SelectionKey.OP_READ) != 0) {
+                    connector.onReadable(key);
+                }
+            } catch (CancelledKeyException e) {
+                // closed by the processing of received PDUs, e.g. after receiving an A-RELEASE-RP
+                LOG.debug("{}: closed while ready", key.attachment());
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package org.dcm4che6.net;
+
+import org.dcm4che6.conf.model.Connection;
+import org.dcm4che6.data.UID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class AssociationPoolTest {
+
+    private Loopback loopback;
+    private AssociationPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        loopback = new Loopback(new DicomServiceRegistry());
+        pool = new AssociationPool(loopback.scu);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.close();
+        loopback.close();
+    }
+
+    @Test
+    void reuse() throws Exception {
+        Association as = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        as.cecho().join();
+        pool.release(as);
+        assertSame(as, acquire(Loopback.rq()).get(5, TimeUnit.SECONDS));
+        pool.release(as);
+    }
+
+    @Test
+    void waitForMaxSize() throws Exception {
+        Association as = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Association> waiting = acquire(Loopback.rq());
+        assertFalse(waiting.isDone());
+        pool.release(as);
+        assertSame(as, waiting.get(5, TimeUnit.SECONDS));
+        pool.release(as);
+    }
+
+    @Test
+    void releaseIdle() throws Exception {
+        pool.withIdleTimeout(Duration.ofMillis(100));
+        Association as = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        pool.release(as);
+        as.onClose().get(5, TimeUnit.SECONDS);
+        assertNotSame(as, acquire(Loopback.rq()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keepMinSize() throws Exception {
+        pool.withMinSize(1).withMaxSize(2).withIdleTimeout(Duration.ZERO);
+        Association as1 = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        Association as2 = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        pool.release(as1);
+        pool.release(as2);
+        pool.checkIdle();
+        CompletableFuture.anyOf(as1.onClose(), as2.onClose()).get(5, TimeUnit.SECONDS);
+        pool.checkIdle();
+        assertTrue(as1.isOpen() ^ as2.isOpen());
+        Association retained = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        assertTrue(retained == as1 || retained == as2);
+        pool.release(retained);
+    }
+
+    @Test
+    void keepAlive() throws Exception {
+        pool.withKeepAliveInterval(Duration.ofNanos(1));
+        Association as = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        pool.release(as);
+        pool.checkIdle();
+        assertSame(as, acquire(Loopback.rq()).get(5, TimeUnit.SECONDS));
+        assertTrue(as.isOpen());
+        pool.release(as);
+    }
+
+    @Test
+    void keepAliveWithRejectedVerification() throws Exception {
+        pool.withKeepAliveInterval(Duration.ofNanos(1));
+        AAssociate.RQ rq = Loopback.rq();
+        // rejected by the Loopback SCP, which does not support the SCU role
+        rq.putRoleSelection(UID.VerificationSOPClass, AAssociate.RoleSelection.SCU);
+        Association as = acquire(rq).get(5, TimeUnit.SECONDS);
+        pool.release(as);
+        pool.checkIdle();
+        assertSame(as, acquire(rq).get(5, TimeUnit.SECONDS));
+        assertTrue(as.isOpen());
+        pool.release(as);
+    }
+
+    @Test
+    void reopenOnAbort() throws Exception {
+        Association as = acquire(Loopback.rq()).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Association> waiting = acquire(Loopback.rq());
+        as.abort();
+        Association reopened = waiting.get(5, TimeUnit.SECONDS);
+        assertNotSame(as, reopened);
+        reopened.cecho().join();
+        pool.release(reopened);
+    }
+
+    @Test
+    void failWaitingOnOpenFailure() throws Exception {
+        AAssociate.RQ rq = Loopback.rq();
+        rq.setCalledAETitle("UNKNOWN");
+        CompletableFuture<Association> opening = acquire(rq);
+        CompletableFuture<Association> waiting = acquire(rq);
+        CompletableFuture<Void> both = CompletableFuture.allOf(opening, waiting);
+        assertThrows(CompletionException.class, () -> both.orTimeout(5, TimeUnit.SECONDS).join());
+        assertTrue(opening.isCompletedExceptionally());
+        assertTrue(waiting.isCompletedExceptionally());
+    }
+
+    @Test
+    void failOnConnectFailure() throws Exception {
+        Connection refusing;
+        try (ServerSocket ss = new ServerSocket(0)) {
+            refusing = new Connection().setHostname("localhost").setPort(ss.getLocalPort());
+        }
+        CompletableFuture<Association> opening = pool.acquire(loopback.local, refusing, Loopback.rq());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> opening.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    private CompletableFuture<Association> acquire(AAssociate.RQ rq) {
+        return pool.acquire(loopback.local, loopback.remote, rq);
+    }
+}
@@ -0,0 +1,85 @@
+package org.dcm4che6.net;
+
+import org.dcm4che6.data.UID;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class AssociationTest {
+
+    @Test
+    void moreAssociationsThanBoundedExecutorThreads() throws Exception {
+        ExecutorService executor = TCPConnector.newBoundedExecutor(2);
+        try (Loopback loopback = new Loopback(new DicomServiceRegistry(), 1, 1, executor)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                for (int round = 0; round < 2; round++) {
+                    List<Association> opened = new ArrayList<>();
+                    for (int i = 0; i < 5; i++) {
+                        opened.add(loopback.open(Loopback.rq()));
+                    }
+                    for (Association as : opened) {
+                        as.cecho().join();
+                    }
+                    List<Association> released = new ArrayList<>();
+                    for (Association as : opened) {
+                        released.add(as.release().join());
+                    }
+                    for (Association as : released) {
+                        as.onClose().join();
+                    }
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void abortFailsOutstandingOperations() throws Exception {
+        DicomServiceRegistry noResponse = new DicomServiceRegistry()
+                .setDefaultRQHandler((as, pcid, dimse, commandSet, dataStream) -> {});
+        try (Loopback loopback = new Loopback(noResponse)) {
+            AAssociate.RQ rq = Loopback.rq(UID.CTImageStorage);
+            rq.setAsyncOpsWindow(1, 1);
+            Association as = loopback.open(rq);
+            CompletableFuture<DimseRSP> outstanding = as.cechoAsync(UID.CTImageStorage);
+            CompletableFuture<DimseRSP> waiting = as.cechoAsync(UID.CTImageStorage);
+            as.abort();
+            assertFailed(outstanding);
+            assertFailed(waiting);
+            assertFailed(as.cechoAsync(UID.CTImageStorage));
+            assertThrows(IOException.class, as::cecho);
+            as.onClose().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void assertFailed(CompletableFuture<DimseRSP> rsp) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rsp.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    void nextMessageID() {
+        AtomicInteger messageID = new AtomicInteger(0xfffd);
+        IntHashMap<Object> outstandingRSPs = new IntHashMap<>();
+        outstandingRSPs.put(0xffff, "outstanding");
+        outstandingRSPs.put(1, "outstanding");
+        assertEquals(0xfffe, Association.nextMessageID(messageID, outstandingRSPs));
+        assertEquals(2, Association.nextMessageID(messageID, outstandingRSPs));
+        assertEquals(3, Association.nextMessageID(messageID, outstandingRSPs));
+    }
+}
@@ -0,0 +1,114 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class ByteBufferPoolTest {
+
+    @Test
+    void sizeClass() {
+        assertEquals(0, ByteBufferPool.sizeClass(1));
+        assertEquals(0, ByteBufferPool.sizeClass(0x2000));
+        assertEquals(1, ByteBufferPool.sizeClass(0x2001));
+        assertEquals(2, ByteBufferPool.sizeClass(0x8000));
+        assertEquals(9, ByteBufferPool.sizeClass(0x400000));
+        assertEquals(10, ByteBufferPool.sizeClass(0x400001));
+        assertFalse(ByteBufferPool.isSizeClass(0x1000));
+        assertTrue(ByteBufferPool.isSizeClass(0x2000));
+        assertFalse(ByteBufferPool.isSizeClass(0x3000));
+        assertTrue(ByteBufferPool.isSizeClass(0x400000));
+        assertFalse(ByteBufferPool.isSizeClass(0x800000));
+    }
+
+    @Test
+    void allocate() {
+        ByteBuffer buffer = ByteBufferPool.allocate(0x3000);
+        assertTrue(buffer.isDirect());
+        assertEquals(0x4000, buffer.capacity());
+        assertEquals(0x3000, buffer.limit());
+        long outstanding = ByteBufferPool.getOutstanding();
+        ByteBufferPool.free(buffer);
+        assertEquals(outstanding - 1, ByteBufferPool.getOutstanding());
+        long hits = ByteBufferPool.getHits();
+        ByteBuffer reused = ByteBufferPool.allocate(0x4000);
+        assertSame(buffer, reused);
+        assertEquals(0x4000, reused.limit());
+        assertEquals(0, reused.position());
+        assertEquals(hits + 1, ByteBufferPool.getHits());
+        ByteBufferPool.free(reused);
+    }
+
+    @Test
+    void unpooled() {
+        long unpooled = ByteBufferPool.getUnpooled();
+        long outstanding = ByteBufferPool.getOutstanding();
+        ByteBuffer buffer = ByteBufferPool.allocate(0x400001);
+        assertFalse(buffer.isDirect());
+        assertEquals(unpooled + 1, ByteBufferPool.getUnpooled());
+        ByteBufferPool.free(buffer);
+        assertEquals(outstanding, ByteBufferPool.getOutstanding());
+    }
+
+    @Test
+    void freeTwice() {
+        ByteBuffer buffer = ByteBufferPool.allocate(0x8000);
+        long outstanding = ByteBufferPool.getOutstanding();
+        ByteBufferPool.free(buffer);
+        ByteBufferPool.free(buffer);
+        assertEquals(outstanding - 1, ByteBufferPool.getOutstanding());
+        ByteBuffer first = ByteBufferPool.allocate(0x8000);
+        ByteBuffer second = ByteBufferPool.allocate(0x8000);
+        assertNotSame(first, second);
+        ByteBufferPool.free(first);
+        ByteBufferPool.free(second);
+    }
+
+    @Test
+    void freeTwiceAfterReuse() {
+        ByteBuffer buffer = ByteBufferPool.allocate(0x8000);
+        ByteBufferPool.free(buffer);
+        List<ByteBuffer> others = new ArrayList<>();
+        ByteBuffer reused;
+        while ((reused = ByteBufferPool.allocate(0x8000)) != buffer) {
+            others.add(reused);
+        }
+        others.forEach(ByteBufferPool::free);
+        long outstanding = ByteBufferPool.getOutstanding();
+        ByteBufferPool.free(buffer);
+        ByteBufferPool.free(buffer);
+        assertEquals(outstanding - 1, ByteBufferPool.getOutstanding());
+    }
+
+    @Test
+    void freeForeign() {
+        ByteBuffer foreign = ByteBuffer.allocateDirect(0xC000);
+        long outstanding = ByteBufferPool.getOutstanding();
+        long pooledBytes = ByteBufferPool.getPooledBytes();
+        ByteBufferPool.free(foreign);
+        assertEquals(outstanding, ByteBufferPool.getOutstanding());
+        assertEquals(pooledBytes, ByteBufferPool.getPooledBytes());
+        ByteBuffer buffer = ByteBufferPool.allocate(0xC000);
+        assertNotSame(foreign, buffer);
+        ByteBufferPool.free(buffer);
+    }
+
+    @Test
+    void threadCacheCountedAsPooled() {
+        ByteBuffer buffer = ByteBufferPool.allocate(0x20000);
+        long pooledBytes = ByteBufferPool.getPooledBytes();
+        ByteBufferPool.free(buffer);
+        assertEquals(pooledBytes + 0x20000, ByteBufferPool.getPooledBytes());
+        assertSame(buffer, ByteBufferPool.allocate(0x20000));
+        assertEquals(pooledBytes, ByteBufferPool.getPooledBytes());
+        ByteBufferPool.free(buffer);
+    }
+}
@@ -0,0 +1,75 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class CompositeReadBufferTest {
+
+    private static final byte[] PDU = {
+            0x04, 0x00, 0x00, 0x00, 0x00, 0x0a, 0x00, 0x00, 0x00, 0x06, 0x01, 0x03, 'a', 'b', 'c', 'd'
+    };
+
+    @Test
+    void readAcrossBuffers() {
+        CompositeReadBuffer received = split(1, 3, 7, 11);
+        assertEquals(PDU.length, received.remaining());
+        assertEquals(4, received.peek());
+        assertEquals(0x0400, received.getShort());
+        assertEquals(10, received.getInt());
+        assertEquals(6, received.getInt());
+        assertEquals(1, received.get());
+        assertEquals(3, received.get());
+        byte[] b = new byte[3];
+        received.get(b, 0, 3);
+        assertArrayEquals(new byte[]{'a', 'b', 'c'}, b);
+        received.skip(1);
+        assertFalse(received.hasRemaining());
+    }
+
+    @Test
+    void contiguous() {
+        CompositeReadBuffer received = split(4, 9);
+        received.skip(2);
+        assertEquals(10, received.peekInt());
+        ByteBuffer buffer = received.contiguous(12);
+        assertEquals(12, buffer.remaining());
+        assertEquals(10, buffer.getInt());
+        assertEquals(6, buffer.getInt());
+        received.release();
+        assertEquals(6, received.remaining());
+        assertEquals(0x0103, received.getShort());
+        received.clear();
+        assertFalse(received.hasRemaining());
+    }
+
+    @Test
+    void slice() {
+        CompositeReadBuffer received = split(14);
+        received.skip(12);
+        ByteBuffer slice = received.slice(4);
+        assertEquals(2, slice.remaining());
+        assertEquals('a', slice.get());
+        slice = received.slice(1);
+        assertEquals(1, slice.remaining());
+        assertEquals('c', slice.get());
+        assertEquals(1, received.remaining());
+    }
+
+    private static CompositeReadBuffer split(int... offsets) {
+        CompositeReadBuffer received = new CompositeReadBuffer();
+        int start = 0;
+        for (int end : offsets) {
+            received.add(ByteBuffer.wrap(PDU, start, end - start).slice());
+            start = end;
+        }
+        received.add(ByteBuffer.wrap(PDU, start, PDU.length - start).slice());
+        return received;
+    }
+}
@@ -0,0 +1,44 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class FileRegionTest {
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.write(Files.createTempFile(null, ".bin"), new byte[]{ 0, 1, 2, 3, 4, 5, 6, 7 });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void writeTo() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FileRegion(path, 2, 4).writeTo(out, null);
+        assertArrayEquals(new byte[]{ 2, 3, 4, 5 }, out.toByteArray());
+    }
+
+    @Test
+    void writeToBeyondEndOfFile() {
+        assertThrows(EOFException.class, () -> new FileRegion(path, 2, 8).writeTo(new ByteArrayOutputStream(), null));
+    }
+}
@@ -0,0 +1,41 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class IntHashMapTest {
+
+    @Test
+    void putGetRemove() {
+        IntHashMap<String> map = new IntHashMap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(map.put(i, "v" + i));
+        }
+        assertEquals(1000, map.size());
+        assertEquals("v1", map.put(1, "w1"));
+        assertEquals("w1", map.get(1));
+        for (int i = 0; i < 1000; i += 2) {
+            assertNotNull(map.remove(i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : i == 1 ? "w1" : "v" + i, map.get(i));
+        }
+        assertNull(map.remove(0));
+        List<String> values = new ArrayList<>();
+        map.forEach(values::add);
+        assertEquals(500, values.size());
+        assertTrue(values.contains("w1"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(3));
+    }
+}
@@ -0,0 +1,97 @@
+package org.dcm4che6.net;
+
+import org.dcm4che6.conf.model.ApplicationEntity;
+import org.dcm4che6.conf.model.Connection;
+import org.dcm4che6.conf.model.Device;
+import org.dcm4che6.conf.model.TransferCapability;
+import org.dcm4che6.data.UID;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs connectors of an SCP accepting all SOP Classes and Transfer Syntaxes and of an SCU on the loopback interface.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class Loopback implements Closeable {
+    static final String CALLED = "LOOPBACK_SCP";
+    static final String CALLING = "LOOPBACK_SCU";
+
+    final TCPConnector<Association> scp;
+    final TCPConnector<Association> scu;
+    final Connection local = new Connection();
+    final Connection remote;
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<ServerSocketChannel> listening = new ArrayList<>();
+
+    Loopback(DicomServiceRegistry serviceRegistry) throws IOException {
+        this(serviceRegistry, 1, 1, null);
+    }
+
+    Loopback(DicomServiceRegistry serviceRegistry, int reactors, int acceptors, Executor executor)
+            throws IOException {
+        int port = freePort();
+        Connection conn = new Connection().setPort(port);
+        ApplicationEntity ae = new ApplicationEntity().setAETitle(CALLED).addConnection(conn);
+        ae.addTransferCapability(new TransferCapability()
+                .setSOPClass("*")
+                .setTransferSyntaxes("*")
+                .setRole(TransferCapability.Role.SCP));
+        new Device().addApplicationEntity(ae);
+        scp = executor != null
+                ? new TCPConnector<>((connector, role) -> new Association(connector, role, serviceRegistry),
+                        reactors, executor)
+                : new TCPConnector<>((connector, role) -> new Association(connector, role, serviceRegistry),
+                        reactors);
+        scu = new TCPConnector<>((connector, role) -> new Association(connector, role, new DicomServiceRegistry()));
+        start(scp, "Loopback-SCP");
+        start(scu, "Loopback-SCU");
+        listening.addAll(scp.bind(conn, acceptors));
+        remote = new Connection().setHostname("localhost").setPort(port);
+    }
+
+    static AAssociate.RQ rq(String... cuids) {
+        AAssociate.RQ rq = new AAssociate.RQ();
+        rq.setCallingAETitle(CALLING);
+        rq.setCalledAETitle(CALLED);
+        rq.putPresentationContext((byte) 1, UID.VerificationSOPClass, UID.ImplicitVRLittleEndian);
+        byte pcid = 3;
+        for (String cuid : cuids) {
+            rq.putPresentationContext(pcid, cuid, UID.ImplicitVRLittleEndian);
+            pcid += 2;
+        }
+        return rq;
+    }
+
+    Association open(AAssociate.RQ rq) throws IOException {
+        return scu.connect(local, remote).thenCompose(as -> as.open(rq)).join();
+    }
+
+    private void start(TCPConnector<Association> connector, String name) {
+        Thread thread = new Thread(connector, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket ss = new ServerSocket(0)) {
+            return ss.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ServerSocketChannel ssc : listening) {
+            ssc.close();
+        }
+        threads.forEach(Thread::interrupt);
+    }
+}
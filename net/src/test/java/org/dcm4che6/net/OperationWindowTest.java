@@ -0,0 +1,53 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class OperationWindowTest {
+
+    @Test
+    void acquireRelease() {
+        OperationWindow window = new OperationWindow(2);
+        assertTrue(window.acquire().isDone());
+        assertTrue(window.acquire().isDone());
+        CompletableFuture<Void> third = window.acquire();
+        CompletableFuture<Void> fourth = window.acquire();
+        assertFalse(third.isDone());
+        assertEquals(2, window.getWaiting());
+        third.cancel(false);
+        window.release();
+        assertTrue(fourth.isDone());
+        assertEquals(2, window.getAcquired());
+        window.release();
+        window.release();
+        assertEquals(0, window.getAcquired());
+    }
+
+    @Test
+    void close() {
+        OperationWindow window = new OperationWindow(1);
+        assertTrue(window.acquire().isDone());
+        CompletableFuture<Void> waiting = window.acquire();
+        Exception cause = new Exception("closed");
+        window.close(cause);
+        assertTrue(waiting.isCompletedExceptionally());
+        assertTrue(window.acquire().isCompletedExceptionally());
+        assertEquals(0, window.getWaiting());
+    }
+
+    @Test
+    void unlimited() {
+        OperationWindow window = new OperationWindow(0);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(window.acquire().isDone());
+        }
+        assertEquals(1000, window.getAcquired());
+    }
+}
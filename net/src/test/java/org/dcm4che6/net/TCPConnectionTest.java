@@ -0,0 +1,165 @@
+package org.dcm4che6.net;
+
+import org.dcm4che6.conf.model.Connection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the write queue of a connection by invoking {@link TCPConnection#onWritable()} from the test thread.
+ *
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class TCPConnectionTest {
+
+    private Selector selector;
+    private SocketChannel peer;
+    private TestConnection conn;
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        selector = Selector.open();
+        try (ServerSocketChannel ssc = ServerSocketChannel.open()) {
+            ssc.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel sc = SocketChannel.open(ssc.getLocalAddress());
+            peer = ssc.accept();
+            sc.configureBlocking(false);
+            conn = new TestConnection();
+            conn.accepted(sc.register(selector, 0, conn));
+        }
+        byte[] b = new byte[100];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (byte) i;
+        }
+        path = Files.write(Files.createTempFile(null, ".bin"), b);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        conn.close();
+        peer.close();
+        selector.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void gatheringWrite() throws IOException {
+        AtomicInteger completed = new AtomicInteger();
+        int writes = TCPConnection.MAX_GATHERED_WRITES + 4;
+        for (int i = 0; i < writes; i++) {
+            conn.write(buffer(i, 100), x -> completed.incrementAndGet());
+        }
+        assertEquals(SelectionKey.OP_WRITE, conn.key.interestOps());
+        conn.onWritable();
+        assertEquals(TCPConnection.MAX_GATHERED_WRITES, completed.get());
+        conn.onWritable();
+        assertEquals(writes, completed.get());
+        assertEquals(0, conn.key.interestOps());
+        ByteBuffer received = ByteBuffer.allocate(writes * 100);
+        while (received.hasRemaining()) {
+            peer.read(received);
+        }
+        for (int i = 0; i < writes; i++) {
+            assertEquals(i, received.get(i * 100));
+        }
+    }
+
+    @Test
+    void closeDiscardsQueuedWrites() throws Exception {
+        long outstanding = ByteBufferPool.getOutstanding();
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < TCPConnection.MAX_QUEUED_WRITES; i++) {
+            conn.write(ByteBufferPool.allocate(100), x -> completed.incrementAndGet());
+        }
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+                () -> conn.write(ByteBufferPool.allocate(100), x -> completed.incrementAndGet()));
+        Thread.sleep(100);
+        assertFalse(blocked.isDone());
+        conn.close();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> blocked.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(0, completed.get());
+        assertEquals(outstanding, ByteBufferPool.getOutstanding());
+        assertThrows(IllegalStateException.class, () -> conn.write(ByteBuffer.allocate(1), x -> {}));
+        conn.onWritable();
+    }
+
+    @Test
+    void transferFileRegion() throws IOException {
+        AtomicInteger completed = new AtomicInteger();
+        FileChannel channel = FileChannel.open(path);
+        conn.write(channel, 10, 90, x -> completed.incrementAndGet());
+        conn.onWritable();
+        assertEquals(1, completed.get());
+        assertEquals(0, conn.key.interestOps());
+        ByteBuffer received = ByteBuffer.allocate(90);
+        while (received.hasRemaining()) {
+            peer.read(received);
+        }
+        assertEquals(10, received.get(0));
+        assertEquals(99, received.get(89));
+        channel.close();
+    }
+
+    @Test
+    void transferBeyondEndOfFileClosesConnection() throws IOException {
+        AtomicInteger completed = new AtomicInteger();
+        FileChannel channel = FileChannel.open(path);
+        conn.write(channel, 0, 200, x -> completed.incrementAndGet());
+        conn.onWritable();
+        assertTrue(conn.isOpen());
+        conn.onWritable();
+        assertFalse(conn.isOpen());
+        assertFalse(channel.isOpen());
+        assertEquals(0, completed.get());
+    }
+
+    @Test
+    void closeClosesChannelOfQueuedFileRegion() throws IOException {
+        AtomicInteger completed = new AtomicInteger();
+        FileChannel channel = FileChannel.open(path);
+        conn.write(channel, 0, 100, x -> completed.incrementAndGet());
+        conn.close();
+        assertFalse(channel.isOpen());
+        assertEquals(0, completed.get());
+    }
+
+    private static ByteBuffer buffer(int value, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) value);
+        }
+        return buffer.flip();
+    }
+
+    private static class TestConnection extends TCPConnection<TestConnection> {
+        TestConnection() {
+            super(null, new Connection());
+        }
+
+        @Override
+        protected void onNext(ByteBuffer buffer) {
+            ByteBufferPool.free(buffer);
+        }
+    }
+}
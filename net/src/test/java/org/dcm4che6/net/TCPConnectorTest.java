@@ -0,0 +1,91 @@
+package org.dcm4che6.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author agent (agent@local)
+ * @since Oct 2026
+ */
+class TCPConnectorTest {
+
+    @Test
+    void multipleReactors() throws Exception {
+        try (Loopback loopback = new Loopback(new DicomServiceRegistry(), 3, 1, null)) {
+            assertEquals(3, loopback.scp.getReactors());
+            echo(loopback, 6);
+        }
+    }
+
+    @Test
+    void reusePortAcceptors() throws Exception {
+        try (ServerSocketChannel ssc = ServerSocketChannel.open()) {
+            assumeTrue(ssc.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT));
+        }
+        try (Loopback loopback = new Loopback(new DicomServiceRegistry(), 2, 2, null)) {
+            echo(loopback, 6);
+        }
+    }
+
+    @Test
+    void slowSenderOccupiesBoundedExecutorThread() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) TCPConnector.newBoundedExecutor(1);
+        try (Loopback loopback = new Loopback(new DicomServiceRegistry(), 1, 1, executor)) {
+            CompletableFuture<Association> open;
+            try (Socket slow = new Socket(loopback.remote.getHostname(), loopback.remote.getPort().getAsInt())) {
+                // first 6 bytes of an A-ASSOCIATE-RQ PDU header
+                slow.getOutputStream().write(new byte[]{1, 0, 0, 0, 0, 0x44});
+                await(() -> executor.getActiveCount() == 1);
+                open = loopback.scu.connect(loopback.local, loopback.remote)
+                        .thenCompose(as -> as.open(Loopback.rq()));
+                await(() -> executor.getQueue().size() == 1);
+                assertFalse(open.isDone());
+            }
+            Association as = open.get(5, TimeUnit.SECONDS);
+            // an idle Association does not occupy the thread
+            Association other = loopback.open(Loopback.rq());
+            as.cecho().get(5, TimeUnit.SECONDS);
+            other.cecho().get(5, TimeUnit.SECONDS);
+            as.release();
+            other.release();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timeout");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void echo(Loopback loopback, int associations) throws Exception {
+        List<Association> opened = new ArrayList<>(associations);
+        for (int i = 0; i < associations; i++) {
+            opened.add(loopback.open(Loopback.rq()));
+        }
+        for (Association as : opened) {
+            as.cecho().join();
+        }
+        for (Association as : opened) {
+            as.release();
+        }
+        for (Association as : opened) {
+            as.onClose().join();
+        }
+    }
+}
@@ -13,13 +13,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 /**
  * @author Gunter Zeilinger (gunterze@protonmail.com)
@@ -68,6 +76,29 @@ public class StoreSCP implements Callable<Integer>, DimseHandler {
                     "to invoke asynchronously, 0 = unlimited")
     int maxOpsInvoked;
 
+    @CommandLine.Option(names = "--reactors", paramLabel = "<no>",
+            description = "number of selector threads handling the associations")
+    int reactors = 1;
+
+    @CommandLine.Option(names = "--acceptors", paramLabel = "<no>",
+            description = "number of listening sockets bound with SO_REUSEPORT to the port")
+    int acceptors = 1;
+
+    @CommandLine.Option(names = "--max-threads", paramLabel = "<no>",
+            description = "maximal number of threads processing received PDUs of associations, 0 = unlimited")
+    int maxThreads;
+
+    @CommandLine.Option(names = "--fsync", paramLabel = "<no>",
+            description = "force received files to the storage device in batches of <no> files before sending " +
+                    "the C-STORE-RSP, 0 = never")
+    int fsync;
+
+    @CommandLine.Option(names = "--fsync-delay", paramLabel = "<ms>",
+            description = "maximal delay in ms of forcing received files of an incomplete batch to the storage device")
+    int fsyncDelay = 1000;
+
+    private final List<Unsynced> unsynced = new ArrayList<>();
+
     public static void main(String[] args) {
         new CommandLine(new StoreSCP()).execute(args);
     }
@@ -78,8 +109,17 @@ public class StoreSCP implements Callable<Integer>, DimseHandler {
             Files.createDirectories(directory);
         }
         DicomServiceRegistry serviceRegistry = new DicomServiceRegistry().setDefaultRQHandler(this);
-        TCPConnector<Association> inst = new TCPConnector<>(
-                (connector, role) -> new Association(connector, role, serviceRegistry));
+        BiFunction<TCPConnector<Association>, Connection, Association> connFactory =
+                (connector, role) -> {
+                    Association as = new Association(connector, role, serviceRegistry);
+                    if (fsync > 0) {
+                        as.onClose().thenRunAsync(this::forceUnsynced);
+                    }
+                    return as;
+                };
+        TCPConnector<Association> inst = maxThreads > 0
+                ? new TCPConnector<>(connFactory, reactors, TCPConnector.newBoundedExecutor(maxThreads))
+                : new TCPConnector<>(connFactory, reactors);
         CompletableFuture<Void> task = CompletableFuture.runAsync(inst);
         Connection local = new Connection().setPort(port);
         ApplicationEntity ae = new ApplicationEntity().setAETitle(called).addConnection(local);
@@ -88,7 +128,7 @@ public class StoreSCP implements Callable<Integer>, DimseHandler {
                 .setTransferSyntaxes("*")
                 .setRole(TransferCapability.Role.SCP));
         new Device().addApplicationEntity(ae);
-        inst.bind(local);
+        inst.bind(local, acceptors);
         task.join();
         return 0;
     }
@@ -104,17 +144,98 @@ public class StoreSCP implements Callable<Integer>, DimseHandler {
         } else {
             Path file = directory.resolve(commandSet.getStringOrElseThrow(Tag.AffectedSOPInstanceUID));
             LOG.info("Start M-WRITE {}", file);
-            try (DicomOutputStream dos = new DicomOutputStream(
-                    Files.newOutputStream(file))) {
+            ByteArrayOutputStream fmi = new ByteArrayOutputStream();
+            try (DicomOutputStream dos = new DicomOutputStream(fmi)) {
                 dos.writeFileMetaInformation(DicomObject.createFileMetaInformation(
                         commandSet.getStringOrElseThrow(Tag.AffectedSOPClassUID),
                         commandSet.getStringOrElseThrow(Tag.AffectedSOPInstanceUID),
                         as.getTransferSyntax(pcid)));
-                dataStream.transferTo(dos);
+            }
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                write(channel, ByteBuffer.wrap(fmi.toByteArray()));
+                Association.forEachPDVPayload(dataStream, payload -> write(channel, payload));
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
             }
             LOG.info("Finished M-WRITE {}", file);
+            if (fsync > 0) {
+                // the C-STORE-RSP confirms storage only after the file was forced to the storage device
+                fsync(channel).whenComplete((x, e) -> writeRSP(as, pcid, dimse, commandSet,
+                        e == null ? Status.Success : Status.ProcessingFailure));
+                return;
+            }
+            channel.close();
         }
         as.writeDimse(pcid, Dimse.C_STORE_RSP, dimse.mkRSP(commandSet));
     }
 
+    private static void writeRSP(Association as, Byte pcid, Dimse dimse, DicomObject commandSet, int status) {
+        try {
+            as.writeDimse(pcid, Dimse.C_STORE_RSP, dimse.mkRSP(commandSet, Dimse.NO_DATASET, status));
+        } catch (IOException | RuntimeException e) {
+            LOG.info("{}: failed to send C-STORE-RSP: {}", as, e.getMessage());
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private CompletableFuture<Void> fsync(FileChannel channel) {
+        Unsynced file = new Unsynced(channel);
+        List<Unsynced> batch;
+        synchronized (unsynced) {
+            unsynced.add(file);
+            if (unsynced.size() < fsync) {
+                if (unsynced.size() == 1) {
+                    CompletableFuture.delayedExecutor(fsyncDelay, TimeUnit.MILLISECONDS)
+                            .execute(this::forceUnsynced);
+                }
+                return file.forced;
+            }
+            batch = new ArrayList<>(unsynced);
+            unsynced.clear();
+        }
+        force(batch);
+        return file.forced;
+    }
+
+    private void forceUnsynced() {
+        List<Unsynced> batch;
+        synchronized (unsynced) {
+            if (unsynced.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(unsynced);
+            unsynced.clear();
+        }
+        force(batch);
+    }
+
+    private static void force(List<Unsynced> batch) {
+        for (Unsynced file : batch) {
+            try (FileChannel channel = file.channel) {
+                channel.force(true);
+            } catch (IOException e) {
+                LOG.warn("Failed to force received file to storage device", e);
+                file.forced.completeExceptionally(e);
+            }
+        }
+        LOG.info("Forced {} files to storage device", batch.size());
+        batch.forEach(file -> file.forced.complete(null));
+    }
+
+    private static class Unsynced {
+        final FileChannel channel;
+        final CompletableFuture<Void> forced = new CompletableFuture<>();
+
+        Unsynced(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
 }
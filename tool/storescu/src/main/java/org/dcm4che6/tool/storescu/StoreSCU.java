@@ -15,8 +15,6 @@ import picocli.CommandLine;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.ref.PhantomReference;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -113,10 +111,15 @@ public class StoreSCU implements Callable<Integer> {
         long t3 = System.currentTimeMillis();
         System.out.format("Open DICOM association in %d ms%n", t3 - t2);
         long totLength = 0;
+        CompletableFuture<?>[] rsps = new CompletableFuture[fileInfos.size()];
+        int i = 0;
         for (FileInfo fileInfo : fileInfos) {
-            as.cstore(fileInfo.sopClassUID, fileInfo.sopInstanceUID, fileInfo, fileInfo.transferSyntax);
+            rsps[i++] = as.cstoreAsync(fileInfo.sopClassUID, fileInfo.sopInstanceUID,
+                    Association.DataWriter.ofFileRegion(fileInfo.path, fileInfo.position, fileInfo.length),
+                    fileInfo.transferSyntax);
             totLength += fileInfo.length;
         }
+        CompletableFuture.allOf(rsps).join();
         as.release().join();
         long t4 = System.currentTimeMillis();
         long dt = t4 - t3;
@@ -148,7 +151,7 @@ public class StoreSCU implements Callable<Integer> {
         }
     }
 
-    private static class FileInfo implements Association.DataWriter, DicomInputHandler {
+    private static class FileInfo implements DicomInputHandler {
         Path path;
         String sopClassUID;
         String sopInstanceUID;
@@ -156,14 +159,6 @@ public class StoreSCU implements Callable<Integer> {
         long position;
         long length;
 
-        @Override
-        public void writeTo(OutputStream out, String tsuid) throws IOException {
-            try (InputStream in = Files.newInputStream(path)) {
-                in.skipNBytes(position);
-                in.transferTo(out);
-            }
-        }
-
         @Override
         public boolean endElement(DicomInputStream dis, DicomElement dcmElm, boolean bulkData) throws IOException {
             switch (dcmElm.tag()) {